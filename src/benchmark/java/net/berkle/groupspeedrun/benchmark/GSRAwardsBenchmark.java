@@ -0,0 +1,103 @@
+package net.berkle.groupspeedrun.benchmark;
+
+import net.berkle.groupspeedrun.history.GSRAwardCalculator;
+import net.berkle.groupspeedrun.util.GSRParallel;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Cost of the end-of-run award pass at 10, 100 and 500 participants.
+ *
+ * Times {@link GSRAwardCalculator#compute} on a synthetic stat snapshot (one random column per stat), for a
+ * plain success and for a failure with roast awards and podiums. Also times the participant refresh that
+ * fills the snapshot's vanilla columns, through {@link GSRParallel#forEach} as
+ * {@code GSRParticipantRegistry.refreshOnline} runs it, against a plain loop. The synthetic refresh counts
+ * one player's done advancements out of a map, the way the real one asks each player's advancement tracker.
+ * The parallel path only pays off on a machine with several cores.
+ *
+ * <pre>
+ * javac -d out -cp gson.jar src/main/java/net/berkle/groupspeedrun/history/GSRAwardCalculator.java src/main/java/net/berkle/groupspeedrun/history/GSRTopK.java \
+ *     src/main/java/net/berkle/groupspeedrun/util/GSRParallel.java src/benchmark/java/net/berkle/groupspeedrun/benchmark/GSRAwardsBenchmark.java
+ * java -cp out:gson.jar net.berkle.groupspeedrun.benchmark.GSRAwardsBenchmark
+ * </pre>
+ */
+public final class GSRAwardsBenchmark {
+    private static final int[] PLAYER_COUNTS = {10, 100, 500};
+    // Roughly the number of advancements with a display in vanilla
+    private static final int ADVANCEMENTS = 125;
+    private static final String[] KEYS = new String[ADVANCEMENTS];
+    private static final long WARMUP_NANOS = 500_000_000L;
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    private static volatile Object sink;
+
+    static {
+        for (int a = 0; a < ADVANCEMENTS; a++) KEYS[a] = "minecraft:story/advancement_" + a;
+    }
+
+    private GSRAwardsBenchmark() {}
+
+    public static void main(String[] args) {
+        System.out.printf("%8s | %14s %14s | %14s %14s %10s%n",
+                "players", "success us", "roast+podium us", "refresh us", "loop us", "path");
+        for (int count : PLAYER_COUNTS) {
+            Random random = new Random(count);
+            String[] names = new String[count];
+            for (int i = 0; i < count; i++) names[i] = "Player" + i;
+            double[][] columns = new double[GSRAwardCalculator.COLUMNS][count];
+            for (double[] column : columns) {
+                for (int i = 0; i < count; i++) column[i] = random.nextInt(1000) / 4.0;
+            }
+
+            double success = time(() -> sink = GSRAwardCalculator.compute(names, columns, "SUCCESS", "", true, 1));
+            double roast = time(() -> sink = GSRAwardCalculator.compute(names, columns, "FAILURE", names[count / 2], true, 3));
+
+            Map<String, Boolean>[] trackers = trackers(count, random);
+            int[] done = new int[count];
+            double refresh = time(() -> GSRParallel.forEach(count, i -> done[i] = countDone(trackers[i])));
+            double loop = time(() -> {
+                for (int i = 0; i < count; i++) done[i] = countDone(trackers[i]);
+            });
+            String path = count >= GSRParallel.PARALLEL_THRESHOLD ? "parallel" : "serial";
+
+            System.out.printf("%8d | %14.1f %14.1f | %14.1f %14.1f %10s%n",
+                    count, success / 1000, roast / 1000, refresh / 1000, loop / 1000, path);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Boolean>[] trackers(int count, Random random) {
+        Map<String, Boolean>[] trackers = new Map[count];
+        for (int i = 0; i < count; i++) {
+            trackers[i] = new HashMap<>();
+            for (int a = 0; a < ADVANCEMENTS; a++) trackers[i].put(KEYS[a], random.nextBoolean());
+        }
+        return trackers;
+    }
+
+    private static int countDone(Map<String, Boolean> tracker) {
+        int done = 0;
+        for (int a = 0; a < ADVANCEMENTS; a++) {
+            if (tracker.get(KEYS[a])) done++;
+        }
+        return done;
+    }
+
+    // Mean nanoseconds per call after a warmup
+    private static double time(Runnable body) {
+        long end = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < end) body.run();
+
+        long calls = 0;
+        long start = System.nanoTime();
+        end = start + MEASURE_NANOS;
+        long now;
+        do {
+            body.run();
+            calls++;
+        } while ((now = System.nanoTime()) < end);
+        return (now - start) / (double) calls;
+    }
+}
@@ -0,0 +1,154 @@
+package net.berkle.groupspeedrun.benchmark;
+
+import net.berkle.groupspeedrun.managers.GSRSlotSync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Per-tick cost of the shared inventory ({@link GSRSlotSync#flush}) as the lobby grows, next to the naive
+ * approach of copying the whole inventory to every player every tick.
+ *
+ * Players are synthetic: 41 int slots each. Every tick a fixed number of random players change a random
+ * slot, and every write the flush makes comes back as an echo on the next tick, the way vanilla's slot
+ * listener reports it.
+ *
+ * Synthetic slots make a compare nearly free, so besides time the table counts stack compares and slot
+ * writes per tick. In the game those are what cost: {@code ItemStack.areEqual} walks the components and
+ * every write becomes a slot packet. The flush touches changed slots only (each written once per player
+ * whose copy differs); the naive copy compares players × slots every tick whether anything changed or not.
+ *
+ * <pre>
+ * javac -d out src/main/java/net/berkle/groupspeedrun/managers/GSRSlotSync.java src/benchmark/java/net/berkle/groupspeedrun/benchmark/GSRSharedInventoryBenchmark.java
+ * java -cp out net.berkle.groupspeedrun.benchmark.GSRSharedInventoryBenchmark
+ * </pre>
+ */
+public final class GSRSharedInventoryBenchmark {
+    private static final int SLOTS = 41;
+    private static final int[] PLAYER_COUNTS = {2, 8, 32, 128, 512};
+    // Slot changes per tick across the whole lobby
+    private static final int CHANGES_PER_TICK = 4;
+    private static final int WARMUP_TICKS = 20_000;
+    private static final int MEASURED_TICKS = 20_000;
+
+    private static final class FakePlayer {
+        final UUID id = UUID.randomUUID();
+        final int[] slots = new int[SLOTS];
+    }
+
+    private record Echo(FakePlayer player, int index) {}
+
+    private record Result(double nanosPerTick, double comparesPerTick, double writesPerTick) {}
+
+    private static long compares;
+    private static long writes;
+
+    private GSRSharedInventoryBenchmark() {}
+
+    public static void main(String[] args) {
+        System.out.printf("%8s | %10s %12s %10s | %10s %12s %10s%n",
+                "players", "shared ns", "compares", "writes", "naive ns", "compares", "writes");
+        for (int count : PLAYER_COUNTS) {
+            Result shared = runShared(count);
+            Result naive = runNaive(count);
+            System.out.printf("%8d | %10.0f %12.1f %10.1f | %10.0f %12.1f %10.1f%n", count,
+                    shared.nanosPerTick(), shared.comparesPerTick(), shared.writesPerTick(),
+                    naive.nanosPerTick(), naive.comparesPerTick(), naive.writesPerTick());
+        }
+    }
+
+    private static Result runShared(int count) {
+        List<FakePlayer> players = players(count);
+        List<Echo> echoes = new ArrayList<>();
+        GSRSlotSync<FakePlayer, Integer> sync = new GSRSlotSync<>(SLOTS, new GSRSlotSync.Slots<>() {
+            @Override
+            public UUID id(FakePlayer player) {
+                return player.id;
+            }
+
+            @Override
+            public Integer get(FakePlayer player, int index) {
+                return player.slots[index];
+            }
+
+            @Override
+            public void set(FakePlayer player, int index, Integer stack) {
+                player.slots[index] = stack;
+                writes++;
+                echoes.add(new Echo(player, index));
+            }
+
+            @Override
+            public boolean same(Integer a, Integer b) {
+                compares++;
+                return a.intValue() == b.intValue();
+            }
+
+            @Override
+            public Integer copy(Integer stack) {
+                return stack;
+            }
+        });
+
+        Random random = new Random(42);
+        // First flush seeds and hands out the shared copy; not part of the steady state
+        sync.flush(players);
+        echoes.clear();
+
+        for (int tick = 0; tick < WARMUP_TICKS; tick++) tick(sync, players, echoes, random);
+        compares = writes = 0;
+        long start = System.nanoTime();
+        for (int tick = 0; tick < MEASURED_TICKS; tick++) tick(sync, players, echoes, random);
+        return result(System.nanoTime() - start);
+    }
+
+    private static void tick(GSRSlotSync<FakePlayer, Integer> sync, List<FakePlayer> players, List<Echo> echoes, Random random) {
+        // Last tick's writes are reported back first, as vanilla does when it diffs the handler
+        for (Echo echo : echoes) sync.queue(echo.player(), echo.index(), echo.player().slots[echo.index()]);
+        echoes.clear();
+        for (int i = 0; i < CHANGES_PER_TICK; i++) {
+            FakePlayer player = players.get(random.nextInt(players.size()));
+            int index = random.nextInt(SLOTS);
+            player.slots[index] = random.nextInt(1 << 16);
+            sync.queue(player, index, player.slots[index]);
+        }
+        sync.flush(players);
+    }
+
+    // Baseline: the first player's inventory is compared and copied into everyone else's, every tick
+    private static Result runNaive(int count) {
+        List<FakePlayer> players = players(count);
+        Random random = new Random(42);
+        for (int tick = 0; tick < WARMUP_TICKS; tick++) naiveTick(players, random);
+        compares = writes = 0;
+        long start = System.nanoTime();
+        for (int tick = 0; tick < MEASURED_TICKS; tick++) naiveTick(players, random);
+        return result(System.nanoTime() - start);
+    }
+
+    private static void naiveTick(List<FakePlayer> players, Random random) {
+        FakePlayer source = players.get(0);
+        for (int i = 0; i < CHANGES_PER_TICK; i++) source.slots[random.nextInt(SLOTS)] = random.nextInt(1 << 16);
+        for (FakePlayer player : players) {
+            for (int i = 0; i < SLOTS; i++) {
+                compares++;
+                if (player.slots[i] != source.slots[i]) {
+                    player.slots[i] = source.slots[i];
+                    writes++;
+                }
+            }
+        }
+    }
+
+    private static Result result(long nanos) {
+        return new Result(nanos / (double) MEASURED_TICKS, compares / (double) MEASURED_TICKS, writes / (double) MEASURED_TICKS);
+    }
+
+    private static List<FakePlayer> players(int count) {
+        List<FakePlayer> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) players.add(new FakePlayer());
+        return players;
+    }
+}
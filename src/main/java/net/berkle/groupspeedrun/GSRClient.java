@@ -2,6 +2,8 @@ package net.berkle.groupspeedrun;
 
 import net.berkle.groupspeedrun.config.GSRConfigPayload;
 import net.berkle.groupspeedrun.config.GSRConfigPlayer;
+import net.berkle.groupspeedrun.splits.GSRComparison;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 
@@ -14,6 +16,9 @@ public class GSRClient implements ClientModInitializer {
     // This instance will store the local player's UI preferences
     public static final GSRConfigPlayer PLAYER_CONFIG = new GSRConfigPlayer();
 
+    // PB / best-segment table for the current split category, used for live HUD deltas
+    public static GSRComparison COMPARISON = GSRComparison.EMPTY;
+
     @Override
     public void onInitializeClient() {
         ClientPlayNetworking.registerGlobalReceiver(GSRConfigPayload.ID, (payload, context) -> {
@@ -24,9 +29,13 @@ public class GSRClient implements ClientModInitializer {
                 // We check for a world-specific key like "startTime"
                 if (nbt.contains("startTime") && GSRMain.CONFIG != null) {
                     GSRMain.CONFIG.readNbt(nbt);
+                    GSRRunStateMachine.sync(GSRMain.CONFIG);
                 }
 
-                // 2. Sync Player Data (Scale, HUD Mode, Positions)
+                // 2. Sync Comparison Table (sent on join and at run start)
+                nbt.getCompound("comparison").ifPresent(c -> COMPARISON = GSRComparison.fromNbt(c));
+
+                // 3. Sync Player Data (Scale, HUD Mode, Positions)
                 // These are the values you fixed in the Player Config
                 if (nbt.contains("timerScale") || nbt.contains("hudMode")) {
                     PLAYER_CONFIG.readNbt(nbt);
@@ -2,19 +2,42 @@ package net.berkle.groupspeedrun;
 
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.FloatArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.tree.LiteralCommandNode;
-import com.mojang.datafixers.util.Pair;
 import net.berkle.groupspeedrun.config.GSRConfigPayload;
 import net.berkle.groupspeedrun.config.GSRConfigPlayer;
 import net.berkle.groupspeedrun.managers.GSRBroadcastManager;
+import net.berkle.groupspeedrun.managers.GSRComparisonManager;
+import net.berkle.groupspeedrun.history.GSREventLogCodec;
+import net.berkle.groupspeedrun.history.GSREventLogDecoder;
+import net.berkle.groupspeedrun.history.GSREventType;
+import net.berkle.groupspeedrun.history.GSRHistogram;
+import net.berkle.groupspeedrun.history.GSRHistoryExporter;
+import net.berkle.groupspeedrun.history.GSRHistoryStats;
+import net.berkle.groupspeedrun.history.GSRHistoryStore;
+import net.berkle.groupspeedrun.history.GSRRunSummary;
+import net.berkle.groupspeedrun.history.GSRTopK;
+import net.berkle.groupspeedrun.managers.GSREventLogManager;
+import net.berkle.groupspeedrun.managers.GSRHistoryStatsManager;
+import net.berkle.groupspeedrun.managers.GSRLeaderboardManager;
+import net.berkle.groupspeedrun.managers.GSRLoadManager;
+import net.berkle.groupspeedrun.managers.GSRLocateManager;
+import net.berkle.groupspeedrun.managers.GSRRunHistoryManager;
+import net.berkle.groupspeedrun.managers.GSRSharedInventoryManager;
+import net.berkle.groupspeedrun.managers.GSRSharedVitalsManager;
+import net.berkle.groupspeedrun.managers.GSRSpawnPool;
+import net.berkle.groupspeedrun.managers.GSRSpawnPregen;
 import net.berkle.groupspeedrun.managers.GSRSplitManager;
+import net.berkle.groupspeedrun.splits.GSRSplitTable;
+import net.berkle.groupspeedrun.state.GSRRunPhase;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
+import net.berkle.groupspeedrun.util.GSRFormatUtil;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.advancement.AdvancementProgress;
 import net.minecraft.advancement.PlayerAdvancementTracker;
+import net.minecraft.command.CommandSource;
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.registry.RegistryKeys;
-import net.minecraft.registry.entry.RegistryEntry;
-import net.minecraft.registry.entry.RegistryEntryList;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
@@ -22,24 +45,45 @@ import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.gen.structure.Structure;
-import net.minecraft.world.gen.structure.StructureKeys;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntConsumer;
+
 import static net.minecraft.server.command.CommandManager.literal;
 import static net.minecraft.server.command.CommandManager.argument;
 
 public class GSRCommands {
     private static final Logger LOGGER = LoggerFactory.getLogger("GSR-Commands");
+    // Key moments listed by /gsr replay before the rest are summarized
+    private static final int REPLAY_TIMELINE_LINES = 15;
+    private static final String EXPORT_DIR = "exports";
+    private static final String HISTORY_EXPORT_PATH = GSRRunHistoryManager.HISTORY_DIR + "/" + EXPORT_DIR + "/";
+    // Smaller exports finish too quickly for progress messages to be useful
+    private static final int EXPORT_PROGRESS_MIN_RUNS = 200;
 
     public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
         LiteralCommandNode<ServerCommandSource> gsrRoot = dispatcher.register(literal("gsr")
                 .requires(source -> CommandManager.ALWAYS_PASS_CHECK.allows(source.getPermissions()))
 
                 .then(literal("stats").executes(context -> {
-                    var config = GSRMain.CONFIG;
-                    if (config == null || config.startTime < 0) {
+                    if (GSRMain.CONFIG == null || !GSRRunStateMachine.get().hasStarted()) {
                         context.getSource().sendError(Text.literal("No active run found."));
                         return 0;
                     }
@@ -50,34 +94,69 @@ public class GSRCommands {
                     displayStatus(context.getSource());
                     return 1;
                 }))
+                .then(literal("state")
+                        .requires(source -> CommandManager.ADMINS_CHECK.allows(source.getPermissions()))
+                        .executes(context -> {
+                            displayStateLog(context.getSource());
+                            return 1;
+                        }))
 
                 .then(literal("pause")
-                        .requires(source -> {
-                            var config = GSRMain.CONFIG;
-                            return CommandManager.ADMINS_CHECK.allows(source.getPermissions()) &&
-                                    (config != null && !config.isFailed && !config.isVictorious);
-                        })
+                        .requires(source -> CommandManager.ADMINS_CHECK.allows(source.getPermissions())
+                                && !GSRRunStateMachine.get().isFinished())
                         .executes(context -> togglePause(context.getSource(), true)))
                 .then(literal("resume")
-                        .requires(source -> {
-                            var config = GSRMain.CONFIG;
-                            return CommandManager.ADMINS_CHECK.allows(source.getPermissions()) &&
-                                    (config != null && !config.isFailed && !config.isVictorious);
-                        })
+                        .requires(source -> CommandManager.ADMINS_CHECK.allows(source.getPermissions())
+                                && !GSRRunStateMachine.get().isFinished())
                         .executes(context -> togglePause(context.getSource(), false)))
                 .then(literal("reset")
-                        .requires(source -> {
-                            var config = GSRMain.CONFIG;
-                            boolean isAdmin = CommandManager.ADMINS_CHECK.allows(source.getPermissions());
-                            boolean isFinished = (config != null && (config.isFailed || config.isVictorious));
-                            return isAdmin || isFinished;
-                        })
+                        .requires(source -> CommandManager.ADMINS_CHECK.allows(source.getPermissions())
+                                || GSRRunStateMachine.get().isFinished())
                         .executes(context -> {
                             executeReset(context.getSource().getServer());
                             context.getSource().sendFeedback(() -> Text.literal("§6[GSR] §aRun has been fully reset!"), true);
                             return 1;
                         }))
 
+                .then(literal("leaderboard")
+                        .executes(context -> showLeaderboard(context.getSource(), GSRLeaderboardManager.FASTEST))
+                        .then(argument("category", StringArgumentType.word())
+                                .suggests((context, builder) -> CommandSource.suggestMatching(
+                                        GSRLeaderboardManager.categories(GSRComparisonManager.categoryOf(GSRSplitManager.getTable())), builder))
+                                .executes(context -> showLeaderboard(context.getSource(), StringArgumentType.getString(context, "category")))))
+
+                .then(literal("history")
+                        .then(literal("compact")
+                                .requires(source -> CommandManager.ADMINS_CHECK.allows(source.getPermissions()))
+                                .executes(context -> compactHistory(context.getSource())))
+                        .then(literal("stats")
+                                .executes(context -> showHistoryStats(context.getSource()))
+                                .then(literal("player").then(argument("name", StringArgumentType.word())
+                                        .suggests((context, builder) -> CommandSource.suggestMatching(context.getSource().getPlayerNames(), builder))
+                                        .executes(context -> showPlayerStats(context.getSource(), StringArgumentType.getString(context, "name"))))))
+                        .then(literal("export")
+                                .requires(source -> CommandManager.ADMINS_CHECK.allows(source.getPermissions()))
+                                .executes(context -> exportHistory(context.getSource(), GSRHistoryExporter.Format.CSV))
+                                .then(literal("csv").executes(context -> exportHistory(context.getSource(), GSRHistoryExporter.Format.CSV)))
+                                .then(literal("ndjson").executes(context -> exportHistory(context.getSource(), GSRHistoryExporter.Format.NDJSON)))))
+
+                .then(literal("replay")
+                        .executes(context -> showReplay(context.getSource(), -1))
+                        .then(argument("run", IntegerArgumentType.integer(0))
+                                .executes(context -> showReplay(context.getSource(), IntegerArgumentType.getInteger(context, "run")))))
+
+                .then(literal("skip_pregen")
+                        .requires(source -> CommandManager.ADMINS_CHECK.allows(source.getPermissions()))
+                        .executes(context -> {
+                            if (!GSRSpawnPregen.skip()) {
+                                context.getSource().sendError(Text.literal("§6[GSR] §cSpawn preparation is not running."));
+                                return 0;
+                            }
+                            context.getSource().getServer().getPlayerManager().broadcast(
+                                    Text.literal("§6[GSR] §eSpawn preparation skipped. §7Move to start the timer."), false);
+                            return 1;
+                        }))
+
                 .then(literal("settings")
                         .requires(source -> CommandManager.ADMINS_CHECK.allows(source.getPermissions()))
                         .then(literal("shared_hp_toggle").executes(context -> {
@@ -87,6 +166,30 @@ public class GSRCommands {
                             context.getSource().sendFeedback(() -> Text.literal("§6[GSR] Shared Health: " + state), true);
                             return 1;
                         }))
+                        .then(literal("shared_hunger_toggle").executes(context -> {
+                            GSRMain.CONFIG.sharedHungerEnabled = !GSRMain.CONFIG.sharedHungerEnabled;
+                            GSRSharedVitalsManager.reset();
+                            GSRMain.saveAndSync(context.getSource().getServer());
+                            String state = GSRMain.CONFIG.sharedHungerEnabled ? "§aON" : "§cOFF";
+                            context.getSource().sendFeedback(() -> Text.literal("§6[GSR] Shared Hunger: " + state), true);
+                            return 1;
+                        }))
+                        .then(literal("shared_effects_toggle").executes(context -> {
+                            GSRMain.CONFIG.sharedEffectsEnabled = !GSRMain.CONFIG.sharedEffectsEnabled;
+                            GSRSharedVitalsManager.reset();
+                            GSRMain.saveAndSync(context.getSource().getServer());
+                            String state = GSRMain.CONFIG.sharedEffectsEnabled ? "§aON" : "§cOFF";
+                            context.getSource().sendFeedback(() -> Text.literal("§6[GSR] Shared Effects: " + state), true);
+                            return 1;
+                        }))
+                        .then(literal("shared_inventory_toggle").executes(context -> {
+                            GSRMain.CONFIG.sharedInventoryEnabled = !GSRMain.CONFIG.sharedInventoryEnabled;
+                            GSRSharedInventoryManager.reset();
+                            GSRMain.saveAndSync(context.getSource().getServer());
+                            String state = GSRMain.CONFIG.sharedInventoryEnabled ? "§aON" : "§cOFF";
+                            context.getSource().sendFeedback(() -> Text.literal("§6[GSR] Shared Inventory: " + state), true);
+                            return 1;
+                        }))
                         .then(literal("group_death_toggle").executes(context -> {
                             GSRMain.CONFIG.groupDeathEnabled = !GSRMain.CONFIG.groupDeathEnabled;
                             GSRMain.saveAndSync(context.getSource().getServer());
@@ -94,6 +197,13 @@ public class GSRCommands {
                             context.getSource().sendFeedback(() -> Text.literal("§6[GSR] Group Death: " + state), true);
                             return 1;
                         }))
+                        .then(literal("load_shedding_toggle").executes(context -> {
+                            GSRMain.CONFIG.loadSheddingEnabled = !GSRMain.CONFIG.loadSheddingEnabled;
+                            GSRMain.saveAndSync(context.getSource().getServer());
+                            String state = GSRMain.CONFIG.loadSheddingEnabled ? "§aON" : "§cOFF";
+                            context.getSource().sendFeedback(() -> Text.literal("§6[GSR] Load Shedding: " + state), true);
+                            return 1;
+                        }))
                         .then(literal("exclude_toggle")
                                 .then(argument("player", net.minecraft.command.argument.EntityArgumentType.player())
                                         .executes(context -> {
@@ -116,6 +226,80 @@ public class GSRCommands {
                                             GSRMain.saveAndSync(context.getSource().getServer());
                                             return 1;
                                         })))
+                        .then(literal("pregen_radius")
+                                .then(argument("chunks", IntegerArgumentType.integer(0, 8))
+                                        .executes(context -> {
+                                            int val = IntegerArgumentType.getInteger(context, "chunks");
+                                            GSRMain.CONFIG.pregenRadius = val;
+                                            GSRMain.saveAndSync(context.getSource().getServer());
+                                            String state = val == 0 ? "§cOFF" : "§f" + val + " chunks";
+                                            context.getSource().sendFeedback(() -> Text.literal("§6[GSR] Locate Pre-generation: " + state), true);
+                                            return 1;
+                                        })))
+                        .then(literal("spawn_pregen_radius")
+                                .then(argument("chunks", IntegerArgumentType.integer(0, 16))
+                                        .executes(context -> {
+                                            int val = IntegerArgumentType.getInteger(context, "chunks");
+                                            GSRMain.CONFIG.spawnPregenRadius = val;
+                                            GSRMain.saveAndSync(context.getSource().getServer());
+                                            String state = val == 0 ? "§cOFF" : "§f" + val + " chunks";
+                                            context.getSource().sendFeedback(() -> Text.literal("§6[GSR] Spawn Preparation: " + state), true);
+                                            return 1;
+                                        })))
+                        .then(literal("spawn_pool")
+                                .then(literal("size").then(argument("count", IntegerArgumentType.integer(0, 5))
+                                        .executes(context -> {
+                                            int val = IntegerArgumentType.getInteger(context, "count");
+                                            GSRMain.CONFIG.spawnPoolSize = val;
+                                            GSRMain.saveAndSync(context.getSource().getServer());
+                                            String state = val == 0 ? "§cOFF" : "§f" + val + " areas";
+                                            context.getSource().sendFeedback(() -> Text.literal("§6[GSR] Spawn Pool: " + state), true);
+                                            return 1;
+                                        })))
+                                .then(literal("radius").then(argument("chunks", IntegerArgumentType.integer(1, 8))
+                                        .executes(context -> {
+                                            int val = IntegerArgumentType.getInteger(context, "chunks");
+                                            GSRMain.CONFIG.spawnPoolRadius = val;
+                                            GSRMain.saveAndSync(context.getSource().getServer());
+                                            context.getSource().sendFeedback(() -> Text.literal("§6[GSR] Spawn Pool Radius: §f" + val + " chunks §7(new areas)"), true);
+                                            return 1;
+                                        })))
+                                .then(literal("status").executes(context -> {
+                                    context.getSource().sendFeedback(() -> Text.literal("§6[GSR] Spawn Pool: " + getSpawnPoolStatus()), false);
+                                    return 1;
+                                })))
+                        .then(literal("history")
+                                .then(literal("keep_pbs").executes(context -> {
+                                    GSRMain.CONFIG.historyKeepPbs = !GSRMain.CONFIG.historyKeepPbs;
+                                    GSRMain.saveAndSync(context.getSource().getServer());
+                                    context.getSource().sendFeedback(() -> Text.literal("§6[GSR] History keeps PBs: " + (GSRMain.CONFIG.historyKeepPbs ? "§aON" : "§cOFF")), true);
+                                    return 1;
+                                }))
+                                .then(literal("keep_last").then(argument("runs", IntegerArgumentType.integer(0, 100000))
+                                        .executes(context -> setHistoryRetention(context.getSource(), "Always keep last", IntegerArgumentType.getInteger(context, "runs"), " runs", false, v -> GSRMain.CONFIG.historyKeepLast = v))))
+                                .then(literal("failure_days").then(argument("days", IntegerArgumentType.integer(0, 3650))
+                                        .executes(context -> setHistoryRetention(context.getSource(), "Drop failures after", IntegerArgumentType.getInteger(context, "days"), " days", true, v -> GSRMain.CONFIG.historyFailureDays = v))))
+                                .then(literal("max_age_days").then(argument("days", IntegerArgumentType.integer(0, 3650))
+                                        .executes(context -> setHistoryRetention(context.getSource(), "Drop runs after", IntegerArgumentType.getInteger(context, "days"), " days", true, v -> GSRMain.CONFIG.historyMaxAgeDays = v))))
+                                .then(literal("archive_days").then(argument("days", IntegerArgumentType.integer(0, 3650))
+                                        .executes(context -> setHistoryRetention(context.getSource(), "Archive runs after", IntegerArgumentType.getInteger(context, "days"), " days", false, v -> GSRMain.CONFIG.historyArchiveDays = v)))))
+                        .then(literal("awards")
+                                .then(literal("podium").then(argument("places", IntegerArgumentType.integer(1, 10))
+                                        .executes(context -> {
+                                            int val = IntegerArgumentType.getInteger(context, "places");
+                                            GSRMain.CONFIG.awardPodiumSize = val;
+                                            GSRMain.saveAndSync(context.getSource().getServer());
+                                            String state = val == 1 ? "§cwinners only" : "§ftop " + val;
+                                            context.getSource().sendFeedback(() -> Text.literal("§6[GSR] Award Podium: " + state), true);
+                                            return 1;
+                                        })))
+                                .then(literal("podium_broadcast_toggle").executes(context -> {
+                                    GSRMain.CONFIG.awardPodiumBroadcast = !GSRMain.CONFIG.awardPodiumBroadcast;
+                                    GSRMain.saveAndSync(context.getSource().getServer());
+                                    String state = GSRMain.CONFIG.awardPodiumBroadcast ? "§aON" : "§cOFF";
+                                    context.getSource().sendFeedback(() -> Text.literal("§6[GSR] Award Podium in Chat: " + state), true);
+                                    return 1;
+                                })))
                         .then(literal("max_hp")
                                 // No argument provided: Reset to default (10 hearts)
                                 .executes(context -> {
@@ -205,12 +389,8 @@ public class GSRCommands {
                         })))
 
                 .then(literal("locate")
-                        .requires(source -> {
-                            var config = GSRMain.CONFIG;
-                            boolean isAdmin = CommandManager.ADMINS_CHECK.allows(source.getPermissions());
-                            boolean isFinished = (config != null && (config.isFailed || config.isVictorious));
-                            return isAdmin || isFinished;
-                        })
+                        .requires(source -> CommandManager.ADMINS_CHECK.allows(source.getPermissions())
+                                || GSRRunStateMachine.get().isFinished())
                         .then(literal("fortress_toggle").executes(context -> toggleLocate(context.getSource(), "Fortress")))
                         .then(literal("bastion_toggle").executes(context -> toggleLocate(context.getSource(), "Bastion")))
                         .then(literal("stronghold_toggle").executes(context -> toggleLocate(context.getSource(), "Stronghold")))
@@ -235,7 +415,13 @@ public class GSRCommands {
                         "§e--- Global Run Settings ---\n" +
                         "§f- Group Death: " + (worldConfig.groupDeathEnabled ? "§aON" : "§cOFF") + "\n" +
                         "§f- Shared HP: " + (worldConfig.sharedHealthEnabled ? "§aON" : "§cOFF") + "\n" +
+                        "§f- Shared Hunger: " + (worldConfig.sharedHungerEnabled ? "§aON" : "§cOFF") + "\n" +
+                        "§f- Shared Effects: " + (worldConfig.sharedEffectsEnabled ? "§aON" : "§cOFF") + "\n" +
+                        "§f- Shared Inventory: " + (worldConfig.sharedInventoryEnabled ? "§aON" : "§cOFF") + "\n" +
                         "§f- Max Hearts: §c" + worldConfig.maxHearts + "\n" +
+                        "§f- Spawn Pool: " + getSpawnPoolStatus() + "\n" +
+                        "§f- Locate Pre-generation: " + (worldConfig.pregenRadius > 0 ? "§f" + worldConfig.pregenRadius + " chunks" : "§cOFF") + "\n" +
+                        "§f- Server Load: " + getLoadLevelName(GSRLoadManager.getLevel()) + " §7(" + String.format("%.1f", GSRLoadManager.getAverageMspt()) + " mspt)\n" +
                         "§e--- Your HUD Preferences ---\n" +
                         "§f- Visibility: " + getHudModeName(pConfig.hudMode) + "\n" +
                         "§f- Timer Side: §b" + (pConfig.timerHudOnRight ? "Right" : "Left") + "\n" +
@@ -257,22 +443,43 @@ public class GSRCommands {
         };
     }
 
+    /**
+     * Helper to turn the active load-shedding level into a colored label
+     */
+    private static String getLoadLevelName(GSRLoadManager.Level level) {
+        return switch (level) {
+            case NORMAL -> "§aNormal";
+            case LIGHT -> "§eLight Shedding";
+            case HEAVY -> "§6Heavy Shedding";
+            case CRITICAL -> "§cCritical Shedding";
+        };
+    }
+
     private static int togglePause(ServerCommandSource source, boolean shouldPause) {
-        var config = GSRMain.CONFIG;
-        if (config == null) return 0;
-        if (shouldPause && !config.isTimerFrozen) {
-            config.isTimerFrozen = true;
-            config.frozenTime = System.currentTimeMillis() - config.startTime;
-            source.getServer().getPlayerManager().broadcast(Text.literal("§6[GSR] §cTimer Paused!"), false);
-        } else if (!shouldPause && config.isTimerFrozen) {
-            config.isTimerFrozen = false;
-            config.startTime = System.currentTimeMillis() - config.frozenTime;
-            source.getServer().getPlayerManager().broadcast(Text.literal("§6[GSR] §aTimer Resumed!"), false);
+        if (GSRMain.CONFIG == null) return 0;
+        if (shouldPause) {
+            GSREvents.pauseRun(source.getServer());
+        } else {
+            GSREvents.resumeRun(source.getServer());
         }
-        GSRMain.saveAndSync(source.getServer());
         return 1;
     }
 
+    /**
+     * Prints the current run phase and the audited transition history.
+     */
+    private static void displayStateLog(ServerCommandSource source) {
+        var state = GSRRunStateMachine.get();
+        var timeFormat = java.time.format.DateTimeFormatter.ofPattern("HH:mm:ss");
+        StringBuilder sb = new StringBuilder("§6§l[GSR] Run State: §f" + state.phase()
+                + (state.isTracking() ? " §a(tracking)" : " §7(idle)"));
+        for (var t : GSRRunStateMachine.getTransitionLog()) {
+            String when = java.time.LocalTime.ofInstant(java.time.Instant.ofEpochMilli(t.epochMillis()), java.time.ZoneId.systemDefault()).format(timeFormat);
+            sb.append("\n§7").append(when).append(" §f").append(t.from()).append(" §7→ §f").append(t.to()).append(" §8(").append(t.reason()).append(")");
+        }
+        source.sendFeedback(() -> Text.literal(sb.toString()), false);
+    }
+
     private static void updateMaxHearts(MinecraftServer server, float amount) {
         GSRMain.CONFIG.maxHearts = amount;
         for (ServerPlayerEntity p : server.getPlayerManager().getPlayerList()) {
@@ -283,79 +490,49 @@ public class GSRCommands {
 
     private static int toggleLocate(ServerCommandSource source, String type) {
         var config = GSRMain.CONFIG;
-        boolean nowActive;
-        switch (type.toLowerCase()) {
-            case "fortress" -> { config.fortressActive = !config.fortressActive; nowActive = config.fortressActive; }
-            case "bastion" -> { config.bastionActive = !config.bastionActive; nowActive = config.bastionActive; }
-            case "stronghold" -> { config.strongholdActive = !config.strongholdActive; nowActive = config.strongholdActive; }
-            case "ship" -> { config.shipActive = !config.shipActive; nowActive = config.shipActive; }
-            default -> { return 0; }
-        }
+        if (config == null) return 0;
 
-        if (nowActive) {
-            return locateAndSync(source, type);
-        } else {
-            GSRMain.saveAndSync(source.getServer());
-            source.sendFeedback(() -> Text.literal("§6[GSR] " + type + " locator §cOFF"), false);
+        // Toggling a type that is still being searched for cancels the search
+        if (GSRLocateManager.isRunning(type)) {
+            GSRLocateManager.cancel(type);
+            source.sendFeedback(() -> Text.literal("§6[GSR] " + type + " search §ccancelled"), false);
             return 1;
         }
-    }
 
-    private static int locateAndSync(ServerCommandSource source, String type) {
-        ServerPlayerEntity player = source.getPlayer();
-        if (player == null) return 0;
-        ServerWorld world = source.getWorld();
-        var structureRegistry = world.getRegistryManager().getOrThrow(RegistryKeys.STRUCTURE);
-
-        var structureKey = switch (type.toLowerCase()) {
-            case "fortress" -> StructureKeys.FORTRESS;
-            case "bastion" -> StructureKeys.BASTION_REMNANT;
-            case "stronghold" -> StructureKeys.STRONGHOLD;
-            case "ship" -> StructureKeys.END_CITY;
-            default -> StructureKeys.FORTRESS;
+        boolean active = switch (type.toLowerCase()) {
+            case "fortress" -> config.fortressActive;
+            case "bastion" -> config.bastionActive;
+            case "stronghold" -> config.strongholdActive;
+            case "ship" -> config.shipActive;
+            default -> false;
         };
 
-        var structureEntry = structureRegistry.getOptional(structureKey);
-        if (structureEntry.isPresent()) {
-            RegistryEntryList<Structure> structureSet = RegistryEntryList.of(structureEntry.get());
-            Pair<BlockPos, RegistryEntry<Structure>> result = world.getChunkManager().getChunkGenerator()
-                    .locateStructure(world, structureSet, player.getBlockPos(), 100, false);
-
-            if (result != null) {
-                BlockPos pos = result.getFirst();
-                var config = GSRMain.CONFIG;
-                if (config == null) return 0;
-
-                switch (type.toLowerCase()) {
-                    case "fortress" -> { config.fortressX = pos.getX(); config.fortressZ = pos.getZ(); config.fortressActive = true; }
-                    case "bastion" -> { config.bastionX = pos.getX(); config.bastionZ = pos.getZ(); config.bastionActive = true; }
-                    case "stronghold" -> { config.strongholdX = pos.getX(); config.strongholdZ = pos.getZ(); config.strongholdActive = true; }
-                    case "ship" -> { config.shipX = pos.getX(); config.shipZ = pos.getZ(); config.shipActive = true; }
-                }
-
-                GSRMain.saveAndSync(source.getServer());
-
-                // GLOBAL BROADCAST: Notify everyone of the found coordinates
-                source.getServer().getPlayerManager().broadcast(
-                        Text.literal("§6[GSR] §f" + type + " §7located at §a" + pos.getX() + ", " + pos.getZ() + " §7(HUD Updated)"), false);
+        if (!active) {
+            // Runs in the background; the HUD is updated when the structure is found
+            if (GSRLocateManager.start(source, type)) return 1;
+            source.sendError(Text.literal("§6[GSR] §cCould not find " + type + " in this dimension."));
+            return 0;
+        }
 
-                return 1;
-            }
+        switch (type.toLowerCase()) {
+            case "fortress" -> config.fortressActive = false;
+            case "bastion" -> config.bastionActive = false;
+            case "stronghold" -> config.strongholdActive = false;
+            case "ship" -> config.shipActive = false;
         }
-        source.sendError(Text.literal("§6[GSR] §cCould not find " + type + " in this dimension."));
-        return 0;
+        GSRMain.saveAndSync(source.getServer());
+        source.sendFeedback(() -> Text.literal("§6[GSR] " + type + " locator §cOFF"), false);
+        return 1;
     }
 
+
     private static void executeReset(MinecraftServer server) {
         net.minecraft.server.world.ServerWorld overworld = server.getOverworld();
         overworld.getGameRules().setValue(net.minecraft.world.rule.GameRules.SEND_COMMAND_FEEDBACK, false, server);
 
         var config = GSRMain.CONFIG;
-        config.startTime = -1;
-        config.isTimerFrozen = false;
-        config.frozenTime = 0;
-        config.isFailed = false;
-        config.isVictorious = false;
+        GSRRunStateMachine.transition(config, GSRRunPhase.LOBBY, "reset command");
+        GSREventLogManager.discard(server);
         GSRSplitManager.resetSplits();
 
         config.fortressActive = false;
@@ -368,6 +545,16 @@ public class GSRCommands {
         GSREvents.resetHealth();
 
         BlockPos spawnPos = overworld.getSpawnPoint().getPos();
+        if (config.spawnPoolSize > 0) {
+            // Fresh terrain from the pool, if an area is ready; otherwise replay the current spawn
+            BlockPos fresh = GSRSpawnPool.take(overworld);
+            if (fresh != null) {
+                spawnPos = fresh;
+                overworld.setSpawnPoint(WorldProperties.SpawnPoint.create(World.OVERWORLD, fresh, 0.0f, 0.0f));
+            } else {
+                server.getPlayerManager().broadcast(Text.literal("§6[GSR] §eNo fresh spawn area ready yet, reusing the current spawn."), false);
+            }
+        }
         for (ServerPlayerEntity p : server.getPlayerManager().getPlayerList()) {
             p.changeGameMode(net.minecraft.world.GameMode.SURVIVAL);
             p.getInventory().clear();
@@ -389,10 +576,233 @@ public class GSRCommands {
             });
         }
         GSRMain.saveAndSync(server);
+        GSRSpawnPregen.begin(server, spawnPos);
         server.getPlayerManager().broadcast(Text.literal("§6§l[GSR] Run Reset, Go!"), false);
     }
 
+    private static int showLeaderboard(ServerCommandSource source, String category) {
+        // Timed boards only compare runs of the current split table
+        String layout = GSRComparisonManager.categoryOf(GSRSplitManager.getTable());
+        List<GSRTopK.Entry> board = GSRLeaderboardManager.get(layout, category);
+        if (board.isEmpty()) {
+            source.sendError(Text.literal("§6[GSR] §cNo runs recorded for '" + category + "'. §7Available: "
+                    + String.join(", ", GSRLeaderboardManager.categories(layout))));
+            return 0;
+        }
+
+        boolean damage = GSRLeaderboardManager.isDamageBoard(category);
+        DateTimeFormatter dates = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneId.systemDefault());
+        StringBuilder text = new StringBuilder("§6§l[GSR] Leaderboard: §f" + category);
+        for (int i = 0; i < board.size(); i++) {
+            GSRTopK.Entry entry = board.get(i);
+            String value = damage ? String.format("%.1f", entry.value()) : GSRFormatUtil.formatTime((long) entry.value());
+            text.append("\n§e#").append(i + 1).append(" §a").append(value).append(" §f").append(entry.label())
+                    .append(" §7(").append(entry.world()).append(", ").append(dates.format(Instant.ofEpochMilli(entry.timestamp()))).append(")");
+        }
+        source.sendFeedback(() -> Text.literal(text.toString()), false);
+        return 1;
+    }
+
+    /**
+     * Summarizes a stored run's event log: event counts, the timeline of key moments and the biggest hits.
+     * The record is read and decoded on the history IO thread.
+     */
+    private static int showReplay(ServerCommandSource source, long runId) {
+        GSRHistoryStore store = GSRRunHistoryManager.getStore();
+        if (store == null) {
+            source.sendError(Text.literal("§6[GSR] §cRun history is not available yet."));
+            return 0;
+        }
+
+        MinecraftServer server = source.getServer();
+        CompletableFuture.supplyAsync(() -> {
+            List<GSRRunSummary> runs = store.all();
+            GSRRunSummary run = runId < 0
+                    ? (runs.isEmpty() ? null : runs.getLast())
+                    : runs.stream().filter(r -> r.id() == runId).findFirst().orElse(null);
+            if (run == null) return "§6[GSR] §cNo such run in history.";
+
+            List<GSREventLogCodec.Event> events;
+            try {
+                events = GSREventLogDecoder.fromPayload(store.readPayload(run));
+            } catch (Exception e) {
+                return "§6[GSR] §cCould not read the event log of run #" + run.id() + ".";
+            }
+            if (events.isEmpty()) return "§6[GSR] §eRun #" + run.id() + " has no event log (recorded before logging existed).";
+
+            EnumMap<GSREventType, Integer> counts = new EnumMap<>(GSREventType.class);
+            List<GSREventLogCodec.Event> spikes = new ArrayList<>();
+            StringBuilder timeline = new StringBuilder();
+            int shown = 0;
+            for (GSREventLogCodec.Event event : events) {
+                counts.merge(event.type(), 1, Integer::sum);
+                switch (event.type()) {
+                    case DAMAGE_SPIKE -> spikes.add(event);
+                    case SPLIT, DEATH, PAUSE, RESUME, LOCATE, SESSION -> {
+                        if (shown++ < REPLAY_TIMELINE_LINES) timeline.append("\n§7").append(GSREventLogDecoder.describe(event));
+                    }
+                    default -> {}
+                }
+            }
+            if (shown > REPLAY_TIMELINE_LINES) timeline.append("\n§7... ").append(shown - REPLAY_TIMELINE_LINES).append(" more");
+
+            StringBuilder text = new StringBuilder("§6§l[GSR] Replay: §fRun #" + run.id() + " §7(" + run.world() + ", "
+                    + (run.success() ? "§aSUCCESS" : "§cFAILURE") + " §7in §e" + GSRFormatUtil.formatTime(run.finalTicks()) + "§7)");
+            StringBuilder tally = new StringBuilder();
+            counts.forEach((type, count) -> tally.append(tally.isEmpty() ? "" : ", ").append(type.name().toLowerCase(Locale.ROOT)).append(" ").append(count));
+            text.append("\n§fEvents: §7").append(tally);
+            text.append(timeline);
+
+            spikes.sort(Comparator.comparingLong(GSREventLogCodec.Event::a).reversed());
+            for (int i = 0; i < Math.min(3, spikes.size()); i++) {
+                text.append("\n§cBig hit: §7").append(GSREventLogDecoder.describe(spikes.get(i)));
+            }
+            return text.toString();
+        }, GSRRunHistoryManager.historyExecutor()).thenAccept(text -> server.execute(() -> source.sendFeedback(() -> Text.literal(text), false)));
+        return 1;
+    }
+
+    /**
+     * @param zeroIsNever Whether 0 disables the rule rather than being a literal count.
+     */
+    private static int setHistoryRetention(ServerCommandSource source, String label, int value, String unit, boolean zeroIsNever, IntConsumer setter) {
+        setter.accept(value);
+        GSRMain.saveAndSync(source.getServer());
+        boolean never = zeroIsNever && value == 0;
+        source.sendFeedback(() -> Text.literal("§6[GSR] " + label + ": " + (never ? "§cnever" : "§f" + value + unit) + " §7(applied at the next compaction)"), true);
+        return 1;
+    }
+
+    private static int compactHistory(ServerCommandSource source) {
+        if (GSRRunHistoryManager.getStore() == null) {
+            source.sendError(Text.literal("§6[GSR] §cRun history is not available yet."));
+            return 0;
+        }
+        MinecraftServer server = source.getServer();
+        source.sendFeedback(() -> Text.literal("§6[GSR] §7Compacting run history in the background..."), false);
+        GSRRunHistoryManager.compact(server).thenAccept(result -> server.execute(() -> {
+            if (result == null) {
+                source.sendError(Text.literal("§6[GSR] §cHistory compaction failed, see the server log."));
+                return;
+            }
+            source.sendFeedback(() -> Text.literal("§6[GSR] §aHistory compacted: §f" + result.dropped() + " §7dropped, §f"
+                    + result.archived() + " §7archived, §f" + result.bytesBefore() / 1024 + " KB §7-> §f" + result.bytesAfter() / 1024 + " KB"), true);
+        }));
+        return 1;
+    }
+
+    /**
+     * Run-time and split distributions for the current split layout, from the precomputed history statistics.
+     */
+    private static int showHistoryStats(ServerCommandSource source) {
+        GSRSplitTable table = GSRSplitManager.getTable();
+        GSRHistoryStats.Category category = GSRHistoryStatsManager.get().category(GSRComparisonManager.categoryOf(table));
+        if (category == null || category.attempts() == 0) {
+            source.sendError(Text.literal("§6[GSR] §cNo runs recorded with the current splits yet."));
+            return 0;
+        }
+
+        GSRHistogram finals = category.finals();
+        StringBuilder text = new StringBuilder("§6§l[GSR] History Stats: §f" + category.attempts() + " attempts, §a"
+                + finals.count() + " completed §7(" + percent(finals.count(), category.attempts()) + ")");
+        if (finals.count() > 0) {
+            text.append("\n§fFinal: §7best §a").append(GSRFormatUtil.formatTime(finals.min()))
+                    .append(" §7median §e").append(GSRFormatUtil.formatTime(finals.percentile(50)))
+                    .append(" §7p90 §e").append(GSRFormatUtil.formatTime(finals.percentile(90)));
+        }
+
+        // Segment success: share of the runs that reached the previous split which also reached this one
+        long previous = category.attempts();
+        for (int i = 0; i < table.size(); i++) {
+            GSRHistogram split = category.split(table.get(i).id());
+            text.append("\n§b").append(table.get(i).name()).append(" §7reached §f").append(split.count())
+                    .append(" §7(").append(percent(split.count(), previous)).append(" of segment)");
+            if (split.count() > 0) {
+                text.append(" §7median §e").append(GSRFormatUtil.formatTime(split.percentile(50)))
+                        .append(" §7p90 §e").append(GSRFormatUtil.formatTime(split.percentile(90)));
+            }
+            previous = split.count();
+        }
+        source.sendFeedback(() -> Text.literal(text.toString()), false);
+        return 1;
+    }
+
+    private static int showPlayerStats(ServerCommandSource source, String name) {
+        GSRHistoryStats.Player player = GSRHistoryStatsManager.get().player(name);
+        if (player == null) {
+            source.sendError(Text.literal("§6[GSR] §cNo runs recorded for " + name + "."));
+            return 0;
+        }
+
+        GSRHistogram wins = player.wins();
+        StringBuilder text = new StringBuilder("§6§l[GSR] Player Stats: §f" + player.name() + "\n§7Runs §f" + player.runs()
+                + " §7completed §a" + wins.count() + " §7(" + percent(wins.count(), player.runs()) + ")");
+        if (wins.count() > 0) {
+            text.append("\n§7Completion: best §a").append(GSRFormatUtil.formatTime(wins.min()))
+                    .append(" §7average §e").append(GSRFormatUtil.formatTime(Math.round(wins.mean())))
+                    .append(" §7median §e").append(GSRFormatUtil.formatTime(wins.percentile(50)));
+        }
+        source.sendFeedback(() -> Text.literal(text.toString()), false);
+        return 1;
+    }
+
+    private static String percent(long part, long whole) {
+        return whole == 0 ? "-" : String.format(Locale.ROOT, "%.0f%%", 100.0 * part / whole);
+    }
+
+    /**
+     * Streams the whole run history to {@code GSR_History/exports/} on the history IO thread,
+     * reporting progress every quarter for larger histories.
+     */
+    private static int exportHistory(ServerCommandSource source, GSRHistoryExporter.Format format) {
+        GSRHistoryStore store = GSRRunHistoryManager.getStore();
+        if (store == null) {
+            source.sendError(Text.literal("§6[GSR] §cRun history is not available yet."));
+            return 0;
+        }
+
+        MinecraftServer server = source.getServer();
+        String stamp = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault()).format(Instant.now());
+        Path file = store.directory().resolve(EXPORT_DIR).resolve("history-" + stamp + "." + format.extension());
+        source.sendFeedback(() -> Text.literal("§6[GSR] §7Exporting " + store.size() + " runs as " + format.extension() + "..."), false);
+
+        int[] lastQuarter = {0};
+        GSRHistoryExporter.Progress progress = (done, total) -> {
+            int quarter = done * 4 / total;
+            if (total >= EXPORT_PROGRESS_MIN_RUNS && quarter > lastQuarter[0] && done < total) {
+                lastQuarter[0] = quarter;
+                server.execute(() -> source.sendFeedback(() -> Text.literal("§6[GSR] §7Export " + quarter * 25 + "% (" + done + "/" + total + ")"), false));
+            }
+        };
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                Files.createDirectories(file.getParent());
+                try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    return GSRHistoryExporter.export(store, out, format, progress);
+                }
+            } catch (IOException e) {
+                LOGGER.error("[GSR] History export failed", e);
+                return -1;
+            }
+        }, GSRRunHistoryManager.historyExecutor()).thenAccept(count -> server.execute(() -> {
+            if (count < 0) {
+                source.sendError(Text.literal("§6[GSR] §cHistory export failed, see the server log."));
+            } else {
+                source.sendFeedback(() -> Text.literal("§6[GSR] §aExported " + count + " runs to §f" + HISTORY_EXPORT_PATH + file.getFileName()), false);
+            }
+        }));
+        return 1;
+    }
+
+    private static String getSpawnPoolStatus() {
+        var config = GSRMain.CONFIG;
+        if (config == null || config.spawnPoolSize == 0) return "§cOFF";
+        return "§a" + GSRSpawnPool.readyCount() + " ready§7, §e" + GSRSpawnPool.generatingCount() + " generating §7(size "
+                + config.spawnPoolSize + ", radius " + config.spawnPoolRadius + ")";
+    }
+
     private static void clearAllLocates(MinecraftServer server) {
+        GSRLocateManager.cancelAll();
         var config = GSRMain.CONFIG;
         if (config == null) return;
         config.fortressActive = false;
@@ -1,8 +1,18 @@
 package net.berkle.groupspeedrun;
 
 import net.berkle.groupspeedrun.config.GSRConfigWorld;
+import net.berkle.groupspeedrun.history.GSREventType;
+import net.berkle.groupspeedrun.managers.GSRComparisonManager;
+import net.berkle.groupspeedrun.managers.GSREventLogManager;
+import net.berkle.groupspeedrun.managers.GSRParticipantRegistry;
 import net.berkle.groupspeedrun.managers.GSRRunHistoryManager;
+import net.berkle.groupspeedrun.managers.GSRSharedInventoryManager;
+import net.berkle.groupspeedrun.managers.GSRSharedVitalsManager;
+import net.berkle.groupspeedrun.managers.GSRSpawnPregen;
 import net.berkle.groupspeedrun.managers.GSRSplitManager;
+import net.berkle.groupspeedrun.state.GSRRunPhase;
+import net.berkle.groupspeedrun.state.GSRRunState;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.minecraft.entity.attribute.EntityAttributeInstance;
 import net.minecraft.entity.attribute.EntityAttributes;
 import net.minecraft.entity.projectile.FireworkRocketEntity;
@@ -31,30 +41,39 @@ public class GSREvents {
     public static void onTick(MinecraftServer server) {
         var config = GSRMain.CONFIG;
         if (config == null) return;
+        GSRRunState state = GSRRunStateMachine.get();
 
-        // 1. AUTO-START DETECTION
-        if (config.startTime == -1 && !server.getPlayerManager().getPlayerList().isEmpty()) {
+        // 1. AUTO-START DETECTION (held while the spawn area is still generating)
+        if (state.phase() == GSRRunPhase.LOBBY && !server.getPlayerManager().getPlayerList().isEmpty()
+                && !GSRSpawnPregen.isHoldingStart()) {
             handleAutoStart(server, config);
         }
 
         // 2. PAUSE STATE PROTECTION
-        if (config.isTimerFrozen) {
+        if (state.phase() == GSRRunPhase.PAUSED) {
             handlePauseMaintenance(server);
             return;
         }
 
         // 3. SHARED HEALTH ENGINE
-        if (config.sharedHealthEnabled && !config.isFailed && !config.isVictorious) {
+        if (config.sharedHealthEnabled && !state.isFinished()) {
             handleSharedHealth(server);
         }
 
-        // 4. PERIODIC SPLIT CHECKS
-        if (server.getTicks() % 10 == 0 && config.startTime > 0) {
-            GSRSplitManager.checkSplits(server);
+        // 3b. SHARED HUNGER & STATUS EFFECTS
+        if ((config.sharedHungerEnabled || config.sharedEffectsEnabled) && !state.isFinished()) {
+            GSRSharedVitalsManager.tick(getSharedParticipants(server), config.sharedHungerEnabled, config.sharedEffectsEnabled);
         }
 
+        // 3c. SHARED INVENTORY
+        if (config.sharedInventoryEnabled && !state.isFinished()) {
+            GSRSharedInventoryManager.flush(getSharedParticipants(server));
+        }
+
+        // 4. SPLITS are event-driven (dimension change, advancements, structures, dragon)
+
         // 5. VICTORY CELEBRATIONS
-        if (config.isVictorious && config.victoryTimer > 0) {
+        if (state.phase() == GSRRunPhase.VICTORY && config.victoryTimer > 0) {
             if (config.victoryTimer % 10 == 0) {
                 for (ServerPlayerEntity p : server.getPlayerManager().getPlayerList()) spawnFirework(p);
             }
@@ -64,16 +83,22 @@ public class GSREvents {
 
     public static long getRunTicks(MinecraftServer server) {
         var config = GSRMain.CONFIG;
-        if (config == null || config.startTime < 0) return 0;
+        if (config == null || !GSRRunStateMachine.get().hasStarted()) return 0;
         return config.getElapsedTime() / 50;
     }
 
-    public static void pauseRun(MinecraftServer server) {
+    /**
+     * Run length on the load-removed timer, in ticks.
+     */
+    public static long getLoadRemovedTicks() {
         var config = GSRMain.CONFIG;
-        if (config != null && !config.isTimerFrozen && config.startTime > 0) {
-            config.isTimerFrozen = true;
-            config.frozenTime = System.currentTimeMillis() - config.startTime;
+        if (config == null || !GSRRunStateMachine.get().hasStarted()) return 0;
+        return config.loadRemovedTime / 50;
+    }
 
+    public static void pauseRun(MinecraftServer server) {
+        if (GSRRunStateMachine.transition(GSRMain.CONFIG, GSRRunPhase.PAUSED, "pause command")) {
+            GSREventLogManager.record(server, GSREventType.PAUSE);
             server.getPlayerManager().broadcast(Text.literal("§6[GSR] §cTimer Paused!"), false);
             for (ServerPlayerEntity p : server.getPlayerManager().getPlayerList()) {
                 p.playSound(SoundEvents.UI_BUTTON_CLICK.value(), 1.0f, 1.0f);
@@ -84,10 +109,11 @@ public class GSREvents {
 
     public static void resumeRun(MinecraftServer server) {
         var config = GSRMain.CONFIG;
-        if (config != null && config.isTimerFrozen) {
-            config.isTimerFrozen = false;
-            config.startTime = System.currentTimeMillis() - config.frozenTime;
+        if (GSRRunStateMachine.transition(config, GSRRunPhase.RUNNING, "resume command")) {
+            GSREventLogManager.record(server, GSREventType.RESUME);
             config.lastSplitTime = server.getOverworld().getTime();
+            // Dimension changes made while paused were not recorded
+            GSRSplitManager.checkDimensions(server);
 
             server.getPlayerManager().broadcast(Text.literal("§6[GSR] §aTimer Resumed!"), false);
             for (ServerPlayerEntity p : server.getPlayerManager().getPlayerList()) {
@@ -111,12 +137,14 @@ public class GSREvents {
             if (player.squaredDistanceTo(player.lastRenderX, player.lastRenderY, player.lastRenderZ) > 0.0001
                     || player.isUsingItem() || player.handSwinging) {
 
-                config.startTime = System.currentTimeMillis();
-                config.isTimerFrozen = false;
-                config.frozenTime = 0;
+                if (!GSRRunStateMachine.transition(config, GSRRunPhase.RUNNING, "auto-start by " + player.getName().getString())) return;
                 config.lastSplitTime = server.getOverworld().getTime();
+                GSREventLogManager.begin(server);
+                GSRParticipantRegistry.begin(server);
+                GSRSplitManager.checkDimensions(server);
 
                 GSRMain.saveAndSync(server);
+                GSRComparisonManager.syncWithAll(server);
                 for (ServerPlayerEntity p : server.getPlayerManager().getPlayerList()) {
                     p.playSound(SoundEvents.ENTITY_PLAYER_LEVELUP, 1.0f, 1.0f);
                 }
@@ -128,7 +156,11 @@ public class GSREvents {
 
     public static void handlePlayerDeath(ServerPlayerEntity deadPlayer, MinecraftServer server) {
         var config = GSRMain.CONFIG;
-        if (config == null || config.startTime <= 0) return;
+        if (config == null || !GSRRunStateMachine.get().hasStarted()) return;
+
+        // Every death goes in the event log, including excluded players'
+        Text deathMsg = deadPlayer.getDamageTracker().getDeathMessage();
+        GSREventLogManager.record(server, GSREventType.DEATH, deadPlayer, deathMsg.getString(), 0, 0);
 
         // 1. Check exclusion list
         if (config.excludedPlayers.contains(deadPlayer.getUuid())) {
@@ -137,14 +169,11 @@ public class GSREvents {
         }
 
         // 2. Trigger Group Death
-        if (config.groupDeathEnabled && !config.isFailed && !config.isVictorious) {
-            config.isFailed = true;
-            config.isTimerFrozen = true;
-            config.frozenTime = System.currentTimeMillis() - config.startTime;
+        if (config.groupDeathEnabled
+                && GSRRunStateMachine.transition(config, GSRRunPhase.FAILED, "death of " + deadPlayer.getName().getString())) {
             config.lastSplitTime = server.getOverworld().getTime();
 
             // CAPTURE: The specific death message for this player
-            Text deathMsg = deadPlayer.getDamageTracker().getDeathMessage();
             String deathString = deathMsg.getString();
 
             // LOG: Save history with the actual player name and cause
@@ -166,12 +195,23 @@ public class GSREvents {
         }
     }
 
-    private static void handleSharedHealth(MinecraftServer server) {
-        var config = GSRMain.CONFIG;
-        List<ServerPlayerEntity> participants = server.getPlayerManager().getPlayerList().stream()
-                .filter(p -> p.isAlive() && !p.isSpectator() && !p.isCreative())
-                .filter(p -> !config.excludedPlayers.contains(p.getUuid()))
+    /**
+     * Living, survival-mode players who are not excluded from group mechanics.
+     */
+    public static List<ServerPlayerEntity> getSharedParticipants(MinecraftServer server) {
+        return server.getPlayerManager().getPlayerList().stream()
+                .filter(GSREvents::isSharedParticipant)
                 .toList();
+    }
+
+    public static boolean isSharedParticipant(ServerPlayerEntity p) {
+        var config = GSRMain.CONFIG;
+        return p.isAlive() && !p.isSpectator() && !p.isCreative()
+                && (config == null || !config.excludedPlayers.contains(p.getUuid()));
+    }
+
+    private static void handleSharedHealth(MinecraftServer server) {
+        List<ServerPlayerEntity> participants = getSharedParticipants(server);
 
         if (participants.isEmpty()) {
             lastGroupHealth = -1f;
@@ -237,5 +277,9 @@ public class GSREvents {
         }
     }
 
-    public static void resetHealth() { lastGroupHealth = -1f; }
+    public static void resetHealth() {
+        lastGroupHealth = -1f;
+        GSRSharedVitalsManager.reset();
+        GSRSharedInventoryManager.reset();
+    }
 }
\ No newline at end of file
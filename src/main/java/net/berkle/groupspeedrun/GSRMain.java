@@ -3,8 +3,29 @@ package net.berkle.groupspeedrun;
 import net.berkle.groupspeedrun.config.GSRConfigWorld;
 import net.berkle.groupspeedrun.config.GSRConfigPlayer; // Added
 import net.berkle.groupspeedrun.config.GSRConfigPayload;
+import net.berkle.groupspeedrun.managers.GSRChunkPregenerator;
+import net.berkle.groupspeedrun.managers.GSRComparisonManager;
+import net.berkle.groupspeedrun.managers.GSREventLogManager;
+import net.berkle.groupspeedrun.managers.GSRLoadManager;
+import net.berkle.groupspeedrun.managers.GSRLoadRemovedTimer;
+import net.berkle.groupspeedrun.managers.GSRLocateManager;
+import net.berkle.groupspeedrun.managers.GSRParticipantRegistry;
+import net.berkle.groupspeedrun.managers.GSRRunHistoryManager;
+import net.berkle.groupspeedrun.managers.GSRSharedInventoryManager;
+import net.berkle.groupspeedrun.managers.GSRSharedVitalsManager;
+import net.berkle.groupspeedrun.managers.GSRSpawnPool;
+import net.berkle.groupspeedrun.managers.GSRSpawnPregen;
+import net.berkle.groupspeedrun.managers.GSRSplitManager;
+import net.berkle.groupspeedrun.managers.GSRStructureCache;
+import net.berkle.groupspeedrun.managers.GSRStructureManager;
+import net.berkle.groupspeedrun.state.GSRRunPhase;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
@@ -34,6 +55,7 @@ public class GSRMain implements ModInitializer {
 		LOGGER.info("[GSR] Initializing GroupSpeedrun Logic...");
 
 		PayloadTypeRegistry.playS2C().register(GSRConfigPayload.ID, GSRConfigPayload.CODEC);
+		GSRChunkPregenerator.init();
 
 		CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
 			GSRCommands.register(dispatcher);
@@ -41,32 +63,80 @@ public class GSRMain implements ModInitializer {
 
 		ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
 			GSRNetworking.syncConfigWithPlayer(handler.getPlayer());
+			GSRSharedInventoryManager.attach(handler.getPlayer());
+			GSRSplitManager.attach(handler.getPlayer());
+			GSRComparisonManager.syncWithPlayer(handler.getPlayer());
+			// Late joiners take part in the run and its awards
+			GSRParticipantRegistry.onJoin(handler.getPlayer());
+			// A player may rejoin straight into the Nether or End mid-run
+			GSRSplitManager.checkDimensions(server);
+		});
+
+		ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) -> {
+			GSRSplitManager.onPlayerChangeWorld(player, destination);
+		});
+
+		// Respawning creates a new player entity with a fresh inventory handler
+		ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> {
+			GSRSharedInventoryManager.attach(newPlayer);
+			GSRSplitManager.attach(newPlayer);
+			// After a death the entity also has fresh vitals (leaving the End keeps them)
+			if (alive) return;
+			if (CONFIG != null && GSREvents.isSharedParticipant(newPlayer)) {
+				GSRSharedVitalsManager.onRespawn(newPlayer, GSREvents.getSharedParticipants(newPlayer.getEntityWorld().getServer()),
+						CONFIG.sharedEffectsEnabled && GSRRunStateMachine.isTracking());
+			} else {
+				GSRSharedVitalsManager.removePlayer(newPlayer.getUuid());
+			}
+		});
+
+		ServerLivingEntityEvents.AFTER_DEATH.register(GSRSplitManager::onEntityDeath);
+		ServerLivingEntityEvents.AFTER_DEATH.register((entity, source) -> {
+			if (entity instanceof ServerPlayerEntity player) GSRSharedInventoryManager.onDeath(player);
 		});
 
 		// Clean up player configs when they leave to prevent memory leaks
 		ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+			// Participants keep their awards after leaving; take a last reading of their vanilla stats
+			GSRParticipantRegistry.onDisconnect(server, handler.getPlayer());
 			PLAYER_CONFIGS.remove(handler.getPlayer().getUuid());
+			GSRSharedVitalsManager.removePlayer(handler.getPlayer().getUuid());
+			GSRSharedInventoryManager.removePlayer(handler.getPlayer().getUuid());
 		});
 
 		ServerLifecycleEvents.SERVER_STARTING.register(server -> {
 			CONFIG = GSRConfigWorld.load(server);
+			GSRSplitManager.load(server);
 			GSRStats.load(server);
 
-			if (CONFIG.startTime != -1) {
-				if (!CONFIG.isTimerFrozen && !CONFIG.isVictorious && !CONFIG.isFailed) {
-					CONFIG.startTime = System.currentTimeMillis() - CONFIG.frozenTime;
-					LOGGER.info("[GSR] Active run detected: Resuming timer.");
-				}
-			} else {
+			GSRRunStateMachine.restore(CONFIG);
+			if (GSRRunStateMachine.phase() == GSRRunPhase.RUNNING) {
+				LOGGER.info("[GSR] Active run detected: Resuming timer.");
+			} else if (GSRRunStateMachine.phase() == GSRRunPhase.LOBBY) {
 				GSRStats.reset();
 			}
 
 			GSREvents.resetHealth();
+			GSRLoadManager.reset();
+			GSRLoadRemovedTimer.reset();
 			isServerActive = true;
 		});
 
 		ServerLifecycleEvents.SERVER_STARTED.register(server -> {
-			if (CONFIG.startTime != -1 && !CONFIG.isTimerFrozen && !CONFIG.isVictorious && !CONFIG.isFailed) {
+			GSRStructureManager.init(server);
+			GSRSplitManager.rebuildAdvancementSplits(server);
+			GSRRunHistoryManager.openStore(server);
+			GSRComparisonManager.load(server);
+			GSRStructureCache.load(server);
+			// Fresh worlds and lobbies left by a restart warm up their spawn before the timer can start
+			if (!GSRRunStateMachine.get().hasStarted()) {
+				GSRSpawnPregen.begin(server, server.getOverworld().getSpawnPoint().getPos());
+			}
+			// A run interrupted by the restart keeps appending to its event log
+			if (GSRRunStateMachine.get().hasStarted() && !GSRRunStateMachine.get().isFinished()) {
+				GSREventLogManager.reopen(server);
+			}
+			if (GSRRunStateMachine.isTracking()) {
 				if (server.getOverworld() != null) {
 					CONFIG.lastSplitTime = server.getOverworld().getTime();
 				}
@@ -74,17 +144,34 @@ public class GSRMain implements ModInitializer {
 			LOGGER.info("[GSR] Server fully loaded. World access safe.");
 		});
 
+		// Reloading datapacks replaces every AdvancementEntry instance
+		ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+			GSRSplitManager.rebuildAdvancementSplits(server);
+		});
+
 		ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
-			if (CONFIG.startTime != -1 && !CONFIG.isTimerFrozen && !CONFIG.isFailed && !CONFIG.isVictorious) {
-				CONFIG.frozenTime = System.currentTimeMillis() - CONFIG.startTime;
-			}
+			GSRLocateManager.cancelAll();
+			GSRChunkPregenerator.releaseAll(server);
+			GSRSpawnPool.releaseAll(server);
+			GSRSpawnPregen.release();
+			// A run that just ended is still being written to history; its event log comes from the writer below
+			GSRRunHistoryManager.shutdown();
+			GSREventLogManager.close();
+			GSRStructureCache.save(server).join();
+			GSRRunStateMachine.checkpoint(CONFIG);
 
 			saveAndSync(server);
 			isServerActive = false;
 			LOGGER.info("[GSR] State persisted. Server stopping.");
 		});
 
+		// Structure pieces are indexed as their starts load, for precise structure splits
+		ServerChunkEvents.CHUNK_LOAD.register(GSRStructureManager::onChunkLoad);
+		// Locatable structures seen in loaded chunks feed the /gsr locate cache
+		ServerChunkEvents.CHUNK_LOAD.register(GSRStructureCache::onChunkLoad);
+
 		ServerTickEvents.START_SERVER_TICK.register(this::onServerTick);
+		ServerTickEvents.END_SERVER_TICK.register(GSRLoadManager::onTickEnd);
 	}
 
 	/**
@@ -97,14 +184,27 @@ public class GSRMain implements ModInitializer {
 
 	private void onServerTick(MinecraftServer server) {
 		if (!isServerActive || server == null) return;
+		GSRLoadManager.onTickStart();
+		if (GSRRunStateMachine.isTracking()) {
+			GSRLoadRemovedTimer.advance(CONFIG, GSRLoadManager.getLastIntervalNanos());
+		}
 
 		GSREvents.onTick(server);
-
-		if (server.getTicks() % 100 == 0) {
-			if (CONFIG.startTime != -1 && !CONFIG.isTimerFrozen && !CONFIG.isFailed && !CONFIG.isVictorious) {
-				CONFIG.frozenTime = System.currentTimeMillis() - CONFIG.startTime;
+		GSRLocateManager.tick(server);
+		GSRChunkPregenerator.tick(server);
+		GSRSpawnPool.tick(server);
+		GSRSpawnPregen.tick(server);
+		GSREventLogManager.tick(server);
+
+		// Sync and save cadence stretch out when the server is under load
+		GSRLoadManager.Level load = GSRLoadManager.getLevel();
+		if (server.getTicks() % load.syncInterval == 0) {
+			GSRRunStateMachine.checkpoint(CONFIG);
+			if (server.getTicks() % load.saveInterval == 0) {
+				saveAndSync(server);
+			} else {
+				GSRNetworking.syncConfigWithAll(server);
 			}
-			saveAndSync(server);
 		}
 	}
 
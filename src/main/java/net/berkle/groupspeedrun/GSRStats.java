@@ -2,11 +2,13 @@ package net.berkle.groupspeedrun;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import net.berkle.groupspeedrun.managers.GSRParticipantRegistry;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.WorldSavePath;
 
 import java.io.*;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -63,6 +65,7 @@ public class GSRStats {
         TOTAL_DAMAGE_DEALT.clear();
         TOTAL_DAMAGE_TAKEN.clear();
         DISTANCE_MOVED.clear();
+        GSRParticipantRegistry.reset();
 
         isDirty = false;
         GSRMain.LOGGER.info("[GSR] Statistics have been reset.");
@@ -97,6 +100,13 @@ public class GSRStats {
         isDirty = true;
     }
 
+    /**
+     * Flags data kept outside the stat maps (the participant registry) as changed.
+     */
+    public static void markDirty() {
+        isDirty = true;
+    }
+
     // --- [ PERSISTENCE LOGIC ] ---
 
     /**
@@ -120,7 +130,8 @@ public class GSRStats {
                 Map.copyOf(ENDER_PEARLS_COLLECTED), // Snapshot pearl stat
                 Map.copyOf(TOTAL_DAMAGE_DEALT),
                 Map.copyOf(TOTAL_DAMAGE_TAKEN),
-                Map.copyOf(DISTANCE_MOVED)
+                Map.copyOf(DISTANCE_MOVED),
+                GSRParticipantRegistry.save()
         );
 
         File file = getStatsFile(server);
@@ -168,6 +179,7 @@ public class GSRStats {
                 if (container.totalDamageDealt != null) TOTAL_DAMAGE_DEALT.putAll(container.totalDamageDealt);
                 if (container.totalDamageTaken != null) TOTAL_DAMAGE_TAKEN.putAll(container.totalDamageTaken);
                 if (container.distanceMoved != null) DISTANCE_MOVED.putAll(container.distanceMoved);
+                if (container.participants != null) GSRParticipantRegistry.load(container.participants);
 
                 isDirty = false;
                 GSRMain.LOGGER.info("[GSR] Stats successfully loaded.");
@@ -201,6 +213,7 @@ public class GSRStats {
             Map<UUID, Integer> enderPearls, // New pearl field for JSON
             Map<UUID, Float> totalDamageDealt,
             Map<UUID, Float> totalDamageTaken,
-            Map<UUID, Float> distanceMoved
+            Map<UUID, Float> distanceMoved,
+            List<GSRParticipantRegistry.Saved> participants // Everyone who took part, in join order
     ) {}
 }
\ No newline at end of file
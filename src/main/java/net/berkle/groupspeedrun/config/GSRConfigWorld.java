@@ -13,7 +13,10 @@ import java.awt.Color;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,9 +32,40 @@ public class GSRConfigWorld {
     // --- [ SHARED GAMEPLAY SETTINGS ] ---
     public boolean groupDeathEnabled = true;
     public boolean sharedHealthEnabled = false;
+    public boolean sharedHungerEnabled = false;
+    public boolean sharedEffectsEnabled = false;
+    public boolean sharedInventoryEnabled = false;
     public float maxHearts = 10.0f;
     public List<UUID> excludedPlayers = new ArrayList<>();
 
+    // --- [ LOAD SHEDDING ] ---
+    // Average milliseconds per tick at which non-critical tracking is stepped down
+    public boolean loadSheddingEnabled = true;
+    public float msptLight = 35.0f;
+    public float msptHeavy = 45.0f;
+    public float msptCritical = 60.0f;
+    // Tick intervals longer than this are treated as stalls and excluded from the load-removed timer
+    public long stallThresholdMs = 250;
+    // Chunks around a pinned locate target to generate ahead of arrival (0 disables pre-generation)
+    public int pregenRadius = 3;
+    // Chunk radius around spawn generated before the timer may auto-start (0 disables the warm-up)
+    public int spawnPregenRadius = 6;
+    // Pre-generated spawn areas kept ready for resets (0 disables the pool), and their chunk radius
+    public int spawnPoolSize = 0;
+    public int spawnPoolRadius = 4;
+    // Spiral index of the last spawn area handed to the pool, so areas are never reused
+    public int spawnPoolCursor = 0;
+    // Run history retention for this world's runs, applied by the background compaction (day counts of 0 mean "forever")
+    public boolean historyKeepPbs = true;
+    public int historyKeepLast = 100;
+    public int historyFailureDays = 0;
+    public int historyMaxAgeDays = 0;
+    // Runs older than this many days are moved into compressed archives
+    public int historyArchiveDays = 7;
+    // Places ranked and stored per award category (1 = winner only); runner-ups are broadcast only if enabled
+    public int awardPodiumSize = 3;
+    public boolean awardPodiumBroadcast = false;
+
     // --- [ SHARED RUN STATE ] ---
     public long startTime = -1;
     public boolean isFailed = false;
@@ -40,9 +74,34 @@ public class GSRConfigWorld {
     public long frozenTime = 0;
     public long lastSplitTime = -1;
     public long victoryTimer = 0;
+    // Load-removed (in-game) time in milliseconds, advanced by GSRLoadRemovedTimer
+    public long loadRemovedTime = 0;
+    // Client-side copy of the synced load-removed time, kept apart so an integrated server never loses ticks
+    private long syncedLoadRemovedTime = 0;
+    private long loadRemovedSyncedAt = 0;
 
     // --- [ SPLIT MILESTONES ] ---
-    public long timeNether = 0, timeBastion = 0, timeFortress = 0, timeEnd = 0, timeDragon = 0;
+    // Indexed like the active split table (see GSRSplitManager). Run ticks; 0 means not reached yet.
+    private String[] splitIds = new String[0];
+    private String[] splitNames = new String[0];
+    private long[] splitTimes = new long[0];
+    // Same milestones on the load-removed timer
+    private long[] splitLrt = new long[0];
+    // Split values read from disk by id, held until the split table is bound
+    private final Map<String, long[]> loadedSplits = new HashMap<>();
+    // Client-side copies of the synced split table, kept apart for the same reason as syncedLoadRemovedTime
+    private String[] syncedSplitNames;
+    private long[] syncedSplitTimes;
+    private long[] syncedSplitLrt;
+
+    // Pre-table property keys for the classic splits, still read so older worlds keep their times
+    private static final Map<String, String[]> LEGACY_SPLIT_KEYS = Map.of(
+            "nether", new String[]{"timeNether", "lrtNether"},
+            "bastion", new String[]{"timeBastion", "lrtBastion"},
+            "fortress", new String[]{"timeFortress", "lrtFortress"},
+            "end", new String[]{"timeEnd", "lrtEnd"},
+            "dragon", new String[]{"timeDragon", "lrtDragon"}
+    );
 
     // --- [ SHARED STRUCTURES ] ---
     public int fortressX = 0, fortressZ = 0;
@@ -72,15 +131,77 @@ public class GSRConfigWorld {
         this.strongholdActive = false;
         this.shipActive = false;
         this.victoryTimer = 0;
-        this.timeNether = 0; this.timeBastion = 0; this.timeFortress = 0; this.timeEnd = 0; this.timeDragon = 0;
+        this.loadRemovedTime = 0;
+        clearSplits();
+    }
+
+    // --- [ SPLIT TABLE ] ---
+
+    /**
+     * Re-keys the split arrays to the given table, carrying over any values already known by id.
+     */
+    public void bindSplits(List<String> ids, List<String> names) {
+        Map<String, long[]> known = new HashMap<>(loadedSplits);
+        for (int i = 0; i < splitIds.length; i++) {
+            known.put(splitIds[i], new long[]{splitTimes[i], splitLrt[i]});
+        }
+        loadedSplits.clear();
+
+        splitIds = ids.toArray(new String[0]);
+        splitNames = names.toArray(new String[0]);
+        splitTimes = new long[splitIds.length];
+        splitLrt = new long[splitIds.length];
+        for (int i = 0; i < splitIds.length; i++) {
+            long[] values = known.get(splitIds[i]);
+            if (values != null) {
+                splitTimes[i] = values[0];
+                splitLrt[i] = values[1];
+            }
+        }
+    }
+
+    public void clearSplits() {
+        Arrays.fill(splitTimes, 0);
+        Arrays.fill(splitLrt, 0);
+        loadedSplits.clear();
+    }
+
+    public int getSplitCount() { return splitIds.length; }
+
+    public String getSplitId(int index) { return splitIds[index]; }
+
+    public long getSplitTime(int index) { return index < splitTimes.length ? splitTimes[index] : 0; }
+
+    public long getSplitLrt(int index) { return index < splitLrt.length ? splitLrt[index] : 0; }
+
+    public void setSplit(int index, long ticks, long lrtTicks) {
+        splitTimes[index] = ticks;
+        splitLrt[index] = lrtTicks;
     }
 
+    /** Split labels for the HUD: the last synced table on a client, the live table otherwise. */
+    public String[] getDisplaySplitNames() { return syncedSplitNames != null ? syncedSplitNames : splitNames; }
+
+    public long[] getDisplaySplitTimes() { return syncedSplitTimes != null ? syncedSplitTimes : splitTimes; }
+
+    public long[] getDisplaySplitLrt() { return syncedSplitLrt != null ? syncedSplitLrt : splitLrt; }
+
     public long getElapsedTime() {
         if (startTime <= 0) return 0;
         if (isTimerFrozen || isFailed || isVictorious) return frozenTime;
         return System.currentTimeMillis() - startTime;
     }
 
+    /**
+     * Client-side load-removed time in milliseconds, extrapolated from the last sync while the timer runs.
+     * Server code reads {@link #loadRemovedTime} directly.
+     */
+    public long getDisplayLoadRemovedTime() {
+        if (loadRemovedSyncedAt <= 0) return loadRemovedTime;
+        if (startTime <= 0 || isTimerFrozen || isFailed || isVictorious) return syncedLoadRemovedTime;
+        return syncedLoadRemovedTime + (System.currentTimeMillis() - loadRemovedSyncedAt);
+    }
+
     // --- [ NBT SYNCING ] ---
 
     public void writeNbt(NbtCompound nbt) {
@@ -90,13 +211,14 @@ public class GSRConfigWorld {
         nbt.putBoolean("isTimerFrozen", isTimerFrozen);
         nbt.putLong("frozenTime", frozenTime);
         nbt.putFloat("maxHearts", maxHearts);
+        nbt.putLong("loadRemovedTime", loadRemovedTime);
 
-        // Splits
-        nbt.putLong("timeNether", timeNether);
-        nbt.putLong("timeBastion", timeBastion);
-        nbt.putLong("timeFortress", timeFortress);
-        nbt.putLong("timeEnd", timeEnd);
-        nbt.putLong("timeDragon", timeDragon);
+        // Splits (names, then times in the same order)
+        NbtList names = new NbtList();
+        for (String name : splitNames) names.add(NbtString.of(name));
+        nbt.put("splitNames", names);
+        nbt.putLongArray("splitTimes", splitTimes.clone());
+        nbt.putLongArray("splitLrt", splitLrt.clone());
 
         // Excluded Players List
         NbtList excludedList = new NbtList();
@@ -122,13 +244,20 @@ public class GSRConfigWorld {
         this.isTimerFrozen = nbt.getBoolean("isTimerFrozen").orElse(false);
         this.frozenTime = nbt.getLong("frozenTime").orElse(0L);
         this.maxHearts = nbt.getFloat("maxHearts").orElse(10.0f);
+        this.syncedLoadRemovedTime = nbt.getLong("loadRemovedTime").orElse(0L);
+        this.loadRemovedSyncedAt = System.currentTimeMillis();
 
         // Splits
-        this.timeNether = nbt.getLong("timeNether").orElse(0L);
-        this.timeBastion = nbt.getLong("timeBastion").orElse(0L);
-        this.timeFortress = nbt.getLong("timeFortress").orElse(0L);
-        this.timeEnd = nbt.getLong("timeEnd").orElse(0L);
-        this.timeDragon = nbt.getLong("timeDragon").orElse(0L);
+        nbt.getList("splitNames").ifPresent(list -> {
+            String[] names = new String[list.size()];
+            for (int i = 0; i < list.size(); i++) names[i] = list.getString(i).orElse("");
+            this.syncedSplitNames = names;
+        });
+        long[] times = nbt.getLongArray("splitTimes").orElse(new long[0]);
+        long[] lrt = nbt.getLongArray("splitLrt").orElse(new long[0]);
+        int count = syncedSplitNames == null ? 0 : syncedSplitNames.length;
+        this.syncedSplitTimes = Arrays.copyOf(times, count);
+        this.syncedSplitLrt = Arrays.copyOf(lrt, count);
 
         // List Handling (Based on your NbtCompound.java line 400)
         nbt.getList("excludedPlayers").ifPresent(list -> {
@@ -178,11 +307,33 @@ public class GSRConfigWorld {
             config.isVictorious = Boolean.parseBoolean(p.getProperty("wasVictorious", "false"));
             config.isTimerFrozen = Boolean.parseBoolean(p.getProperty("isTimerFrozen", "false"));
             config.frozenTime = Long.parseLong(p.getProperty("frozenTime", "0"));
+            config.loadRemovedTime = Long.parseLong(p.getProperty("loadRemovedTime", "0"));
+            config.stallThresholdMs = Long.parseLong(p.getProperty("stallThresholdMs", "250"));
 
             config.groupDeathEnabled = Boolean.parseBoolean(p.getProperty("groupDeathEnabled", "true"));
             config.sharedHealthEnabled = Boolean.parseBoolean(p.getProperty("sharedHealthEnabled", "false"));
+            config.sharedHungerEnabled = Boolean.parseBoolean(p.getProperty("sharedHungerEnabled", "false"));
+            config.sharedEffectsEnabled = Boolean.parseBoolean(p.getProperty("sharedEffectsEnabled", "false"));
+            config.sharedInventoryEnabled = Boolean.parseBoolean(p.getProperty("sharedInventoryEnabled", "false"));
             config.maxHearts = Float.parseFloat(p.getProperty("maxHearts", "10.0"));
 
+            config.loadSheddingEnabled = Boolean.parseBoolean(p.getProperty("loadSheddingEnabled", "true"));
+            config.pregenRadius = Integer.parseInt(p.getProperty("pregenRadius", "3"));
+            config.spawnPregenRadius = Integer.parseInt(p.getProperty("spawnPregenRadius", "6"));
+            config.spawnPoolSize = Integer.parseInt(p.getProperty("spawnPoolSize", "0"));
+            config.spawnPoolRadius = Integer.parseInt(p.getProperty("spawnPoolRadius", "4"));
+            config.spawnPoolCursor = Integer.parseInt(p.getProperty("spawnPoolCursor", "0"));
+            config.historyKeepPbs = Boolean.parseBoolean(p.getProperty("historyKeepPbs", "true"));
+            config.historyKeepLast = Integer.parseInt(p.getProperty("historyKeepLast", "100"));
+            config.historyFailureDays = Integer.parseInt(p.getProperty("historyFailureDays", "0"));
+            config.historyMaxAgeDays = Integer.parseInt(p.getProperty("historyMaxAgeDays", "0"));
+            config.historyArchiveDays = Integer.parseInt(p.getProperty("historyArchiveDays", "7"));
+            config.awardPodiumSize = Integer.parseInt(p.getProperty("awardPodiumSize", "3"));
+            config.awardPodiumBroadcast = Boolean.parseBoolean(p.getProperty("awardPodiumBroadcast", "false"));
+            config.msptLight = Float.parseFloat(p.getProperty("msptLight", "35.0"));
+            config.msptHeavy = Float.parseFloat(p.getProperty("msptHeavy", "45.0"));
+            config.msptCritical = Float.parseFloat(p.getProperty("msptCritical", "60.0"));
+
             String excludedStr = p.getProperty("excludedPlayers", "");
             if (!excludedStr.isEmpty()) {
                 for (String s : excludedStr.split(",")) {
@@ -190,11 +341,19 @@ public class GSRConfigWorld {
                 }
             }
 
-            config.timeNether = Long.parseLong(p.getProperty("timeNether", "0"));
-            config.timeBastion = Long.parseLong(p.getProperty("timeBastion", "0"));
-            config.timeFortress = Long.parseLong(p.getProperty("timeFortress", "0"));
-            config.timeEnd = Long.parseLong(p.getProperty("timeEnd", "0"));
-            config.timeDragon = Long.parseLong(p.getProperty("timeDragon", "0"));
+            // Legacy fixed keys first, so split.<id> entries override them
+            LEGACY_SPLIT_KEYS.forEach((id, keys) -> {
+                long ticks = Long.parseLong(p.getProperty(keys[0], "0"));
+                long lrt = Long.parseLong(p.getProperty(keys[1], "0"));
+                if (ticks > 0) config.loadedSplits.put(id, new long[]{ticks, lrt});
+            });
+            for (String key : p.stringPropertyNames()) {
+                if (!key.startsWith("split.")) continue;
+                String id = key.substring("split.".length());
+                long ticks = Long.parseLong(p.getProperty(key, "0"));
+                long lrt = Long.parseLong(p.getProperty("splitLrt." + id, "0"));
+                config.loadedSplits.put(id, new long[]{ticks, lrt});
+            }
 
             config.fortressActive = Boolean.parseBoolean(p.getProperty("fortActive", "false"));
             config.fortressX = Integer.parseInt(p.getProperty("fortX", "0"));
@@ -225,17 +384,42 @@ public class GSRConfigWorld {
         p.setProperty("wasVictorious", String.valueOf(isVictorious));
         p.setProperty("isTimerFrozen", String.valueOf(isTimerFrozen));
         p.setProperty("frozenTime", String.valueOf(frozenTime));
+        p.setProperty("loadRemovedTime", String.valueOf(loadRemovedTime));
+        p.setProperty("stallThresholdMs", String.valueOf(stallThresholdMs));
 
         p.setProperty("groupDeathEnabled", String.valueOf(groupDeathEnabled));
         p.setProperty("sharedHealthEnabled", String.valueOf(sharedHealthEnabled));
+        p.setProperty("sharedHungerEnabled", String.valueOf(sharedHungerEnabled));
+        p.setProperty("sharedEffectsEnabled", String.valueOf(sharedEffectsEnabled));
+        p.setProperty("sharedInventoryEnabled", String.valueOf(sharedInventoryEnabled));
         p.setProperty("maxHearts", String.valueOf(maxHearts));
+        p.setProperty("loadSheddingEnabled", String.valueOf(loadSheddingEnabled));
+        p.setProperty("pregenRadius", String.valueOf(pregenRadius));
+        p.setProperty("spawnPregenRadius", String.valueOf(spawnPregenRadius));
+        p.setProperty("spawnPoolSize", String.valueOf(spawnPoolSize));
+        p.setProperty("spawnPoolRadius", String.valueOf(spawnPoolRadius));
+        p.setProperty("spawnPoolCursor", String.valueOf(spawnPoolCursor));
+        p.setProperty("historyKeepPbs", String.valueOf(historyKeepPbs));
+        p.setProperty("historyKeepLast", String.valueOf(historyKeepLast));
+        p.setProperty("historyFailureDays", String.valueOf(historyFailureDays));
+        p.setProperty("historyMaxAgeDays", String.valueOf(historyMaxAgeDays));
+        p.setProperty("historyArchiveDays", String.valueOf(historyArchiveDays));
+        p.setProperty("awardPodiumSize", String.valueOf(awardPodiumSize));
+        p.setProperty("awardPodiumBroadcast", String.valueOf(awardPodiumBroadcast));
+        p.setProperty("msptLight", String.valueOf(msptLight));
+        p.setProperty("msptHeavy", String.valueOf(msptHeavy));
+        p.setProperty("msptCritical", String.valueOf(msptCritical));
         p.setProperty("excludedPlayers", excludedPlayers.stream().map(UUID::toString).collect(Collectors.joining(",")));
 
-        p.setProperty("timeNether", String.valueOf(timeNether));
-        p.setProperty("timeBastion", String.valueOf(timeBastion));
-        p.setProperty("timeFortress", String.valueOf(timeFortress));
-        p.setProperty("timeEnd", String.valueOf(timeEnd));
-        p.setProperty("timeDragon", String.valueOf(timeDragon));
+        // Values not yet bound to a table are written back untouched
+        loadedSplits.forEach((id, values) -> {
+            p.setProperty("split." + id, String.valueOf(values[0]));
+            p.setProperty("splitLrt." + id, String.valueOf(values[1]));
+        });
+        for (int i = 0; i < splitIds.length; i++) {
+            p.setProperty("split." + splitIds[i], String.valueOf(splitTimes[i]));
+            p.setProperty("splitLrt." + splitIds[i], String.valueOf(splitLrt[i]));
+        }
 
         p.setProperty("fortActive", String.valueOf(fortressActive));
         p.setProperty("fortX", String.valueOf(fortressX));
@@ -0,0 +1,151 @@
+package net.berkle.groupspeedrun.history;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * End-of-run awards, computed from a stat snapshot: {@code columns[stat][player]} with one column per
+ * stat below and one entry per participant in join order.
+ *
+ * Not tied to Minecraft; {@code GSRRunHistoryManager} takes the snapshot on the server thread and hands it
+ * here, and the awards benchmark feeds it synthetic columns.
+ */
+public final class GSRAwardCalculator {
+    // Main stat awards in priority order; each one's column index is its position here
+    public static final String[] MAIN_STATS = {
+            "adc", "pearl_hoarder", "brew_master", "builder", "healer",
+            "killer", "pog_champ", "defender", "sightseer", "tank"
+    };
+    public static final int COL_ADC = 0;
+    public static final int COL_TANK = 9;
+    public static final int COL_DRAGON = MAIN_STATS.length;
+    public static final int COL_ADVANCEMENTS = MAIN_STATS.length + 1;
+    public static final int COL_INVENTORIES = MAIN_STATS.length + 2;
+    public static final int COLUMNS = MAIN_STATS.length + 3;
+
+    private GSRAwardCalculator() {}
+
+    public static boolean isRoast(String status) {
+        return status.equalsIgnoreCase("FAILURE") || status.equalsIgnoreCase("LIVE");
+    }
+
+    /**
+     * Determines which players earn which titles.
+     * Logic ensures a player generally only gets one "Main Stat" award.
+     *
+     * Works only on a stat snapshot ({@code columns[stat][player]}), so it is safe off the server thread;
+     * each award, and each podium, is a single scan of its column.
+     * @param podium Places ranked per category into {@code <key>_top}; 1 or less records winners only.
+     */
+    public static JsonObject compute(String[] names, double[][] columns, String status, String loserName, boolean dragonDamaged, int podium) {
+        JsonObject awards = new JsonObject();
+        boolean roast = isRoast(status);
+
+        int n = names.length;
+        boolean[] assigned = new boolean[n]; // Players who already received a high-priority award
+
+        // --- 1. PRIORITY #1: DRAGON WARRIOR ---
+        // This is calculated first as it is the most prestigious award.
+        if (dragonDamaged) {
+            setStat(names, columns[COL_DRAGON], "dragon_warrior", awards, assigned, true);
+        } else if (status.equalsIgnoreCase("SUCCESS")) {
+            awards.addProperty("dragon_warrior", "Environmental Damage");
+            awards.addProperty("dragon_warrior_v", 0.0);
+        }
+
+        // Exclude the player who failed the run (died) from receiving positive awards
+        for (int i = 0; i < n; i++) {
+            if (names[i].equalsIgnoreCase(loserName)) {
+                assigned[i] = true;
+                break;
+            }
+        }
+
+        // --- 2. ASSIGNMENT PASSES ---
+        // Pass 1: Assign awards to players who haven't received one yet (Unique Only)
+        for (int c = 0; c < MAIN_STATS.length; c++) setStat(names, columns[c], MAIN_STATS[c], awards, assigned, true);
+
+        // Pass 2: If a category is still empty (e.g., everyone already has an award), assign to the top player regardless
+        for (int c = 0; c < MAIN_STATS.length; c++) {
+            if (!awards.has(MAIN_STATS[c])) setStat(names, columns[c], MAIN_STATS[c], awards, assigned, false);
+        }
+
+        // --- 3. ROAST LOGIC ---
+        // These awards are typically given during a failure to highlight "less-than-optimal" playstyles.
+        if (roast) {
+            // Coward: The person who took the least amount of damage
+            setMinStat(names, columns[COL_TANK], "coward", awards);
+            // Good For Nothing: The person with the fewest advancements completed
+            setMinStat(names, columns[COL_ADVANCEMENTS], "good_for_nothing", awards);
+            // Shuffler: The person who spent the most time looking in chests/inventories
+            setStat(names, columns[COL_INVENTORIES], "shuffler", awards, assigned, false);
+            // Weakling: The person who dealt the least amount of total damage
+            setMinStat(names, columns[COL_ADC], "weakling", awards);
+        }
+
+        // --- 4. PODIUMS ---
+        // The full ranking of each category, regardless of who was awarded what above
+        if (podium > 1) {
+            if (dragonDamaged) setPodium(names, columns[COL_DRAGON], "dragon_warrior", awards, podium, false);
+            for (int c = 0; c < MAIN_STATS.length; c++) setPodium(names, columns[c], MAIN_STATS[c], awards, podium, false);
+            if (roast) {
+                setPodium(names, columns[COL_TANK], "coward", awards, podium, true);
+                setPodium(names, columns[COL_ADVANCEMENTS], "good_for_nothing", awards, podium, true);
+                setPodium(names, columns[COL_INVENTORIES], "shuffler", awards, podium, false);
+                setPodium(names, columns[COL_ADC], "weakling", awards, podium, true);
+            }
+        }
+
+        return awards;
+    }
+
+    /**
+     * Utility to find the player with the MAXIMUM value for a stat and add them to the JSON.
+     * Ties go to whoever joined the run first.
+     */
+    private static void setStat(String[] names, double[] column, String key, JsonObject awards, boolean[] assigned, boolean uniqueOnly) {
+        int best = -1;
+        for (int i = 0; i < column.length; i++) {
+            if (uniqueOnly && assigned[i]) continue; // Respect priority/uniqueness
+            if (best < 0 || column[i] > column[best]) best = i;
+        }
+        if (best >= 0 && column[best] > 0.001) { // Ensure the stat isn't empty/zero
+            awards.addProperty(key, names[best]);
+            awards.addProperty(key + "_v", column[best]);
+            assigned[best] = true;
+        }
+    }
+
+    /**
+     * Utility to find the player with the MINIMUM value for a stat. Used for "Roast" awards.
+     */
+    private static void setMinStat(String[] names, double[] column, String key, JsonObject awards) {
+        int best = -1;
+        for (int i = 0; i < column.length; i++) {
+            if (best < 0 || column[i] < column[best]) best = i;
+        }
+        if (best >= 0) {
+            awards.addProperty(key, names[best]);
+            awards.addProperty(key + "_v", column[best]);
+        }
+    }
+
+    /**
+     * Ranks the best {@code size} players of a stat into {@code key_top} as {@code [{player, value}]}, best first.
+     * {@link GSRTopK#select} keeps it to one pass over the column, and ties go to whoever joined first.
+     * Highest-first podiums leave out empty (zero) stats.
+     */
+    private static void setPodium(String[] names, double[] column, String key, JsonObject awards, int size, boolean lowest) {
+        int[] ranked = GSRTopK.select(column, size, lowest, i -> lowest || column[i] > 0.001);
+        if (ranked.length == 0) return;
+
+        JsonArray places = new JsonArray();
+        for (int i : ranked) {
+            JsonObject place = new JsonObject();
+            place.addProperty("player", names[i]);
+            place.addProperty("value", column[i]);
+            places.add(place);
+        }
+        awards.add(key + "_top", places);
+    }
+}
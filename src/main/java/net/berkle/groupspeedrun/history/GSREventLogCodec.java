@@ -0,0 +1,162 @@
+package net.berkle.groupspeedrun.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary format of the run event log.
+ *
+ * <pre>
+ * header: "GSRE" (4 bytes), version (1 byte)
+ * event:  type code (1 byte)
+ *         tick delta since the previous event (varint)
+ *         actor string index + 1, 0 for none (varint)
+ *         [label string index (varint)]       if the type has a label
+ *         numeric args (zigzag varints)       as many as the type declares
+ * DEFINE_STRING instead carries: index (varint), byte length (varint), UTF-8 bytes
+ * </pre>
+ *
+ * Encoding writes straight into a caller-provided buffer and never allocates.
+ */
+public final class GSREventLogCodec {
+    public static final byte[] MAGIC = {'G', 'S', 'R', 'E'};
+    public static final byte VERSION = 1;
+    public static final int HEADER_BYTES = MAGIC.length + 1;
+    // Longest fixed-size event: code, delta, actor, label, two args, at 10 bytes per varint
+    public static final int MAX_EVENT_BYTES = 1 + 5 * 10;
+    // Interned strings are cut to this many bytes
+    public static final int MAX_STRING_BYTES = 256;
+
+    private GSREventLogCodec() {}
+
+    /**
+     * One decoded event.
+     * @param tick Absolute run tick.
+     * @param actor Player name, or null.
+     * @param label Interned label, or null.
+     */
+    public record Event(long tick, GSREventType type, String actor, String label, long a, long b) {}
+
+    // --- [ ENCODING ] ---
+
+    public static void writeHeader(ByteBuffer out) {
+        out.put(MAGIC).put(VERSION);
+    }
+
+    public static void writeEvent(ByteBuffer out, GSREventType type, long tickDelta, int actorIndex, int labelIndex, long a, long b) {
+        out.put((byte) type.code);
+        writeVarLong(out, tickDelta);
+        writeVarLong(out, actorIndex + 1L);
+        if (type.hasLabel) writeVarLong(out, labelIndex);
+        if (type.numericArgs > 0) writeVarLong(out, zigzag(a));
+        if (type.numericArgs > 1) writeVarLong(out, zigzag(b));
+    }
+
+    public static void writeString(ByteBuffer out, int index, byte[] utf8) {
+        int length = Math.min(utf8.length, MAX_STRING_BYTES);
+        out.put((byte) GSREventType.DEFINE_STRING.code);
+        writeVarLong(out, index);
+        writeVarLong(out, length);
+        out.put(utf8, 0, length);
+    }
+
+    public static void writeVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // --- [ DECODING ] ---
+
+    /**
+     * Decodes a complete log. A truncated final event (crash mid-write) is ignored.
+     */
+    public static List<Event> decode(byte[] log) throws IOException {
+        List<Event> events = new ArrayList<>();
+        read(log, events);
+        return events;
+    }
+
+    /**
+     * Length of the log up to the end of its last complete event, so a tail torn by a crash can be cut off
+     * before more events are appended. 0 if not even the header is intact.
+     */
+    public static int validLength(byte[] log) {
+        try {
+            return read(log, null);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    // Decodes into events (null to only measure) and returns where the last complete event ends
+    private static int read(byte[] log, List<Event> events) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(log);
+        for (byte b : MAGIC) {
+            if (!in.hasRemaining() || in.get() != b) throw new IOException("Not a GSR event log");
+        }
+        if (!in.hasRemaining() || in.get() != VERSION) throw new IOException("Unsupported GSR event log version");
+
+        Map<Integer, String> strings = new HashMap<>();
+        int complete = in.position();
+        long tick = 0;
+        try {
+            while (in.hasRemaining()) {
+                int code = in.get() & 0xFF;
+                GSREventType type = GSREventType.fromCode(code);
+                if (type == null) throw new IOException("Unknown event code " + code);
+
+                if (type == GSREventType.DEFINE_STRING) {
+                    int index = (int) readVarLong(in);
+                    byte[] bytes = new byte[(int) readVarLong(in)];
+                    in.get(bytes);
+                    strings.put(index, new String(bytes, StandardCharsets.UTF_8));
+                    complete = in.position();
+                    continue;
+                }
+
+                tick += readVarLong(in);
+                long actor = readVarLong(in);
+                String label = type.hasLabel ? strings.get((int) readVarLong(in)) : null;
+                long a = type.numericArgs > 0 ? unzigzag(readVarLong(in)) : 0;
+                long b = type.numericArgs > 1 ? unzigzag(readVarLong(in)) : 0;
+                // A session restarts the clock at an absolute tick
+                if (type == GSREventType.SESSION) tick = a;
+
+                complete = in.position();
+                if (events != null) events.add(new Event(tick, type, actor == 0 ? null : strings.get((int) actor - 1), label, a, b));
+            }
+        } catch (java.nio.BufferUnderflowException e) {
+            // Torn tail
+        } catch (IOException e) {
+            // Only measuring: keep what precedes the garbage
+            if (events != null) throw e;
+        }
+        return complete;
+    }
+
+    private static long readVarLong(ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+}
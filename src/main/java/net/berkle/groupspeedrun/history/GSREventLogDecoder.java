@@ -0,0 +1,100 @@
+package net.berkle.groupspeedrun.history;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.berkle.groupspeedrun.util.GSRFormatUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Offline reader for run event logs. Prints one line per event, either from a stored run or from a raw
+ * {@code gsr_events.log} left by an unfinished run:
+ *
+ * <pre>
+ * java -cp groupspeedrun.jar:gson.jar net.berkle.groupspeedrun.history.GSREventLogDecoder GSR_History [runId]
+ * java -cp groupspeedrun.jar net.berkle.groupspeedrun.history.GSREventLogDecoder world/data/gsr_events.log
+ * </pre>
+ *
+ * Without a run id the latest stored run is printed. Stored runs are JSON, so that form needs the game's Gson
+ * jar next to the mod jar; the history is opened read-only.
+ */
+public final class GSREventLogDecoder {
+    public static final String PAYLOAD_FIELD = "events";
+
+    private GSREventLogDecoder() {}
+
+    /**
+     * Decodes the event log embedded in a stored run's payload.
+     * @return The events, or an empty list for runs recorded without a log.
+     */
+    public static List<GSREventLogCodec.Event> fromPayload(String payload) throws IOException {
+        JsonObject root = JsonParser.parseString(payload).getAsJsonObject();
+        if (!root.has(PAYLOAD_FIELD)) return List.of();
+        return GSREventLogCodec.decode(Base64.getDecoder().decode(root.get(PAYLOAD_FIELD).getAsString()));
+    }
+
+    /**
+     * One human-readable line for an event.
+     */
+    public static String describe(GSREventLogCodec.Event event) {
+        String who = event.actor() != null ? event.actor() + " " : "";
+        String what = switch (event.type()) {
+            case SESSION -> "server restarted, log resumed";
+            case RUN_START -> "run started";
+            case SPLIT -> "split " + event.label();
+            case DEATH -> "death: " + event.label();
+            case PAUSE -> "paused";
+            case RESUME -> "resumed";
+            case DAMAGE_SPIKE -> "took " + (event.a() / 10.0) + " damage (" + event.label() + ")";
+            case LOCATE -> event.label() + " located at " + event.a() + ", " + event.b();
+            case RUN_END -> event.a() == 1 ? "run completed" : "run failed";
+            case DEFINE_STRING -> "";
+        };
+        return GSRFormatUtil.formatTime(event.tick()) + "  " + who + what;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: GSREventLogDecoder <history dir> [runId] | <gsr_events.log>");
+            System.exit(2);
+        }
+
+        Path path = Path.of(args[0]);
+        List<GSREventLogCodec.Event> events;
+        if (Files.isDirectory(path)) {
+            try {
+                Class.forName("com.google.gson.JsonParser");
+            } catch (ClassNotFoundException e) {
+                System.err.println("Gson is not on the classpath; run with -cp <mod jar>:<gson jar>");
+                System.exit(2);
+            }
+            GSRHistoryStore store = GSRHistoryStore.openReadOnly(path);
+            List<GSRRunSummary> runs = store.all();
+            if (runs.isEmpty()) {
+                System.err.println("No runs stored in " + path);
+                System.exit(1);
+            }
+            GSRRunSummary run = runs.getLast();
+            if (args.length > 1) {
+                long id = Long.parseLong(args[1]);
+                run = runs.stream().filter(r -> r.id() == id).findFirst().orElse(null);
+                if (run == null) {
+                    System.err.println("No run with id " + id);
+                    System.exit(1);
+                }
+            }
+            System.out.println("Run #" + run.id() + " on " + run.world() + ": " + (run.success() ? "SUCCESS" : "FAILURE")
+                    + " in " + GSRFormatUtil.formatTime(run.finalTicks()));
+            events = fromPayload(store.readPayload(run));
+        } else {
+            events = GSREventLogCodec.decode(Files.readAllBytes(path));
+        }
+
+        if (events.isEmpty()) System.out.println("(no events recorded)");
+        for (GSREventLogCodec.Event event : events) System.out.println(describe(event));
+    }
+}
@@ -0,0 +1,48 @@
+package net.berkle.groupspeedrun.history;
+
+/**
+ * Event kinds in the run event log. The code is the byte written to the log, so existing codes
+ * must never change meaning; new kinds get new codes.
+ *
+ * Every event carries a tick delta and an interned actor (or none). {@code hasLabel} events also carry an
+ * interned string, followed by {@code numericArgs} zigzag-encoded numbers.
+ */
+public enum GSREventType {
+    /** Interns a string: index, then UTF-8 bytes. Used for player names and labels. */
+    DEFINE_STRING(0, false, 0),
+    /** Log opened or reopened after a restart. a = absolute run tick. */
+    SESSION(1, false, 1),
+    RUN_START(2, false, 0),
+    /** label = split id. */
+    SPLIT(3, true, 0),
+    /** actor = the player who died, label = death message. */
+    DEATH(4, true, 0),
+    PAUSE(5, false, 0),
+    RESUME(6, false, 0),
+    /** actor = the player hit, label = damage type, a = damage in tenths of a health point. */
+    DAMAGE_SPIKE(7, true, 1),
+    /** label = structure type, a = x, b = z. */
+    LOCATE(8, true, 2),
+    /** a = 1 for victory, 0 for failure. */
+    RUN_END(9, false, 1);
+
+    private static final GSREventType[] BY_CODE = new GSREventType[16];
+
+    static {
+        for (GSREventType type : values()) BY_CODE[type.code] = type;
+    }
+
+    public final int code;
+    public final boolean hasLabel;
+    public final int numericArgs;
+
+    GSREventType(int code, boolean hasLabel, int numericArgs) {
+        this.code = code;
+        this.hasLabel = hasLabel;
+        this.numericArgs = numericArgs;
+    }
+
+    public static GSREventType fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
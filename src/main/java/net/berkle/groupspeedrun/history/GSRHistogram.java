@@ -0,0 +1,134 @@
+package net.berkle.groupspeedrun.history;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Log-bucketed histogram of non-negative longs (tick counts), in the style of HDR histograms.
+ *
+ * Values below 64 get a bucket each; above that every power of two is split into 32 buckets, so any
+ * percentile is within about 3% of the true value. Recording is O(1), memory is a few KB at most and two
+ * histograms merge by adding their counts, so per-split distributions can be kept forever and combined freely.
+ */
+public final class GSRHistogram {
+    private static final int LINEAR = 64;
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private long[] counts = new long[0];
+    private long total = 0;
+    private long sum = 0;
+    private long min = Long.MAX_VALUE;
+    private long max = 0;
+
+    public void record(long value) {
+        if (value < 0) return;
+        int index = bucketOf(value);
+        if (index >= counts.length) counts = Arrays.copyOf(counts, index + 1);
+        counts[index]++;
+        total++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(GSRHistogram other) {
+        if (other.counts.length > counts.length) counts = Arrays.copyOf(counts, other.counts.length);
+        for (int i = 0; i < other.counts.length; i++) counts[i] += other.counts[i];
+        total += other.total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public GSRHistogram copy() {
+        GSRHistogram copy = new GSRHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    public double mean() {
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    public long min() {
+        return total == 0 ? 0 : min;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    /**
+     * The value at a percentile (0-100), as the midpoint of its bucket clamped to the recorded range.
+     */
+    public long percentile(double percentile) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long low = lowerBound(i);
+                long mid = low + (lowerBound(i + 1) - low) / 2;
+                return Math.max(min, Math.min(max, mid));
+            }
+        }
+        return max;
+    }
+
+    // --- [ BUCKETS ] ---
+
+    private static int bucketOf(long value) {
+        if (value < LINEAR) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - 6) * SUB_BUCKETS + sub;
+    }
+
+    private static long lowerBound(int index) {
+        if (index < LINEAR) return index;
+        int exponent = (index - LINEAR) / SUB_BUCKETS + 6;
+        int sub = (index - LINEAR) % SUB_BUCKETS;
+        return (1L << exponent) + ((long) sub << (exponent - SUB_BITS));
+    }
+
+    // --- [ SERIALIZATION ] ---
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeLong(total);
+        out.writeLong(sum);
+        out.writeLong(min);
+        out.writeLong(max);
+        int used = 0;
+        for (long count : counts) if (count > 0) used++;
+        // Sparse: most buckets of a split's distribution are empty
+        out.writeInt(used);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) continue;
+            out.writeShort(i);
+            out.writeLong(counts[i]);
+        }
+    }
+
+    public static GSRHistogram read(DataInputStream in) throws IOException {
+        GSRHistogram histogram = new GSRHistogram();
+        histogram.total = in.readLong();
+        histogram.sum = in.readLong();
+        histogram.min = in.readLong();
+        histogram.max = in.readLong();
+        int used = in.readInt();
+        for (int i = 0; i < used; i++) {
+            int index = in.readUnsignedShort();
+            if (index >= histogram.counts.length) histogram.counts = Arrays.copyOf(histogram.counts, index + 1);
+            histogram.counts[index] = in.readLong();
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,295 @@
+package net.berkle.groupspeedrun.history;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams the run history out as CSV or NDJSON for spreadsheets and scripts.
+ *
+ * Runs are read one at a time, each record walked with a streaming {@link JsonReader} (the embedded
+ * event log is skipped, never decoded) and written straight to the output, so memory stays flat no
+ * matter how much history there is.
+ *
+ * CSV is one row per value in long form, {@code run_id,timestamp,world,status,category,kind,name,player,value},
+ * where {@code kind} is {@code run} (final_ticks / final_lrt_ticks), {@code participant}, {@code split},
+ * {@code split_lrt}, {@code award} or {@code podium} (named {@code <award>#<place>}). NDJSON is one object per run.
+ *
+ * The mod jar does not bundle Gson; pass the copy under the game's {@code libraries} folder too. The store is
+ * opened read-only, so this can run against a live server's history.
+ *
+ * <pre>
+ * java -cp groupspeedrun.jar:gson.jar net.berkle.groupspeedrun.history.GSRHistoryExporter GSR_History csv [out.csv]
+ * </pre>
+ */
+public final class GSRHistoryExporter {
+    private static final String CSV_HEADER = "run_id,timestamp,world,status,category,kind,name,player,value";
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public String extension() {
+            return this == CSV ? "csv" : "ndjson";
+        }
+    }
+
+    /**
+     * Told after every run; {@code done == total} once the export is complete.
+     */
+    @FunctionalInterface
+    public interface Progress {
+        void update(int done, int total);
+    }
+
+    private GSRHistoryExporter() {}
+
+    /**
+     * Writes every run, oldest first. Unreadable records are skipped.
+     * @return The number of runs written.
+     */
+    public static int export(GSRHistoryStore store, Writer out, Format format, Progress progress) throws IOException {
+        List<GSRRunSummary> runs = store.all();
+        if (format == Format.CSV) out.write(CSV_HEADER + "\n");
+
+        int written = 0;
+        for (int i = 0; i < runs.size(); i++) {
+            GSRRunSummary run = runs.get(i);
+            Details details;
+            try {
+                details = read(store.readPayload(run));
+            } catch (Exception e) {
+                details = null;
+            }
+            if (details != null) {
+                if (format == Format.CSV) writeCsv(out, run, details);
+                else writeJson(out, run, details);
+                written++;
+            }
+            progress.update(i + 1, runs.size());
+        }
+        out.flush();
+        return written;
+    }
+
+    // --- [ READING ] ---
+
+    // The per-run parts of a record that the index does not hold; bounded by one run's size
+    private record Details(Map<String, long[]> splits, Map<String, String> awardPlayers, Map<String, Double> awardValues,
+                           Map<String, List<Place>> podiums) {}
+
+    private record Place(String player, double value) {}
+
+    private static Details read(String payload) throws IOException {
+        Map<String, long[]> splits = new LinkedHashMap<>();
+        Map<String, String> players = new LinkedHashMap<>();
+        Map<String, Double> values = new LinkedHashMap<>();
+        Map<String, List<Place>> podiums = new LinkedHashMap<>();
+
+        try (JsonReader reader = new JsonReader(new StringReader(payload))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "splits" -> {
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            String id = reader.nextName();
+                            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                                reader.skipValue();
+                                continue;
+                            }
+                            long[] times = new long[2];
+                            reader.beginObject();
+                            while (reader.hasNext()) {
+                                switch (reader.nextName()) {
+                                    case "ticks" -> times[0] = reader.nextLong();
+                                    case "lrt_ticks" -> times[1] = reader.nextLong();
+                                    default -> reader.skipValue();
+                                }
+                            }
+                            reader.endObject();
+                            splits.put(id, times);
+                        }
+                        reader.endObject();
+                    }
+                    case "awards" -> {
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            String key = reader.nextName();
+                            JsonToken token = reader.peek();
+                            if (key.endsWith("_v") && token == JsonToken.NUMBER) {
+                                values.put(key.substring(0, key.length() - 2), reader.nextDouble());
+                            } else if (key.endsWith("_top") && token == JsonToken.BEGIN_ARRAY) {
+                                podiums.put(key.substring(0, key.length() - 4), readPodium(reader));
+                            } else if (token == JsonToken.STRING) {
+                                players.put(key, reader.nextString());
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                    }
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        return new Details(splits, players, values, podiums);
+    }
+
+    private static List<Place> readPodium(JsonReader reader) throws IOException {
+        List<Place> places = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String player = "";
+            double value = 0;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "player" -> player = reader.nextString();
+                    case "value" -> value = reader.nextDouble();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            places.add(new Place(player, value));
+        }
+        reader.endArray();
+        return places;
+    }
+
+    // --- [ CSV ] ---
+
+    private static void writeCsv(Writer out, GSRRunSummary run, Details details) throws IOException {
+        String prefix = run.id() + "," + run.timestamp() + "," + csv(run.world()) + "," + (run.success() ? "SUCCESS" : "FAILURE")
+                + "," + csv(run.category()) + ",";
+        row(out, prefix, "run", "final_ticks", "", String.valueOf(run.finalTicks()));
+        row(out, prefix, "run", "final_lrt_ticks", "", String.valueOf(run.finalLrtTicks()));
+        for (String player : run.participants()) row(out, prefix, "participant", "", player, "");
+        for (Map.Entry<String, long[]> split : details.splits().entrySet()) {
+            if (split.getValue()[0] <= 0) continue;
+            row(out, prefix, "split", split.getKey(), "", String.valueOf(split.getValue()[0]));
+            row(out, prefix, "split_lrt", split.getKey(), "", String.valueOf(split.getValue()[1]));
+        }
+        for (Map.Entry<String, String> award : details.awardPlayers().entrySet()) {
+            Double value = details.awardValues().get(award.getKey());
+            row(out, prefix, "award", award.getKey(), award.getValue(), value == null ? "" : String.valueOf(value));
+        }
+        for (Map.Entry<String, List<Place>> podium : details.podiums().entrySet()) {
+            List<Place> places = podium.getValue();
+            for (int i = 0; i < places.size(); i++) {
+                row(out, prefix, "podium", podium.getKey() + "#" + (i + 1), places.get(i).player(), String.valueOf(places.get(i).value()));
+            }
+        }
+    }
+
+    private static void row(Writer out, String prefix, String kind, String name, String player, String value) throws IOException {
+        out.write(prefix);
+        out.write(kind);
+        out.write(',');
+        out.write(csv(name));
+        out.write(',');
+        out.write(csv(player));
+        out.write(',');
+        out.write(value);
+        out.write('\n');
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // --- [ NDJSON ] ---
+
+    private static void writeJson(Writer out, GSRRunSummary run, Details details) throws IOException {
+        // Not closed: that would close the shared output
+        JsonWriter json = new JsonWriter(out);
+        json.beginObject();
+        json.name("id").value(run.id());
+        json.name("timestamp").value(run.timestamp());
+        json.name("world").value(run.world());
+        json.name("status").value(run.success() ? "SUCCESS" : "FAILURE");
+        json.name("category").value(run.category());
+        json.name("final_ticks").value(run.finalTicks());
+        json.name("final_lrt_ticks").value(run.finalLrtTicks());
+        json.name("participants").beginArray();
+        for (String player : run.participants()) json.value(player);
+        json.endArray();
+        json.name("splits").beginObject();
+        for (Map.Entry<String, long[]> split : details.splits().entrySet()) {
+            json.name(split.getKey()).beginObject();
+            json.name("ticks").value(split.getValue()[0]);
+            json.name("lrt_ticks").value(split.getValue()[1]);
+            json.endObject();
+        }
+        json.endObject();
+        json.name("awards").beginObject();
+        for (Map.Entry<String, String> award : details.awardPlayers().entrySet()) {
+            json.name(award.getKey()).beginObject();
+            json.name("player").value(award.getValue());
+            Double value = details.awardValues().get(award.getKey());
+            if (value != null) json.name("value").value(value);
+            json.endObject();
+        }
+        json.endObject();
+        json.name("podiums").beginObject();
+        for (Map.Entry<String, List<Place>> podium : details.podiums().entrySet()) {
+            json.name(podium.getKey()).beginArray();
+            for (Place place : podium.getValue()) {
+                json.beginObject();
+                json.name("player").value(place.player());
+                json.name("value").value(place.value());
+                json.endObject();
+            }
+            json.endArray();
+        }
+        json.endObject();
+        json.endObject();
+        json.flush();
+        out.write('\n');
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: GSRHistoryExporter <history dir> <csv|ndjson> [output file]");
+            System.exit(2);
+        }
+        try {
+            Class.forName("com.google.gson.stream.JsonReader");
+        } catch (ClassNotFoundException e) {
+            System.err.println("Gson is not on the classpath; run with -cp <mod jar>:<gson jar>");
+            System.exit(2);
+        }
+        GSRHistoryStore store = GSRHistoryStore.openReadOnly(Path.of(args[0]));
+        Format format = Format.valueOf(args[1].toUpperCase(Locale.ROOT));
+
+        int[] lastDecile = {-1};
+        Progress progress = (done, total) -> {
+            int decile = done * 10 / total;
+            if (decile != lastDecile[0]) {
+                lastDecile[0] = decile;
+                System.err.println("Exported " + done + "/" + total + " runs");
+            }
+        };
+        Writer out = args.length > 2
+                ? Files.newBufferedWriter(Path.of(args[2]), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        try (out) {
+            export(store, out, format, progress);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package net.berkle.groupspeedrun.history;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * All-time distributions over the run history, kept as {@link GSRHistogram}s so they can be updated per
+ * run and queried without rescanning history.
+ *
+ * Per split layout (category): attempts, and a histogram of completed-run times. Per split in that layout:
+ * a histogram of the times it was reached at (its count is how many runs reached it, which gives the
+ * success rate of each segment). Per player: runs, and a histogram of their completed-run times.
+ *
+ * Runs dropped by compaction stay counted; these are cumulative statistics, not a view of the store.
+ * Persisted to {@code stats.bin} in the history directory together with the id of the last run folded in.
+ */
+public final class GSRHistoryStats {
+    public static final String FILE = "stats.bin";
+    private static final int MAGIC = 0x47535253; // "GSRS"
+    private static final int VERSION = 1;
+
+    /**
+     * Distributions for one split layout.
+     */
+    public static final class Category {
+        private long attempts;
+        // Final times of completed runs
+        private final GSRHistogram finals;
+        // Reach times per split id
+        private final Map<String, GSRHistogram> splits;
+
+        private Category(long attempts, GSRHistogram finals, Map<String, GSRHistogram> splits) {
+            this.attempts = attempts;
+            this.finals = finals;
+            this.splits = splits;
+        }
+
+        public long attempts() {
+            return attempts;
+        }
+
+        public GSRHistogram finals() {
+            return finals;
+        }
+
+        /**
+         * Reach times of one split; empty if it was never reached.
+         */
+        public GSRHistogram split(String id) {
+            return splits.getOrDefault(id, EMPTY);
+        }
+
+        private Category copy() {
+            Map<String, GSRHistogram> splitCopies = new HashMap<>();
+            splits.forEach((id, histogram) -> splitCopies.put(id, histogram.copy()));
+            return new Category(attempts, finals.copy(), splitCopies);
+        }
+    }
+
+    /**
+     * Totals for one player.
+     */
+    public static final class Player {
+        private final String name;
+        private long runs;
+        // Final times of the completed runs they took part in
+        private final GSRHistogram wins;
+
+        private Player(String name, long runs, GSRHistogram wins) {
+            this.name = name;
+            this.runs = runs;
+            this.wins = wins;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long runs() {
+            return runs;
+        }
+
+        public GSRHistogram wins() {
+            return wins;
+        }
+
+        private Player copy() {
+            return new Player(name, runs, wins.copy());
+        }
+    }
+
+    private static final GSRHistogram EMPTY = new GSRHistogram();
+
+    private final Map<String, Category> categories = new HashMap<>();
+    // Keyed by lower-case name
+    private final Map<String, Player> players = new HashMap<>();
+    private long lastRunId = -1;
+
+    /**
+     * Folds one run in. O(splits + participants).
+     * @param splitTicks Reach time per split id; splits not reached may be missing or 0.
+     */
+    public void accept(GSRRunSummary run, Map<String, Long> splitTicks) {
+        if (run.id() <= lastRunId) return;
+        lastRunId = run.id();
+
+        Category category = categories.computeIfAbsent(run.category(), c -> new Category(0, new GSRHistogram(), new HashMap<>()));
+        category.attempts++;
+        if (run.success()) category.finals.record(run.finalTicks());
+        splitTicks.forEach((id, ticks) -> {
+            if (ticks > 0) category.splits.computeIfAbsent(id, s -> new GSRHistogram()).record(ticks);
+        });
+
+        for (String name : run.participants()) {
+            Player player = players.computeIfAbsent(name.toLowerCase(Locale.ROOT), n -> new Player(name, 0, new GSRHistogram()));
+            player.runs++;
+            if (run.success()) player.wins.record(run.finalTicks());
+        }
+    }
+
+    /**
+     * Id of the newest run already folded in; -1 if none.
+     */
+    public long lastRunId() {
+        return lastRunId;
+    }
+
+    public Category category(String category) {
+        return categories.get(category);
+    }
+
+    /**
+     * Attempts per category, sorted by category.
+     */
+    public Map<String, Long> attemptsByCategory() {
+        Map<String, Long> result = new TreeMap<>();
+        categories.forEach((key, value) -> result.put(key, value.attempts()));
+        return result;
+    }
+
+    public Player player(String name) {
+        return players.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Deep copy, safe to read on another thread while this one keeps changing.
+     */
+    public GSRHistoryStats copy() {
+        GSRHistoryStats copy = new GSRHistoryStats();
+        categories.forEach((key, value) -> copy.categories.put(key, value.copy()));
+        players.forEach((key, value) -> copy.players.put(key, value.copy()));
+        copy.lastRunId = lastRunId;
+        return copy;
+    }
+
+    // --- [ PERSISTENCE ] ---
+
+    /**
+     * Loads the statistics saved in {@code dir}; empty if there are none or they are unreadable.
+     */
+    public static GSRHistoryStats load(Path dir) {
+        GSRHistoryStats stats = new GSRHistoryStats();
+        Path file = dir.resolve(FILE);
+        if (!Files.exists(file)) return stats;
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return stats;
+            stats.lastRunId = in.readLong();
+            int categoryCount = in.readInt();
+            for (int i = 0; i < categoryCount; i++) {
+                String key = in.readUTF();
+                long attempts = in.readLong();
+                GSRHistogram finals = GSRHistogram.read(in);
+                Map<String, GSRHistogram> splits = new HashMap<>();
+                int splitCount = in.readInt();
+                for (int j = 0; j < splitCount; j++) splits.put(in.readUTF(), GSRHistogram.read(in));
+                stats.categories.put(key, new Category(attempts, finals, splits));
+            }
+            int playerCount = in.readInt();
+            for (int i = 0; i < playerCount; i++) {
+                String name = in.readUTF();
+                long runs = in.readLong();
+                stats.players.put(name.toLowerCase(Locale.ROOT), new Player(name, runs, GSRHistogram.read(in)));
+            }
+            return stats;
+        } catch (IOException e) {
+            // Rebuilt from history by the caller
+            return new GSRHistoryStats();
+        }
+    }
+
+    /**
+     * Writes the statistics to {@code dir}, replacing the previous file atomically.
+     */
+    public void save(Path dir) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(lastRunId);
+            out.writeInt(categories.size());
+            for (Map.Entry<String, Category> entry : categories.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().attempts);
+                entry.getValue().finals.write(out);
+                out.writeInt(entry.getValue().splits.size());
+                for (Map.Entry<String, GSRHistogram> split : entry.getValue().splits.entrySet()) {
+                    out.writeUTF(split.getKey());
+                    split.getValue().write(out);
+                }
+            }
+            out.writeInt(players.size());
+            for (Player player : players.values()) {
+                out.writeUTF(player.name);
+                out.writeLong(player.runs);
+                player.wins.write(out);
+            }
+        }
+        Path temp = dir.resolve(FILE + ".tmp");
+        Files.write(temp, bytes.toByteArray());
+        Files.move(temp, dir.resolve(FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
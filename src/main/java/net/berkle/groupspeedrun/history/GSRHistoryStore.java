@@ -0,0 +1,588 @@
+package net.berkle.groupspeedrun.history;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Append-only run history.
+ *
+ * Records go into numbered segment files ({@code segment-00000.dat}, ...), each framed as
+ * {@code [int length][UTF-8 JSON]}. {@link #compact} later drops runs the retention policy no longer
+ * wants and moves older ones into Deflater-compressed archives ({@code archive-00000.gsa}), see
+ * {@link #writeArchive} for their layout. A separate {@code index.bin} holds one compact entry per run
+ * (world, outcome, time, participants and the record's position), loaded fully into memory on open.
+ * Its header also stores the next run id, so ids stay unique after compaction drops the newest runs.
+ * Queries run against the in-memory index; a record's payload is read with a single positional read
+ * only when asked for.
+ *
+ * Writes go to the segment first and the index second, so a crash can at worst leave an unindexed
+ * record behind; a torn index tail is truncated on the next open. {@link #openReadOnly} skips that repair
+ * (and the temp cleanup) and just ignores the tail.
+ *
+ * Not tied to Minecraft, so the offline tools can open the same directory.
+ */
+public final class GSRHistoryStore {
+    public static final String INDEX_FILE = "index.bin";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final String ARCHIVE_PREFIX = "archive-";
+    private static final String ARCHIVE_SUFFIX = ".gsa";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int ARCHIVE_MAGIC = 0x47535241; // "GSRA"
+    private static final int ARCHIVE_VERSION = 1;
+    // Records per archive file; keeps any one rewrite small
+    private static final int ARCHIVE_RECORDS = 1024;
+    private static final int MAGIC = 0x47535248; // "GSRH"
+    // Version 1 headers had no next id; they are still read and are rewritten as version 2 on compaction
+    private static final int LEGACY_VERSION = 1;
+    private static final int VERSION = 2;
+    private static final int LEGACY_HEADER_BYTES = 8;
+    private static final int HEADER_BYTES = 16;
+    // A new segment is started once the current one reaches this size
+    private static final long SEGMENT_LIMIT = 4L * 1024 * 1024;
+
+    private final Path dir;
+    // Opened by an offline tool next to a possibly running server: never modify the files
+    private final boolean readOnly;
+    // Append order (= id order)
+    private final List<GSRRunSummary> entries = new ArrayList<>();
+    // Same entries sorted by timestamp, for range queries
+    private final List<GSRRunSummary> byTime = new ArrayList<>();
+    private final Map<String, List<GSRRunSummary>> byWorld = new HashMap<>();
+    private final Map<String, List<GSRRunSummary>> byParticipant = new HashMap<>();
+    private int currentSegment = 0;
+    private long nextId = 0;
+
+    /**
+     * Outcome of one {@link #compact} pass.
+     * @param bytesBefore Size of the store's files before the pass.
+     * @param bytesAfter Size of the store's files after the pass.
+     */
+    public record CompactionResult(int dropped, int archived, long bytesBefore, long bytesAfter) {}
+
+    private GSRHistoryStore(Path dir, boolean readOnly) {
+        this.dir = dir;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Opens (or creates) the store in {@code dir} and loads its index.
+     */
+    public static GSRHistoryStore open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        // Leftovers of a compaction that was interrupted before its index swap
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + TEMP_SUFFIX)) {
+            for (Path path : stream) Files.deleteIfExists(path);
+        }
+        GSRHistoryStore store = new GSRHistoryStore(dir, false);
+        store.loadIndex();
+        return store;
+    }
+
+    /**
+     * Opens an existing store for reading only, as the offline tools do while the server may still be
+     * writing to it. Leaves temp files and a torn index tail alone; appends and compaction are refused.
+     */
+    public static GSRHistoryStore openReadOnly(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) throw new NoSuchFileException(dir.toString());
+        GSRHistoryStore store = new GSRHistoryStore(dir, true);
+        store.loadIndex();
+        return store;
+    }
+
+    public Path directory() {
+        return dir;
+    }
+
+    // --- [ WRITING ] ---
+
+    /**
+     * Appends one run and returns its index entry.
+     */
+    public synchronized GSRRunSummary append(GSRRunRecord record) throws IOException {
+        checkWritable();
+        byte[] payload = record.payload().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer frame = ByteBuffer.allocate(4 + payload.length);
+        frame.putInt(payload.length).put(payload).flip();
+
+        Path segment = segmentPath(currentSegment);
+        if (Files.exists(segment) && Files.size(segment) >= SEGMENT_LIMIT) segment = segmentPath(++currentSegment);
+
+        long offset;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            offset = channel.size();
+            channel.position(offset);
+            while (frame.hasRemaining()) channel.write(frame);
+            channel.force(false);
+        }
+
+        GSRRunSummary summary = new GSRRunSummary(nextId, record.world(), record.success(), record.timestamp(),
+                record.finalTicks(), record.finalLrtTicks(), record.category(), List.copyOf(record.participants()),
+                currentSegment, offset, 4 + payload.length);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeEntry(out, summary);
+        }
+        Path index = dir.resolve(INDEX_FILE);
+        if (!Files.exists(index)) writeHeader(index, nextId);
+        Files.write(index, bytes.toByteArray(), StandardOpenOption.APPEND);
+
+        add(summary);
+        return summary;
+    }
+
+    // --- [ QUERIES ] ---
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Every run, oldest first.
+     */
+    public synchronized List<GSRRunSummary> all() {
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * Runs finished in {@code [from, to)} (epoch milliseconds) that match the filter, oldest first.
+     */
+    public synchronized List<GSRRunSummary> range(long from, long to, Predicate<GSRRunSummary> filter) {
+        List<GSRRunSummary> result = new ArrayList<>();
+        for (int i = firstAtOrAfter(from); i < byTime.size(); i++) {
+            GSRRunSummary summary = byTime.get(i);
+            if (summary.timestamp() >= to) break;
+            if (filter.test(summary)) result.add(summary);
+        }
+        return result;
+    }
+
+    /**
+     * The {@code k} best runs under {@code order} (smallest first) among those matching the filter.
+     * Uses a bounded heap, so the cost is O(n log k) and nothing but the index is touched.
+     */
+    public synchronized List<GSRRunSummary> topK(int k, Comparator<GSRRunSummary> order, Predicate<GSRRunSummary> filter) {
+        return topK(entries, k, order, filter);
+    }
+
+    public synchronized List<GSRRunSummary> forWorld(String world) {
+        return new ArrayList<>(byWorld.getOrDefault(world, List.of()));
+    }
+
+    public synchronized List<GSRRunSummary> forParticipant(String name) {
+        return new ArrayList<>(byParticipant.getOrDefault(name.toLowerCase(Locale.ROOT), List.of()));
+    }
+
+    /**
+     * Bounded-heap selection over any candidate list.
+     */
+    public static List<GSRRunSummary> topK(List<GSRRunSummary> candidates, int k, Comparator<GSRRunSummary> order, Predicate<GSRRunSummary> filter) {
+        if (k <= 0) return new ArrayList<>();
+        // Max-heap of the best k seen so far: the root is the worst of them
+        PriorityQueue<GSRRunSummary> heap = new PriorityQueue<>(k + 1, order.reversed());
+        for (GSRRunSummary summary : candidates) {
+            if (!filter.test(summary)) continue;
+            if (heap.size() < k) {
+                heap.add(summary);
+            } else if (order.compare(summary, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(summary);
+            }
+        }
+        List<GSRRunSummary> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+
+    /**
+     * Reads the full JSON record of one run.
+     */
+    public String readPayload(GSRRunSummary summary) throws IOException {
+        if (summary.archived()) {
+            byte[] block = readBlock(archivePath(-summary.segment() - 1), summary);
+            Inflater inflater = new Inflater();
+            try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(block), inflater)) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } finally {
+                inflater.end();
+            }
+        }
+        ByteBuffer frame = ByteBuffer.wrap(readBlock(segmentPath(summary.segment()), summary));
+        int length = frame.getInt();
+        return new String(frame.array(), 4, length, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBlock(Path file, GSRRunSummary summary) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer block = ByteBuffer.allocate(summary.length());
+            long position = summary.offset();
+            while (block.hasRemaining()) {
+                int read = channel.read(block, position);
+                if (read < 0) throw new EOFException("Truncated history record " + summary.id());
+                position += read;
+            }
+            return block.array();
+        }
+    }
+
+    // --- [ COMPACTION ] ---
+
+    /**
+     * Applies the retention policy: drops expired runs, moves older survivors into compressed archives,
+     * rewrites the index and deletes files nothing references any more.
+     *
+     * Must be called from the thread that appends. Records are read and compressed without holding the
+     * store's lock, so concurrent queries only wait for the final index swap. The new archives and index
+     * are complete on disk before anything old is deleted, so an interruption loses nothing.
+     */
+    public CompactionResult compact(GSRRetentionPolicy policy, long now) throws IOException {
+        checkWritable();
+        List<GSRRunSummary> runs = all();
+        long bytesBefore = storeBytes();
+        Set<Long> keep = policy.protectedIds(runs);
+
+        List<GSRRunSummary> survivors = new ArrayList<>();
+        Set<Integer> dirtyArchives = new HashSet<>();
+        int dropped = 0;
+        for (GSRRunSummary run : runs) {
+            if (!keep.contains(run.id()) && policy.expired(run, now)) {
+                dropped++;
+                if (run.archived()) dirtyArchives.add(run.segment());
+            } else {
+                survivors.add(run);
+            }
+        }
+
+        // Newly archivable runs, plus the survivors of any archive that lost records
+        List<GSRRunSummary> toArchive = new ArrayList<>();
+        int archived = 0;
+        for (GSRRunSummary run : survivors) {
+            if (policy.archivable(run, now)) {
+                toArchive.add(run);
+                archived++;
+            } else if (run.archived() && dirtyArchives.contains(run.segment())) {
+                toArchive.add(run);
+            }
+        }
+        if (dropped == 0 && toArchive.isEmpty()) return new CompactionResult(0, 0, bytesBefore, bytesBefore);
+
+        Map<Long, GSRRunSummary> moved = new HashMap<>();
+        int archive = highestArchive() + 1;
+        for (int from = 0; from < toArchive.size(); from += ARCHIVE_RECORDS) {
+            List<GSRRunSummary> batch = toArchive.subList(from, Math.min(toArchive.size(), from + ARCHIVE_RECORDS));
+            for (GSRRunSummary run : writeArchive(archive++, batch)) moved.put(run.id(), run);
+        }
+
+        List<GSRRunSummary> next = new ArrayList<>(survivors.size());
+        for (GSRRunSummary run : survivors) next.add(moved.getOrDefault(run.id(), run));
+
+        synchronized (this) {
+            Path temp = dir.resolve(INDEX_FILE + TEMP_SUFFIX);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                // Keeps ids of dropped runs from being handed out again
+                writeHeader(out, nextId);
+                for (GSRRunSummary run : next) writeEntry(out, run);
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+                while (buffer.hasRemaining()) channel.write(buffer);
+                channel.force(true);
+            }
+            Files.move(temp, dir.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            entries.clear();
+            byTime.clear();
+            byWorld.clear();
+            byParticipant.clear();
+            for (GSRRunSummary run : next) add(run);
+        }
+
+        deleteUnreferenced();
+        return new CompactionResult(dropped, archived, bytesBefore, storeBytes());
+    }
+
+    /**
+     * Writes one archive and returns the runs at their new positions.
+     *
+     * <pre>
+     * header: magic "GSRA" (int), version (int), record count (int)
+     * table:  per record: id (long), offset (long), compressed length (int), raw length (int)
+     * blocks: per record: the UTF-8 JSON, Deflater-compressed on its own
+     * </pre>
+     *
+     * The table makes the archive readable without the index; every block can be inflated alone, so a
+     * single record costs one positional read.
+     */
+    private List<GSRRunSummary> writeArchive(int archive, List<GSRRunSummary> runs) throws IOException {
+        List<byte[]> blocks = new ArrayList<>(runs.size());
+        int[] rawLengths = new int[runs.size()];
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            for (int i = 0; i < runs.size(); i++) {
+                byte[] raw = readPayload(runs.get(i)).getBytes(StandardCharsets.UTF_8);
+                rawLengths[i] = raw.length;
+                deflater.reset();
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4 + 64);
+                try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+                    out.write(raw);
+                }
+                blocks.add(compressed.toByteArray());
+            }
+        } finally {
+            deflater.end();
+        }
+
+        List<GSRRunSummary> placed = new ArrayList<>(runs.size());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(ARCHIVE_MAGIC);
+            out.writeInt(ARCHIVE_VERSION);
+            out.writeInt(runs.size());
+            long offset = 12L + 24L * runs.size();
+            for (int i = 0; i < runs.size(); i++) {
+                int length = blocks.get(i).length;
+                out.writeLong(runs.get(i).id());
+                out.writeLong(offset);
+                out.writeInt(length);
+                out.writeInt(rawLengths[i]);
+                placed.add(runs.get(i).movedTo(-archive - 1, offset, length));
+                offset += length;
+            }
+            for (byte[] block : blocks) out.write(block);
+        }
+
+        Path target = archivePath(archive);
+        Path temp = dir.resolve(target.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        return placed;
+    }
+
+    // Segments and archives no index entry points at. The current segment goes too if empty; append recreates it.
+    private void deleteUnreferenced() throws IOException {
+        Set<Integer> referenced = new HashSet<>();
+        for (GSRRunSummary run : all()) referenced.add(run.segment());
+        for (Path path : listFiles(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            int number = fileNumber(path, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+            if (number >= 0 && !referenced.contains(number)) Files.deleteIfExists(path);
+        }
+        for (Path path : listFiles(ARCHIVE_PREFIX, ARCHIVE_SUFFIX)) {
+            int number = fileNumber(path, ARCHIVE_PREFIX, ARCHIVE_SUFFIX);
+            if (number >= 0 && !referenced.contains(-number - 1)) Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Total size of the index, segments and archives, in bytes.
+     */
+    public long storeBytes() throws IOException {
+        long total = 0;
+        Path index = dir.resolve(INDEX_FILE);
+        if (Files.exists(index)) total += Files.size(index);
+        for (Path path : listFiles(SEGMENT_PREFIX, SEGMENT_SUFFIX)) total += Files.size(path);
+        for (Path path : listFiles(ARCHIVE_PREFIX, ARCHIVE_SUFFIX)) total += Files.size(path);
+        return total;
+    }
+
+    // --- [ INDEX ] ---
+
+    private void loadIndex() throws IOException {
+        currentSegment = highestSegment();
+        Path index = dir.resolve(INDEX_FILE);
+        if (!Files.exists(index)) return;
+
+        byte[] bytes = Files.readAllBytes(index);
+        int version = bytes.length < LEGACY_HEADER_BYTES ? VERSION : ByteBuffer.wrap(bytes).getInt(4);
+        int headerBytes = version == LEGACY_VERSION ? LEGACY_HEADER_BYTES : HEADER_BYTES;
+        if (bytes.length < headerBytes) {
+            // Crashed before the header was complete; nothing was indexed yet
+            if (!readOnly) Files.delete(index);
+            return;
+        }
+        long validBytes = headerBytes;
+        Map<Integer, Long> segmentSizes = new HashMap<>();
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readInt() != MAGIC || (version != VERSION && version != LEGACY_VERSION)) {
+                throw new IOException("Unrecognized history index " + index);
+            }
+            in.readInt();
+            if (version == VERSION) nextId = in.readLong();
+            while (in.available() > 0) {
+                GSRRunSummary summary = readEntry(in);
+                long segmentSize = segmentSizes.computeIfAbsent(summary.segment(), this::fileSize);
+                // Index entry written but its record is missing: stop here and drop the rest
+                if (summary.offset() + summary.length() > segmentSize) break;
+                add(summary);
+                validBytes = bytes.length - in.available();
+            }
+        } catch (EOFException e) {
+            // Torn tail from an interrupted append
+        }
+
+        if (validBytes < bytes.length && !readOnly) {
+            try (FileChannel channel = FileChannel.open(index, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+            }
+        }
+        currentSegment = Math.max(currentSegment, entries.isEmpty() ? 0 : entries.get(entries.size() - 1).segment());
+        for (GSRRunSummary summary : entries) nextId = Math.max(nextId, summary.id() + 1);
+    }
+
+    private void add(GSRRunSummary summary) {
+        entries.add(summary);
+        nextId = Math.max(nextId, summary.id() + 1);
+        int at = firstAtOrAfter(summary.timestamp() + 1);
+        byTime.add(at, summary);
+        byWorld.computeIfAbsent(summary.world(), w -> new ArrayList<>()).add(summary);
+        for (String participant : summary.participants()) {
+            byParticipant.computeIfAbsent(participant.toLowerCase(Locale.ROOT), p -> new ArrayList<>()).add(summary);
+        }
+    }
+
+    // First position in byTime whose timestamp is >= the given time
+    private int firstAtOrAfter(long timestamp) {
+        int low = 0, high = byTime.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byTime.get(mid).timestamp() < timestamp) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private void checkWritable() throws IOException {
+        if (readOnly) throw new IOException("History store " + dir + " was opened read-only");
+    }
+
+    private static void writeHeader(Path index, long nextId) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeHeader(out, nextId);
+        }
+        Files.write(index, bytes.toByteArray(), StandardOpenOption.CREATE_NEW);
+    }
+
+    private static void writeHeader(DataOutputStream out, long nextId) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(nextId);
+    }
+
+    private static void writeEntry(DataOutputStream out, GSRRunSummary summary) throws IOException {
+        out.writeLong(summary.id());
+        out.writeInt(summary.segment());
+        out.writeLong(summary.offset());
+        out.writeInt(summary.length());
+        out.writeLong(summary.timestamp());
+        out.writeLong(summary.finalTicks());
+        out.writeLong(summary.finalLrtTicks());
+        out.writeBoolean(summary.success());
+        out.writeUTF(summary.world());
+        out.writeUTF(summary.category());
+        out.writeShort(summary.participants().size());
+        for (String participant : summary.participants()) out.writeUTF(participant);
+    }
+
+    private static GSRRunSummary readEntry(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        int segment = in.readInt();
+        long offset = in.readLong();
+        int length = in.readInt();
+        long timestamp = in.readLong();
+        long finalTicks = in.readLong();
+        long finalLrtTicks = in.readLong();
+        boolean success = in.readBoolean();
+        String world = in.readUTF();
+        String category = in.readUTF();
+        int count = in.readUnsignedShort();
+        List<String> participants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) participants.add(in.readUTF());
+        return new GSRRunSummary(id, world, success, timestamp, finalTicks, finalLrtTicks, category,
+                Collections.unmodifiableList(participants), segment, offset, length);
+    }
+
+    // --- [ SEGMENTS ] ---
+
+    private Path segmentPath(int segment) {
+        return dir.resolve(String.format(Locale.ROOT, "%s%05d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private Path archivePath(int archive) {
+        return dir.resolve(String.format(Locale.ROOT, "%s%05d%s", ARCHIVE_PREFIX, archive, ARCHIVE_SUFFIX));
+    }
+
+    // Size of the segment (or archive, for negative numbers) holding a record
+    private long fileSize(int segment) {
+        try {
+            Path path = segment < 0 ? archivePath(-segment - 1) : segmentPath(segment);
+            return Files.exists(path) ? Files.size(path) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private int highestSegment() throws IOException {
+        int highest = 0;
+        for (Path path : listFiles(SEGMENT_PREFIX, SEGMENT_SUFFIX)) highest = Math.max(highest, fileNumber(path, SEGMENT_PREFIX, SEGMENT_SUFFIX));
+        return highest;
+    }
+
+    private int highestArchive() throws IOException {
+        int highest = -1;
+        for (Path path : listFiles(ARCHIVE_PREFIX, ARCHIVE_SUFFIX)) highest = Math.max(highest, fileNumber(path, ARCHIVE_PREFIX, ARCHIVE_SUFFIX));
+        return highest;
+    }
+
+    private List<Path> listFiles(String prefix, String suffix) throws IOException {
+        List<Path> result = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, prefix + "*" + suffix)) {
+            for (Path path : stream) result.add(path);
+        }
+        return result;
+    }
+
+    // -1 if the name is not one of ours
+    private static int fileNumber(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        try {
+            return Integer.parseInt(name.substring(prefix.length(), name.length() - suffix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package net.berkle.groupspeedrun.history;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One-time import of the old one-JSON-file-per-run history into a {@link GSRHistoryStore}.
+ * Files are imported oldest first, then moved to {@code legacy/} next to the store so they are kept
+ * but never imported twice. Files that cannot be imported are left where they are.
+ *
+ * The oldest files only hold {@code status}, {@code final_time_formatted} and {@code awards}; their
+ * final time is parsed back from the formatted string.
+ */
+public final class GSRLegacyHistoryImporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger("GSR-History");
+    public static final String LEGACY_DIR = "legacy";
+
+    // WorldName_Result_MM-dd_HHmm_PlayerName.json (world and player names may contain underscores)
+    private static final Pattern FILE_NAME = Pattern.compile("^(.*)_([WL])_(\\d{2}-\\d{2}_\\d{4})_(.*)\\.json$");
+
+    // [H:]MM:SS.CC or SS.CC, as written by GSRFormatUtil.formatTime
+    private static final Pattern FORMATTED_TIME = Pattern.compile("^(?:(?:(\\d+):)?(\\d{1,2}):)?(\\d{1,2})\\.(\\d{2})$");
+
+    private GSRLegacyHistoryImporter() {}
+
+    /**
+     * Imports every legacy JSON file directly inside {@code dir}.
+     * @return The number of runs imported.
+     */
+    public static int importAll(GSRHistoryStore store, Path dir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path path : stream) files.add(path);
+        }
+        if (files.isEmpty()) return 0;
+
+        // The file names carry no year, so modification time is the best ordering available
+        files.sort(Comparator.comparingLong(GSRLegacyHistoryImporter::modifiedAt));
+        Path legacy = dir.resolve(LEGACY_DIR);
+        Files.createDirectories(legacy);
+
+        int imported = 0;
+        for (Path file : files) {
+            try {
+                GSRRunRecord record = toRecord(file);
+                if (record == null) {
+                    LOGGER.warn("[GSR] Skipping history file {}: no status or final time", file.getFileName());
+                    continue;
+                }
+                store.append(record);
+                imported++;
+                Files.move(file, legacy.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            } catch (Exception e) {
+                LOGGER.warn("[GSR] Could not import history file {}", file.getFileName(), e);
+            }
+        }
+        LOGGER.info("[GSR] Imported {} legacy history files", imported);
+        return imported;
+    }
+
+    private static GSRRunRecord toRecord(Path file) throws IOException {
+        JsonObject root;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            root = JsonParser.parseReader(reader).getAsJsonObject();
+        }
+        if (!root.has("status")) return null;
+        long finalTicks;
+        if (root.has("final_ticks")) {
+            finalTicks = root.get("final_ticks").getAsLong();
+        } else if (root.has("final_time_formatted")) {
+            finalTicks = parseTicks(root.get("final_time_formatted").getAsString());
+            if (finalTicks < 0) return null;
+            root.addProperty("final_ticks", finalTicks);
+        } else {
+            return null;
+        }
+
+        String world = "unknown";
+        List<String> participants = new ArrayList<>();
+        Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+        if (matcher.matches()) {
+            world = matcher.group(1);
+            String player = matcher.group(4);
+            if (!player.equals("Champions") && !player.equals("Nobody")) participants.add(player);
+        }
+        // Old records did not list participants; award winners are the closest record of who played
+        if (root.has("awards")) {
+            for (var entry : root.getAsJsonObject("awards").entrySet()) {
+                JsonElement value = entry.getValue();
+                if (entry.getKey().endsWith("_v") || !value.isJsonPrimitive() || !value.getAsJsonPrimitive().isString()) continue;
+                String name = value.getAsString();
+                if (!name.equals("Environmental Damage") && participants.stream().noneMatch(name::equalsIgnoreCase)) participants.add(name);
+            }
+        }
+
+        long timestamp = modifiedAt(file);
+        root.addProperty("world", world);
+        root.addProperty("timestamp", timestamp);
+
+        return new GSRRunRecord(
+                world,
+                "SUCCESS".equalsIgnoreCase(root.get("status").getAsString()),
+                timestamp,
+                finalTicks,
+                getLong(root, "final_lrt_ticks"),
+                root.has("category") ? root.get("category").getAsString() : "",
+                participants,
+                root.toString()
+        );
+    }
+
+    /**
+     * Inverse of {@code GSRFormatUtil.formatTime}: {@code H:MM:SS.CC}, {@code MM:SS.CC} or {@code SS.CC} to ticks.
+     * @return -1 if the string is not in one of those forms.
+     */
+    static long parseTicks(String formatted) {
+        Matcher matcher = FORMATTED_TIME.matcher(formatted.trim());
+        if (!matcher.matches()) return -1;
+        long hours = matcher.group(1) == null ? 0 : Long.parseLong(matcher.group(1));
+        long minutes = matcher.group(2) == null ? 0 : Long.parseLong(matcher.group(2));
+        long millis = ((hours * 60 + minutes) * 60 + Long.parseLong(matcher.group(3))) * 1000
+                + Long.parseLong(matcher.group(4)) * 10;
+        return millis / 50;
+    }
+
+    private static long getLong(JsonObject obj, String key) {
+        JsonElement element = obj.get(key);
+        return element == null || element.isJsonNull() ? 0 : element.getAsLong();
+    }
+
+    private static long modifiedAt(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
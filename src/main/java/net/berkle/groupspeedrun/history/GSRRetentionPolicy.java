@@ -0,0 +1,56 @@
+package net.berkle.groupspeedrun.history;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What {@link GSRHistoryStore#compact} keeps, drops and archives.
+ *
+ * The store is shared by every world in the run directory while retention is configured per world, so the
+ * drop rules only ever apply to runs of {@code world}; other worlds' runs are left to their own settings.
+ * Archiving loses nothing and applies to every run.
+ *
+ * @param world Level name whose runs may be dropped.
+ * @param keepPersonalBests Never drop the fastest completed run of each world and split layout.
+ * @param keepLast The newest this-many runs of the world are never dropped.
+ * @param failureDays Failed runs older than this many days are dropped (0 keeps them forever).
+ * @param maxAgeDays Any run older than this many days is dropped (0 keeps them forever).
+ * @param archiveDays Surviving runs older than this many days are moved into compressed archives.
+ */
+public record GSRRetentionPolicy(String world, boolean keepPersonalBests, int keepLast, int failureDays, int maxAgeDays, int archiveDays) {
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    /**
+     * Ids of runs that must survive regardless of age.
+     * @param runs Every stored run, oldest first.
+     */
+    public Set<Long> protectedIds(List<GSRRunSummary> runs) {
+        List<GSRRunSummary> own = runs.stream().filter(run -> run.world().equals(world)).toList();
+        Set<Long> result = new HashSet<>();
+        for (int i = Math.max(0, own.size() - keepLast); i < own.size(); i++) result.add(own.get(i).id());
+
+        if (keepPersonalBests) {
+            Map<String, GSRRunSummary> best = new HashMap<>();
+            for (GSRRunSummary run : own) {
+                if (!run.success()) continue;
+                best.merge(run.world() + "|" + run.category(), run, (a, b) -> b.finalTicks() < a.finalTicks() ? b : a);
+            }
+            for (GSRRunSummary run : best.values()) result.add(run.id());
+        }
+        return result;
+    }
+
+    public boolean expired(GSRRunSummary run, long now) {
+        if (!run.world().equals(world)) return false;
+        long age = now - run.timestamp();
+        if (maxAgeDays > 0 && age > maxAgeDays * DAY_MS) return true;
+        return failureDays > 0 && !run.success() && age > failureDays * DAY_MS;
+    }
+
+    public boolean archivable(GSRRunSummary run, long now) {
+        return !run.archived() && now - run.timestamp() > archiveDays * DAY_MS;
+    }
+}
@@ -0,0 +1,19 @@
+package net.berkle.groupspeedrun.history;
+
+import java.util.List;
+
+/**
+ * A finished run on its way into the history store: the indexed fields plus the full JSON payload.
+ *
+ * @param payload The complete run document (splits, awards, ...) as JSON.
+ */
+public record GSRRunRecord(
+        String world,
+        boolean success,
+        long timestamp,
+        long finalTicks,
+        long finalLrtTicks,
+        String category,
+        List<String> participants,
+        String payload
+) {}
@@ -0,0 +1,48 @@
+package net.berkle.groupspeedrun.history;
+
+import java.util.List;
+
+/**
+ * Index entry for one stored run: everything queries filter or sort on, plus where the full record lives.
+ * Kept in memory for every run; the record payload is only read on demand.
+ *
+ * @param id Sequential run id, in append order.
+ * @param timestamp Epoch milliseconds when the run finished.
+ * @param finalTicks Real-time length of the run, in ticks.
+ * @param finalLrtTicks Load-removed length of the run, in ticks.
+ * @param category Split layout the run was timed with (comma-separated split ids).
+ * @param segment Segment file number holding the record; negative for archives (archive {@code -segment - 1}).
+ * @param offset Byte offset of the record's frame (or compressed block) inside its file.
+ * @param length Length of the record's frame (or compressed block), in bytes.
+ */
+public record GSRRunSummary(
+        long id,
+        String world,
+        boolean success,
+        long timestamp,
+        long finalTicks,
+        long finalLrtTicks,
+        String category,
+        List<String> participants,
+        int segment,
+        long offset,
+        int length
+) {
+    public boolean archived() {
+        return segment < 0;
+    }
+
+    /**
+     * The same run at a new position, after compaction moved it.
+     */
+    public GSRRunSummary movedTo(int segment, long offset, int length) {
+        return new GSRRunSummary(id, world, success, timestamp, finalTicks, finalLrtTicks, category, participants, segment, offset, length);
+    }
+
+    public boolean hasParticipant(String name) {
+        for (String participant : participants) {
+            if (participant.equalsIgnoreCase(name)) return true;
+        }
+        return false;
+    }
+}
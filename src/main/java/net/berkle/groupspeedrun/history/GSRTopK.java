@@ -0,0 +1,86 @@
+package net.berkle.groupspeedrun.history;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+
+/**
+ * Fixed-capacity "best K" tracker. The heap root is always the worst entry kept, so an offer that does
+ * not beat it is rejected in O(1) and an accepted one costs O(log K). Memory never exceeds K entries.
+ */
+public final class GSRTopK {
+
+    /**
+     * One leaderboard row.
+     * @param value The ranked quantity (ticks, damage, ...).
+     * @param label Who or what achieved it.
+     * @param world The world the run was played in.
+     * @param timestamp When, in epoch milliseconds.
+     */
+    public record Entry(double value, String label, String world, long timestamp) {}
+
+    private final int capacity;
+    // Best-first ordering of the board
+    private final Comparator<Entry> order;
+    // Worst kept entry at the root
+    private final PriorityQueue<Entry> heap;
+
+    /**
+     * @param lowerIsBetter True for times (fastest first), false for totals (highest first).
+     */
+    public GSRTopK(int capacity, boolean lowerIsBetter) {
+        this.capacity = capacity;
+        Comparator<Entry> byValue = Comparator.comparingDouble(Entry::value);
+        // Equal values: the earlier achievement ranks higher
+        this.order = (lowerIsBetter ? byValue : byValue.reversed()).thenComparingLong(Entry::timestamp);
+        this.heap = new PriorityQueue<>(capacity + 1, order.reversed());
+    }
+
+    /**
+     * @return true if the entry made the board.
+     */
+    public boolean offer(Entry entry) {
+        if (heap.size() < capacity) {
+            heap.add(entry);
+            return true;
+        }
+        if (order.compare(entry, heap.peek()) >= 0) return false;
+        heap.poll();
+        heap.add(entry);
+        return true;
+    }
+
+    /**
+     * The board, best first.
+     */
+    public List<Entry> sorted() {
+        List<Entry> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+
+    /**
+     * Picks the best {@code k} of a column of values without building entries, using the same bounded heap.
+     * Equal values rank the lower index higher.
+     * @param include Which indices may be picked at all.
+     * @return The picked indices, best first.
+     */
+    public static int[] select(double[] values, int k, boolean lowerIsBetter, IntPredicate include) {
+        if (k <= 0) return new int[0];
+        Comparator<Integer> byValue = (a, b) -> Double.compare(values[a], values[b]);
+        Comparator<Integer> order = (lowerIsBetter ? byValue : byValue.reversed()).thenComparingInt(i -> i);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1, order.reversed());
+        for (int i = 0; i < values.length; i++) {
+            if (!include.test(i)) continue;
+            if (heap.size() < k) {
+                heap.add(i);
+            } else if (order.compare(i, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+        return heap.stream().sorted(order).mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -1,8 +1,10 @@
 package net.berkle.groupspeedrun.managers;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import net.berkle.groupspeedrun.GSREvents;
 import net.berkle.groupspeedrun.GSRMain;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.berkle.groupspeedrun.util.GSRFormatUtil;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.PlayerManager;
@@ -19,31 +21,32 @@ public class GSRBroadcastManager {
     public static void broadcastLiveStats(MinecraftServer server) {
         PlayerManager pm = server.getPlayerManager();
         long currentTicks = GSREvents.getRunTicks(server);
+        long currentLrt = GSREvents.getLoadRemovedTicks();
 
         // Passing "LIVE" ensures that the "Roast Logic" in RunHistoryManager is triggered.
         JsonObject awards = GSRRunHistoryManager.calculateAwards(server, "LIVE", "");
 
-        broadcastStats(pm, currentTicks, awards, "COMMAND");
+        broadcastStats(pm, currentTicks, currentLrt, awards, "COMMAND");
     }
 
-    public static void broadcastVictory(MinecraftServer server, long ticks, JsonObject awards) {
+    public static void broadcastVictory(MinecraftServer server, long ticks, long lrtTicks, JsonObject awards) {
         PlayerManager pm = server.getPlayerManager();
         pm.broadcast(Text.literal(getSeparator('a', BAR_LENGTH)), false);
         pm.broadcast(Text.literal("§a§l          VICTORY!          "), false);
-        broadcastStats(pm, ticks, awards, "VICTORY");
+        broadcastStats(pm, ticks, lrtTicks, awards, "VICTORY");
         pm.broadcast(Text.literal(getSeparator('a', BAR_LENGTH)), false);
     }
 
-    public static void broadcastFailure(MinecraftServer server, long ticks, String loser, String msg, JsonObject awards) {
+    public static void broadcastFailure(MinecraftServer server, long ticks, long lrtTicks, String loser, String msg, JsonObject awards) {
         PlayerManager pm = server.getPlayerManager();
         pm.broadcast(Text.literal(getSeparator('4', BAR_LENGTH)), false);
         pm.broadcast(Text.literal("§4💀 Disgrace: §c" + loser), false);
         pm.broadcast(Text.literal("§7\"" + msg + "\""), false);
-        broadcastStats(pm, ticks, awards, "FAILURE");
+        broadcastStats(pm, ticks, lrtTicks, awards, "FAILURE");
         pm.broadcast(Text.literal(getSeparator('4', BAR_LENGTH)), false);
     }
 
-    public static void broadcastStats(PlayerManager pm, long ticks, JsonObject awards, String mode) {
+    public static void broadcastStats(PlayerManager pm, long ticks, long lrtTicks, JsonObject awards, String mode) {
         boolean isFullList = mode.equalsIgnoreCase("COMMAND");
 
         if (isFullList) {
@@ -51,10 +54,11 @@ public class GSRBroadcastManager {
             pm.broadcast(Text.literal(getSeparator('8', BAR_LENGTH)), false);
         }
 
-        String timeLabel = (GSRMain.CONFIG.isFailed || GSRMain.CONFIG.isVictorious)
+        String timeLabel = GSRRunStateMachine.get().isFinished()
                 ? "§6Final Time: "
                 : "§6Current Time: ";
         pm.broadcast(Text.literal(timeLabel + "§f" + GSRFormatUtil.formatTime(ticks)), false);
+        pm.broadcast(Text.literal("§6Load-Removed: §f" + GSRFormatUtil.formatTime(lrtTicks)), false);
 
         // --- SECTION 1: PERFORMANCE ---
         // Added 'pearl_hoarder' to the data check
@@ -111,8 +115,8 @@ public class GSRBroadcastManager {
 
                 if (val <= 0.001 || name.equalsIgnoreCase("None") || name.isEmpty()) return;
 
-                String fVal = (val == (int) val) ? String.valueOf((int) val) : String.format("%.1f", val);
-                pm.broadcast(Text.literal(label + ": §b" + name + " §f(" + fVal + unit + ")"), false);
+                pm.broadcast(Text.literal(label + ": §b" + name + " §f(" + formatValue(val) + unit + ")"), false);
+                if (GSRMain.CONFIG.awardPodiumBroadcast) displayPodium(pm, awards, key);
 
             } catch (Exception e) {
                 System.out.println("[GSR] Display error for key: " + key);
@@ -120,6 +124,27 @@ public class GSRBroadcastManager {
         }
     }
 
+    /**
+     * One line with the category's ranked places, e.g. "1. Steve (40) · 2. Alex (12)". Nothing without a podium.
+     */
+    private static void displayPodium(PlayerManager pm, JsonObject awards, String key) {
+        if (!awards.has(key + "_top") || !awards.get(key + "_top").isJsonArray()) return;
+
+        StringBuilder line = new StringBuilder("§7   ↳ ");
+        int rank = 0;
+        for (JsonElement element : awards.getAsJsonArray(key + "_top")) {
+            JsonObject place = element.getAsJsonObject();
+            if (rank > 0) line.append(" §8· §7");
+            line.append(++rank).append(". §f").append(place.get("player").getAsString())
+                    .append(" §7(").append(formatValue(place.get("value").getAsDouble())).append(")");
+        }
+        if (rank > 1) pm.broadcast(Text.literal(line.toString()), false);
+    }
+
+    private static String formatValue(double val) {
+        return (val == (int) val) ? String.valueOf((int) val) : String.format("%.1f", val);
+    }
+
     private static String getSeparator(char colorCode, int length) {
         return "§" + colorCode + "§l" + "━".repeat(length);
     }
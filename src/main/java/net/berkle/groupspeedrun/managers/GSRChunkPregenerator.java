@@ -0,0 +1,234 @@
+package net.berkle.groupspeedrun.managers;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.berkle.groupspeedrun.GSRMain;
+import net.berkle.groupspeedrun.config.GSRConfigWorld;
+import net.berkle.groupspeedrun.splits.GSRSplitDefinition;
+import net.berkle.groupspeedrun.splits.GSRSplitTable;
+import net.berkle.groupspeedrun.splits.GSRSplitTrigger;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ChunkTicketType;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-generates chunks around active locate targets.
+ * While a locator is pinned, the group is heading straight for it, so the chunks around the target and
+ * along the straight line from the group to it are requested ahead of time with a load-only ticket
+ * (generated and kept loaded, never ticked). Generation itself runs on the chunk system's worker threads;
+ * this class only decides which tickets to add and how fast.
+ *
+ * New tickets per tick follow the load level and stop entirely under heavy load. Tickets are released
+ * when the locator is cleared, when a player reaches the target, or when the matching structure split is done.
+ */
+public class GSRChunkPregenerator {
+
+    // Load-only, not persisted: a crash or restart simply drops the tickets
+    public static final ChunkTicketType TICKET = Registry.register(Registries.TICKET_TYPE,
+            Identifier.of(GSRMain.MOD_ID, "pregen"), new ChunkTicketType(0L, ChunkTicketType.FLAG_LOADING));
+
+    private static final String[] TYPES = {"fortress", "bastion", "stronghold", "ship"};
+    // Chunks on each side of the corridor's center line
+    private static final int CORRIDOR_HALF_WIDTH = 1;
+    // Upper bound on tickets held per target, so a far-away stronghold cannot pin thousands of chunks
+    private static final int MAX_TICKETS_PER_TARGET = 768;
+
+    private static final Map<String, Target> TARGETS = new HashMap<>();
+
+    /**
+     * One pinned locate target: the chunks still to request and the tickets already held.
+     */
+    private static final class Target {
+        final RegistryKey<World> dimension;
+        final int blockX, blockZ;
+        final ArrayDeque<ChunkPos> queue = new ArrayDeque<>();
+        final List<ChunkPos> held = new ArrayList<>();
+
+        Target(RegistryKey<World> dimension, int blockX, int blockZ) {
+            this.dimension = dimension;
+            this.blockX = blockX;
+            this.blockZ = blockZ;
+        }
+    }
+
+    /**
+     * Forces class loading during mod init, so the ticket type is registered before registries freeze.
+     */
+    public static void init() {}
+
+    /**
+     * Syncs the target list with the pinned locators and issues this tick's share of tickets.
+     */
+    public static void tick(MinecraftServer server) {
+        GSRConfigWorld config = GSRMain.CONFIG;
+        if (config == null) return;
+
+        for (String type : TYPES) {
+            Target current = TARGETS.get(type);
+            boolean active = config.pregenRadius > 0 && isActive(config, type);
+            int x = targetX(config, type), z = targetZ(config, type);
+
+            if (!active) {
+                if (current != null) release(server, TARGETS.remove(type));
+            } else if (current == null || current.blockX != x || current.blockZ != z) {
+                if (current != null) release(server, current);
+                TARGETS.put(type, plan(server, config.pregenRadius, dimensionFor(type), x, z));
+            } else if (isReached(server, config, type, current)) {
+                // Keep the (now empty) entry so the same coordinates are not planned again
+                release(server, current);
+            }
+        }
+
+        int budget = switch (GSRLoadManager.getLevel()) {
+            case NORMAL -> 4;
+            case LIGHT -> 1;
+            default -> 0;
+        };
+        if (budget == 0 || TARGETS.isEmpty()) return;
+
+        for (Target target : TARGETS.values()) {
+            ServerWorld world = server.getWorld(target.dimension);
+            if (world == null) continue;
+            while (budget > 0 && !target.queue.isEmpty()) {
+                ChunkPos pos = target.queue.poll();
+                world.getChunkManager().addTicket(TICKET, pos, 0);
+                target.held.add(pos);
+                budget--;
+            }
+        }
+    }
+
+    /**
+     * Target area first (nearest the structure outward), then the corridor walking back toward the group.
+     */
+    private static Target plan(MinecraftServer server, int radius, RegistryKey<World> dimension, int blockX, int blockZ) {
+        Target target = new Target(dimension, blockX, blockZ);
+        LongOpenHashSet seen = new LongOpenHashSet();
+        int cx = blockX >> 4, cz = blockZ >> 4;
+
+        for (int r = 0; r <= radius; r++) {
+            for (int dx = -r; dx <= r; dx++) {
+                for (int dz = -r; dz <= r; dz++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dz)) == r) enqueue(target, seen, cx + dx, cz + dz);
+                }
+            }
+        }
+
+        ServerPlayerEntity origin = groupOrigin(server, dimension);
+        if (origin != null) {
+            int ox = origin.getChunkPos().x, oz = origin.getChunkPos().z;
+            int steps = Math.max(Math.abs(ox - cx), Math.abs(oz - cz));
+            // Perpendicular offset follows the corridor's minor axis
+            boolean alongX = Math.abs(ox - cx) >= Math.abs(oz - cz);
+            for (int i = 1; i <= steps && target.queue.size() < MAX_TICKETS_PER_TARGET; i++) {
+                int lx = cx + Math.round((ox - cx) * (float) i / steps);
+                int lz = cz + Math.round((oz - cz) * (float) i / steps);
+                for (int w = -CORRIDOR_HALF_WIDTH; w <= CORRIDOR_HALF_WIDTH; w++) {
+                    if (alongX) enqueue(target, seen, lx, lz + w);
+                    else enqueue(target, seen, lx + w, lz);
+                }
+            }
+        }
+        return target;
+    }
+
+    private static void enqueue(Target target, LongOpenHashSet seen, int x, int z) {
+        if (target.queue.size() >= MAX_TICKETS_PER_TARGET) return;
+        if (seen.add(ChunkPos.toLong(x, z))) target.queue.add(new ChunkPos(x, z));
+    }
+
+    private static void release(MinecraftServer server, Target target) {
+        ServerWorld world = server.getWorld(target.dimension);
+        if (world != null) {
+            for (ChunkPos pos : target.held) world.getChunkManager().removeTicket(TICKET, pos, 0);
+        }
+        target.held.clear();
+        target.queue.clear();
+    }
+
+    /**
+     * Removes every ticket. Called when the run resets and on server stop.
+     */
+    public static void releaseAll(MinecraftServer server) {
+        for (Target target : TARGETS.values()) release(server, target);
+        TARGETS.clear();
+    }
+
+    // --- [ TARGET STATE ] ---
+
+    private static boolean isReached(MinecraftServer server, GSRConfigWorld config, String type, Target target) {
+        if (target.held.isEmpty() && target.queue.isEmpty()) return false;
+
+        // Structure split for this structure already completed
+        GSRSplitTable table = GSRSplitManager.getTable();
+        Identifier structureId = GSRLocateManager.structureKeyFor(type).getValue();
+        for (int i = 0; i < table.size(); i++) {
+            GSRSplitDefinition split = table.get(i);
+            if (split.trigger() == GSRSplitTrigger.STRUCTURE && split.target().equals(structureId)
+                    && i < config.getSplitCount() && config.getSplitTime(i) > 0) return true;
+        }
+
+        // Someone made it to the target area
+        int reach = (config.pregenRadius + 1) * 16;
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            if (player.getEntityWorld().getRegistryKey() != target.dimension) continue;
+            double dx = player.getX() - target.blockX, dz = player.getZ() - target.blockZ;
+            if (dx * dx + dz * dz <= (double) reach * reach) return true;
+        }
+        return false;
+    }
+
+    private static ServerPlayerEntity groupOrigin(MinecraftServer server, RegistryKey<World> dimension) {
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            if (!player.isSpectator() && player.getEntityWorld().getRegistryKey() == dimension) return player;
+        }
+        return null;
+    }
+
+    private static RegistryKey<World> dimensionFor(String type) {
+        return switch (type) {
+            case "fortress", "bastion" -> World.NETHER;
+            case "ship" -> World.END;
+            default -> World.OVERWORLD;
+        };
+    }
+
+    private static boolean isActive(GSRConfigWorld config, String type) {
+        return switch (type) {
+            case "fortress" -> config.fortressActive;
+            case "bastion" -> config.bastionActive;
+            case "stronghold" -> config.strongholdActive;
+            default -> config.shipActive;
+        };
+    }
+
+    private static int targetX(GSRConfigWorld config, String type) {
+        return switch (type) {
+            case "fortress" -> config.fortressX;
+            case "bastion" -> config.bastionX;
+            case "stronghold" -> config.strongholdX;
+            default -> config.shipX;
+        };
+    }
+
+    private static int targetZ(GSRConfigWorld config, String type) {
+        return switch (type) {
+            case "fortress" -> config.fortressZ;
+            case "bastion" -> config.bastionZ;
+            case "stronghold" -> config.strongholdZ;
+            default -> config.shipZ;
+        };
+    }
+}
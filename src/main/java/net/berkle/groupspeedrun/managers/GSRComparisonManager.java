@@ -0,0 +1,201 @@
+package net.berkle.groupspeedrun.managers;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import net.berkle.groupspeedrun.GSRMain;
+import net.berkle.groupspeedrun.config.GSRConfigPayload;
+import net.berkle.groupspeedrun.history.GSRHistoryStore;
+import net.berkle.groupspeedrun.history.GSRRunSummary;
+import net.berkle.groupspeedrun.splits.GSRComparison;
+import net.berkle.groupspeedrun.splits.GSRSplitTable;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.WorldSavePath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Personal-best and sum-of-best comparisons.
+ * One {@link GSRComparison} is kept per split category (the split table's id layout) in
+ * {@code world/data/gsr_comparisons.json}. Finished runs are folded in one at a time; history is only
+ * scanned once, in the background, to seed a world that has no comparison file yet.
+ *
+ * The active comparison is sent to clients on join and when a run starts, so the HUD computes
+ * ahead/behind deltas locally every frame.
+ */
+public class GSRComparisonManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger("GSR-Compare");
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final Map<String, GSRComparison> CATEGORIES = new HashMap<>();
+    private static GSRComparison active = GSRComparison.EMPTY;
+
+    public static String categoryOf(GSRSplitTable table) {
+        return String.join(",", table.ids());
+    }
+
+    public static GSRComparison getActive() {
+        return active;
+    }
+
+    /**
+     * Loads the comparison file and selects the category of the active split table.
+     * Called on SERVER_STARTED, after the split table has been loaded.
+     */
+    public static void load(MinecraftServer server) {
+        CATEGORIES.clear();
+        GSRSplitTable table = GSRSplitManager.getTable();
+        String category = categoryOf(table);
+        File file = getComparisonFile(server);
+
+        if (file.exists()) {
+            try (FileReader reader = new FileReader(file, StandardCharsets.UTF_8)) {
+                Map<String, GSRComparison> loaded = GSON.fromJson(reader, new TypeToken<Map<String, GSRComparison>>() {}.getType());
+                if (loaded != null) CATEGORIES.putAll(loaded);
+            } catch (Exception e) {
+                LOGGER.error("[GSR] Failed to load comparisons!", e);
+            }
+        }
+
+        active = CATEGORIES.get(category);
+        if (active == null || active.size() != table.size()) {
+            active = new GSRComparison(category, table.size());
+            CATEGORIES.put(category, active);
+            // The seed saves once it is done, so a stop before then seeds again next start
+            if (file.exists()) save(server);
+            else seedFromHistory(server, table, active);
+        }
+    }
+
+    /**
+     * Folds a finished run into the active comparison and pushes the result to clients if it changed.
+     */
+    public static void onRunFinished(MinecraftServer server, boolean success, long totalTicks) {
+        var config = GSRMain.CONFIG;
+        if (config == null || active == GSRComparison.EMPTY) return;
+
+        long[] splitTimes = new long[config.getSplitCount()];
+        for (int i = 0; i < splitTimes.length; i++) splitTimes[i] = config.getSplitTime(i);
+
+        if (active.accept(splitTimes, totalTicks, success)) {
+            save(server);
+            syncWithAll(server);
+        }
+    }
+
+    // Splits and outcome of one history record, parsed off the server thread
+    private record SeedRun(long[] splitTimes, long totalTicks, boolean success) {}
+
+    /**
+     * One-time seed from the run history for worlds that predate the comparison file.
+     * The store is awaited and the records parsed on the history thread; the runs are folded into
+     * {@code target} back on the server thread, which then saves and syncs it.
+     */
+    private static void seedFromHistory(MinecraftServer server, GSRSplitTable table, GSRComparison target) {
+        String levelName = server.getSaveProperties().getLevelName();
+        List<String> ids = table.ids();
+        GSRRunHistoryManager.awaitStore()
+                .thenApplyAsync(history -> readSeedRuns(history, levelName, target.category, ids), GSRRunHistoryManager.historyExecutor())
+                .whenComplete((runs, error) -> server.execute(() -> {
+                    // Reloaded (or another world started) while the seed was running
+                    if (CATEGORIES.get(target.category) != target) return;
+                    if (error != null) LOGGER.error("[GSR] Could not seed comparisons from history", error);
+                    if (runs != null && !runs.isEmpty()) {
+                        // Runs finished meanwhile are already folded in; accept only keeps improvements
+                        for (SeedRun run : runs) target.accept(run.splitTimes(), run.totalTicks(), run.success());
+                        LOGGER.info("[GSR] Seeded comparisons from {} history records", runs.size());
+                    }
+                    save(server);
+                    if (target == active) syncWithAll(server);
+                }));
+    }
+
+    private static List<SeedRun> readSeedRuns(GSRHistoryStore history, String levelName, String category, List<String> ids) {
+        List<SeedRun> seeded = new ArrayList<>();
+        if (history == null) return seeded;
+
+        // Imported legacy records carry the file-name-safe form of the world name
+        String legacyName = levelName.replaceAll("[^a-zA-Z0-9._-]", "_");
+        List<GSRRunSummary> runs = history.forWorld(levelName);
+        if (!legacyName.equals(levelName)) runs.addAll(history.forWorld(legacyName));
+
+        for (GSRRunSummary run : runs) {
+            if (!run.category().isEmpty() && !run.category().equals(category)) continue;
+            try {
+                JsonObject root = JsonParser.parseString(history.readPayload(run)).getAsJsonObject();
+                if (!root.has("splits")) continue;
+
+                JsonObject splits = root.getAsJsonObject("splits");
+                long[] times = new long[ids.size()];
+                for (int i = 0; i < times.length; i++) {
+                    JsonElement split = splits.get(ids.get(i));
+                    if (split != null && split.isJsonObject()) times[i] = split.getAsJsonObject().get("ticks").getAsLong();
+                }
+                seeded.add(new SeedRun(times, run.finalTicks(), run.success()));
+            } catch (Exception e) {
+                LOGGER.warn("[GSR] Skipping unreadable history record {}", run.id());
+            }
+        }
+        return seeded;
+    }
+
+    private static void save(MinecraftServer server) {
+        File file = getComparisonFile(server);
+        // Serialize on the main thread so the background write sees a consistent snapshot
+        String json = GSON.toJson(CATEGORIES);
+
+        CompletableFuture.runAsync(() -> {
+            if (file.getParentFile() != null) file.getParentFile().mkdirs();
+            try (FileWriter writer = new FileWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(json);
+            } catch (IOException e) {
+                LOGGER.error("[GSR] Async comparison save failed!", e);
+            }
+        });
+    }
+
+    private static File getComparisonFile(MinecraftServer server) {
+        return server.getSavePath(WorldSavePath.ROOT).resolve("data").resolve("gsr_comparisons.json").toFile();
+    }
+
+    // --- [ NETWORKING ] ---
+
+    private static GSRConfigPayload buildPayload() {
+        NbtCompound comparison = new NbtCompound();
+        active.writeNbt(comparison);
+        NbtCompound nbt = new NbtCompound();
+        nbt.put("comparison", comparison);
+        return new GSRConfigPayload(nbt);
+    }
+
+    public static void syncWithPlayer(ServerPlayerEntity player) {
+        if (player == null) return;
+        ServerPlayNetworking.send(player, buildPayload());
+    }
+
+    public static void syncWithAll(MinecraftServer server) {
+        if (server == null) return;
+        GSRConfigPayload payload = buildPayload();
+        for (ServerPlayerEntity player : PlayerLookup.all(server)) {
+            ServerPlayNetworking.send(player, payload);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package net.berkle.groupspeedrun.managers;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.berkle.groupspeedrun.GSREvents;
+import net.berkle.groupspeedrun.history.GSREventLogCodec;
+import net.berkle.groupspeedrun.history.GSREventType;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.WorldSavePath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Appends every run event (start, splits, deaths, pauses, damage spikes, locates, end) to a compact
+ * binary log in {@code world/data/gsr_events.log}, see {@link GSREventLogCodec} for the format.
+ *
+ * The server thread encodes into a pooled buffer; player UUIDs and labels are interned so a repeat event
+ * is a handful of varint bytes and allocates nothing. Full buffers (and the open one, once a second) are
+ * handed to a single writer thread that owns the file channel. When the run ends the log is read back and
+ * stored with the run in history; a restart mid-run reopens the file and continues it.
+ */
+public class GSREventLogManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger("GSR-EventLog");
+
+    private static final int BUFFER_BYTES = 8192;
+    // Worst case for one event plus the two strings it may define
+    private static final int EVENT_RESERVE = GSREventLogCodec.MAX_EVENT_BYTES + 2 * (GSREventLogCodec.MAX_STRING_BYTES + 12);
+    private static final int FLUSH_INTERVAL = 20;
+    // A single hit at least this large (3 hearts) is worth a DAMAGE_SPIKE event
+    public static final float DAMAGE_SPIKE_THRESHOLD = 6.0f;
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "GSR-EventLog");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final ConcurrentLinkedQueue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+
+    // Server thread only
+    private static final Object2IntOpenHashMap<UUID> ACTORS = new Object2IntOpenHashMap<>();
+    private static final Object2IntOpenHashMap<String> LABELS = new Object2IntOpenHashMap<>();
+    private static ByteBuffer buffer;
+    private static boolean open = false;
+    private static int nextString = 0;
+    private static long lastTick = 0;
+
+    // Writer thread only
+    private static FileChannel channel;
+
+    static {
+        ACTORS.defaultReturnValue(-1);
+        LABELS.defaultReturnValue(-1);
+    }
+
+    // --- [ LIFECYCLE ] ---
+
+    /**
+     * Starts a fresh log for a run that has just started. Any previous log is discarded.
+     */
+    public static void begin(MinecraftServer server) {
+        reset();
+        Path path = logPath(server);
+        WRITER.execute(() -> openChannel(path, true));
+        open = true;
+        GSREventLogCodec.writeHeader(buffer);
+        record(server, GSREventType.RUN_START, null, null, 0, 0);
+    }
+
+    /**
+     * Continues the log of a run that was in progress when the server stopped. Called on SERVER_STARTED.
+     */
+    public static void reopen(MinecraftServer server) {
+        reset();
+        Path path = logPath(server);
+        WRITER.execute(() -> resumeChannel(path));
+        open = true;
+
+        long tick = GSREvents.getRunTicks(server);
+        GSREventLogCodec.writeEvent(buffer, GSREventType.SESSION, 0, -1, 0, tick, 0);
+        lastTick = tick;
+    }
+
+    /**
+     * Records the end of the run and closes the log.
+     * @return The complete log, completed on the writer thread; null if no log was open or it could not be read.
+     */
+    public static CompletableFuture<byte[]> finish(MinecraftServer server, boolean success) {
+        if (!open) return CompletableFuture.completedFuture(null);
+        record(server, GSREventType.RUN_END, null, null, success ? 1 : 0, 0);
+        handOff();
+        open = false;
+
+        Path path = logPath(server);
+        return CompletableFuture.supplyAsync(() -> {
+            closeChannel();
+            try {
+                byte[] log = Files.readAllBytes(path);
+                Files.deleteIfExists(path);
+                return log;
+            } catch (IOException e) {
+                LOGGER.error("[GSR] Could not read back the event log", e);
+                return null;
+            }
+        }, WRITER);
+    }
+
+    /**
+     * Drops the current log without storing it. Called when the run is reset.
+     */
+    public static void discard(MinecraftServer server) {
+        if (buffer != null) recycle(buffer);
+        buffer = null;
+        open = false;
+        Path path = logPath(server);
+        WRITER.execute(() -> {
+            closeChannel();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                LOGGER.warn("[GSR] Could not delete the event log", e);
+            }
+        });
+    }
+
+    /**
+     * Flushes and closes the log so the next start can continue it. Called on SERVER_STOPPING.
+     */
+    public static void close() {
+        if (open) handOff();
+        open = false;
+        CompletableFuture.runAsync(GSREventLogManager::closeChannel, WRITER).join();
+    }
+
+    /**
+     * Hands the open buffer to the writer once a second so a crash loses at most that much.
+     */
+    public static void tick(MinecraftServer server) {
+        if (open && server.getTicks() % FLUSH_INTERVAL == 0 && buffer.position() > 0) handOff();
+    }
+
+    // --- [ RECORDING ] ---
+
+    public static void record(MinecraftServer server, GSREventType type) {
+        record(server, type, null, null, 0, 0);
+    }
+
+    /**
+     * Appends one event. Server thread only; a no-op while no run is being logged.
+     * @param actor The player the event is about, or null.
+     * @param label Free text for types that carry one (split id, death message, ...), else ignored.
+     */
+    public static void record(MinecraftServer server, GSREventType type, ServerPlayerEntity actor, String label, long a, long b) {
+        if (!open) return;
+        if (buffer.remaining() < EVENT_RESERVE) handOff();
+
+        int actorIndex = actor == null ? -1 : actorIndex(actor);
+        int labelIndex = type.hasLabel ? labelIndex(label == null ? "" : label) : 0;
+
+        long tick = GSREvents.getRunTicks(server);
+        GSREventLogCodec.writeEvent(buffer, type, Math.max(0, tick - lastTick), actorIndex, labelIndex, a, b);
+        lastTick = Math.max(lastTick, tick);
+    }
+
+    private static int actorIndex(ServerPlayerEntity actor) {
+        int index = ACTORS.getInt(actor.getUuid());
+        if (index < 0) {
+            index = define(actor.getName().getString());
+            ACTORS.put(actor.getUuid(), index);
+        }
+        return index;
+    }
+
+    private static int labelIndex(String label) {
+        int index = LABELS.getInt(label);
+        if (index < 0) {
+            index = define(label);
+            LABELS.put(label, index);
+        }
+        return index;
+    }
+
+    private static int define(String value) {
+        int index = nextString++;
+        GSREventLogCodec.writeString(buffer, index, value.getBytes(StandardCharsets.UTF_8));
+        return index;
+    }
+
+    private static void reset() {
+        ACTORS.clear();
+        LABELS.clear();
+        nextString = 0;
+        lastTick = 0;
+        if (buffer == null) buffer = acquire();
+        buffer.clear();
+    }
+
+    // --- [ WRITER ] ---
+
+    private static void handOff() {
+        ByteBuffer full = buffer;
+        buffer = acquire();
+        full.flip();
+        WRITER.execute(() -> {
+            try {
+                if (channel != null) {
+                    while (full.hasRemaining()) channel.write(full);
+                }
+            } catch (IOException e) {
+                LOGGER.error("[GSR] Event log write failed", e);
+            } finally {
+                recycle(full);
+            }
+        });
+    }
+
+    private static ByteBuffer acquire() {
+        ByteBuffer pooled = POOL.poll();
+        return pooled != null ? pooled : ByteBuffer.allocate(BUFFER_BYTES);
+    }
+
+    private static void recycle(ByteBuffer used) {
+        used.clear();
+        POOL.offer(used);
+    }
+
+    private static void openChannel(Path path, boolean truncate) {
+        closeChannel();
+        try {
+            Files.createDirectories(path.getParent());
+            channel = truncate
+                    ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)
+                    : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LOGGER.error("[GSR] Could not open the event log", e);
+        }
+    }
+
+    // Cuts a tail torn by a crash mid-write back to the last complete event before appending, so the
+    // decoder does not read the new session's bytes as the rest of the broken event
+    private static void resumeChannel(Path path) {
+        int valid = 0;
+        try {
+            if (Files.exists(path)) valid = GSREventLogCodec.validLength(Files.readAllBytes(path));
+        } catch (IOException e) {
+            LOGGER.error("[GSR] Could not read the event log, starting it over", e);
+        }
+        openChannel(path, valid == 0);
+        if (channel == null) return;
+        try {
+            if (valid == 0) {
+                ByteBuffer header = ByteBuffer.allocate(GSREventLogCodec.HEADER_BYTES);
+                GSREventLogCodec.writeHeader(header);
+                header.flip();
+                while (header.hasRemaining()) channel.write(header);
+            } else if (valid < channel.size()) {
+                LOGGER.warn("[GSR] Dropping {} bytes of a torn event at the end of the log", channel.size() - valid);
+                channel.truncate(valid);
+            }
+        } catch (IOException e) {
+            LOGGER.error("[GSR] Could not repair the event log", e);
+        }
+    }
+
+    private static void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.warn("[GSR] Could not close the event log", e);
+        }
+        channel = null;
+    }
+
+    private static Path logPath(MinecraftServer server) {
+        return server.getSavePath(WorldSavePath.ROOT).resolve("data").resolve("gsr_events.log");
+    }
+}
@@ -0,0 +1,83 @@
+package net.berkle.groupspeedrun.managers;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.berkle.groupspeedrun.history.GSRHistoryStats;
+import net.berkle.groupspeedrun.history.GSRHistoryStore;
+import net.berkle.groupspeedrun.history.GSRRunSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the all-time split and run-time distributions behind /gsr history stats.
+ * Updated once per stored run on the history IO thread and saved next to the history; commands read an
+ * immutable copy republished after each update, so a query never waits or scans history.
+ */
+public class GSRHistoryStatsManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger("GSR-Stats");
+
+    // History IO thread only
+    private static GSRHistoryStats stats = new GSRHistoryStats();
+    private static volatile GSRHistoryStats snapshot = new GSRHistoryStats();
+
+    /**
+     * Loads the saved statistics and folds in any runs stored since they were last saved (all of them,
+     * the first time). Runs on the history IO thread after the store opens.
+     */
+    public static void load(GSRHistoryStore store) {
+        stats = GSRHistoryStats.load(store.directory());
+        int folded = 0;
+        for (GSRRunSummary run : store.all()) {
+            if (run.id() <= stats.lastRunId()) continue;
+            try {
+                stats.accept(run, splitTicks(JsonParser.parseString(store.readPayload(run)).getAsJsonObject()));
+                folded++;
+            } catch (Exception e) {
+                LOGGER.warn("[GSR] Skipping unreadable history record {}", run.id());
+            }
+        }
+        if (folded > 0) {
+            LOGGER.info("[GSR] Folded {} runs into the history statistics", folded);
+            save(store);
+        }
+        snapshot = stats.copy();
+    }
+
+    /**
+     * Folds one freshly stored run in. Runs on the history IO thread right after the append.
+     */
+    public static void onRunStored(GSRHistoryStore store, GSRRunSummary run, JsonObject record) {
+        stats.accept(run, splitTicks(record));
+        save(store);
+        snapshot = stats.copy();
+    }
+
+    /**
+     * The latest statistics. Never modified; safe to read on any thread.
+     */
+    public static GSRHistoryStats get() {
+        return snapshot;
+    }
+
+    private static Map<String, Long> splitTicks(JsonObject record) {
+        Map<String, Long> result = new HashMap<>();
+        if (!record.has("splits")) return result;
+        for (Map.Entry<String, JsonElement> split : record.getAsJsonObject("splits").entrySet()) {
+            if (split.getValue().isJsonObject()) result.put(split.getKey(), split.getValue().getAsJsonObject().get("ticks").getAsLong());
+        }
+        return result;
+    }
+
+    private static void save(GSRHistoryStore store) {
+        try {
+            stats.save(store.directory());
+        } catch (IOException e) {
+            LOGGER.error("[GSR] Failed to save history statistics", e);
+        }
+    }
+}
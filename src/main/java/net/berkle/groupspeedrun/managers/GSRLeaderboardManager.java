@@ -0,0 +1,142 @@
+package net.berkle.groupspeedrun.managers;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.berkle.groupspeedrun.history.GSRHistoryStore;
+import net.berkle.groupspeedrun.history.GSRRunSummary;
+import net.berkle.groupspeedrun.history.GSRTopK;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All-time leaderboards for /gsr leaderboard.
+ * Each category is a bounded top-K board, rebuilt from the history store once when it opens and then
+ * updated with every stored run. Boards are only mutated on the history IO thread; commands read an
+ * immutable snapshot that is republished after each change, so a query never waits or scans history.
+ *
+ * Categories: {@code fastest} and {@code fastest_lrt} (completed runs), {@code dragon_damage}
+ * (most damage dealt to the dragon by one player in one run) and {@code split_<id>} for every split.
+ * The timed boards are kept per split layout (the run's category, see {@link GSRComparisonManager#categoryOf}),
+ * so a table that completes at an earlier split never competes with the full run; {@code dragon_damage} is shared.
+ */
+public class GSRLeaderboardManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger("GSR-Leaderboard");
+
+    // Rows kept per board
+    public static final int SIZE = 10;
+
+    public static final String FASTEST = "fastest";
+    public static final String FASTEST_LRT = "fastest_lrt";
+    public static final String DRAGON_DAMAGE = "dragon_damage";
+    public static final String SPLIT_PREFIX = "split_";
+
+    // History IO thread only; timed boards are keyed "<layout>|<category>"
+    private static final Map<String, GSRTopK> BOARDS = new LinkedHashMap<>();
+    private static volatile Map<String, List<GSRTopK.Entry>> snapshot = Map.of();
+
+    /**
+     * Rebuilds every board from the full history. Runs on the history IO thread after the store opens.
+     */
+    public static void rebuild(GSRHistoryStore store) {
+        BOARDS.clear();
+        for (GSRRunSummary run : store.all()) {
+            try {
+                offer(run, JsonParser.parseString(store.readPayload(run)).getAsJsonObject());
+            } catch (Exception e) {
+                LOGGER.warn("[GSR] Skipping unreadable history record {}", run.id());
+            }
+        }
+        publish();
+    }
+
+    /**
+     * Folds one freshly stored run into the boards. Runs on the history IO thread right after the append.
+     */
+    public static void onRunStored(GSRRunSummary run, JsonObject record) {
+        offer(run, record);
+        publish();
+    }
+
+    private static void offer(GSRRunSummary run, JsonObject record) {
+        String players = run.participants().isEmpty() ? "Unknown" : String.join(", ", run.participants());
+
+        if (run.success()) {
+            board(key(run.category(), FASTEST), true).offer(new GSRTopK.Entry(run.finalTicks(), players, run.world(), run.timestamp()));
+            if (run.finalLrtTicks() > 0) {
+                board(key(run.category(), FASTEST_LRT), true).offer(new GSRTopK.Entry(run.finalLrtTicks(), players, run.world(), run.timestamp()));
+            }
+        }
+
+        if (record.has("splits")) {
+            for (Map.Entry<String, JsonElement> split : record.getAsJsonObject("splits").entrySet()) {
+                if (!split.getValue().isJsonObject()) continue;
+                long ticks = split.getValue().getAsJsonObject().get("ticks").getAsLong();
+                if (ticks > 0) board(key(run.category(), SPLIT_PREFIX + split.getKey()), true).offer(new GSRTopK.Entry(ticks, players, run.world(), run.timestamp()));
+            }
+        }
+
+        if (record.has("awards")) {
+            JsonObject awards = record.getAsJsonObject("awards");
+            if (awards.has("dragon_warrior") && awards.has("dragon_warrior_v")) {
+                double damage = awards.get("dragon_warrior_v").getAsDouble();
+                if (damage > 0) {
+                    board(DRAGON_DAMAGE, false).offer(new GSRTopK.Entry(damage, awards.get("dragon_warrior").getAsString(), run.world(), run.timestamp()));
+                }
+            }
+        }
+    }
+
+    // Internal key of a board; only the timed ones depend on the split layout
+    private static String key(String layout, String category) {
+        return isDamageBoard(category) ? category : layout + "|" + category;
+    }
+
+    private static GSRTopK board(String category, boolean lowerIsBetter) {
+        return BOARDS.computeIfAbsent(category, c -> new GSRTopK(SIZE, lowerIsBetter));
+    }
+
+    private static void publish() {
+        Map<String, List<GSRTopK.Entry>> next = new HashMap<>();
+        for (Map.Entry<String, GSRTopK> entry : BOARDS.entrySet()) next.put(entry.getKey(), entry.getValue().sorted());
+        snapshot = Map.copyOf(next);
+    }
+
+    // --- [ QUERIES ] ---
+
+    /**
+     * Categories with at least one entry for a split layout, fixed boards first.
+     * @param layout Category of the split table, from {@link GSRComparisonManager#categoryOf}.
+     */
+    public static List<String> categories(String layout) {
+        Map<String, List<GSRTopK.Entry>> current = snapshot;
+        String prefix = layout + "|";
+        List<String> result = new ArrayList<>();
+        for (String fixed : List.of(FASTEST, FASTEST_LRT, DRAGON_DAMAGE)) {
+            if (current.containsKey(key(layout, fixed))) result.add(fixed);
+        }
+        current.keySet().stream()
+                .filter(k -> k.startsWith(prefix + SPLIT_PREFIX))
+                .map(k -> k.substring(prefix.length()))
+                .sorted()
+                .forEach(result::add);
+        return result;
+    }
+
+    /**
+     * The board for a category within a split layout, best first; empty if unknown.
+     */
+    public static List<GSRTopK.Entry> get(String layout, String category) {
+        return snapshot.getOrDefault(key(layout, category), List.of());
+    }
+
+    public static boolean isDamageBoard(String category) {
+        return DRAGON_DAMAGE.equals(category);
+    }
+}
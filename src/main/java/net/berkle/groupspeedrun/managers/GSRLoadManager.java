@@ -0,0 +1,138 @@
+package net.berkle.groupspeedrun.managers;
+
+import net.berkle.groupspeedrun.GSRMain;
+import net.berkle.groupspeedrun.config.GSRConfigWorld;
+import net.minecraft.server.MinecraftServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adaptive load shedding.
+ * Measures how long each server tick takes and, once the smoothed MSPT crosses the thresholds
+ * in {@link GSRConfigWorld}, steps non-critical GSR work down to lower rates.
+ * Deaths, splits and victory are never throttled; only sampling, polling, syncing and saving are.
+ */
+public class GSRLoadManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger("GSR-Load");
+
+    // Smoothing factor for the tick-time moving average (roughly a 1-second window at 20 TPS)
+    private static final double EMA_ALPHA = 0.05;
+    // Levels only drop once MSPT falls this far below the threshold that raised them
+    private static final double RECOVERY_RATIO = 0.8;
+    // How often (in ticks) the level is re-evaluated
+    private static final int EVALUATE_INTERVAL = 20;
+
+    /**
+     * Degradation steps. Each level lowers the rate of non-critical work.
+     *
+     * @param distanceInterval  Ticks between distance samples per player.
+     * @param structureInterval Ticks between Nether structure checks per player.
+     * @param armorInterval     Ticks between armor polls per player.
+     * @param syncInterval      Ticks between client syncs.
+     * @param saveInterval      Ticks between disk saves (always a multiple of syncInterval).
+     */
+    public enum Level {
+        NORMAL(1, 1, 20, 100, 100),
+        LIGHT(2, 2, 40, 200, 200),
+        HEAVY(4, 5, 100, 400, 800),
+        CRITICAL(8, 10, 200, 600, 1200);
+
+        public final int distanceInterval;
+        public final int structureInterval;
+        public final int armorInterval;
+        public final int syncInterval;
+        public final int saveInterval;
+
+        Level(int distanceInterval, int structureInterval, int armorInterval, int syncInterval, int saveInterval) {
+            this.distanceInterval = distanceInterval;
+            this.structureInterval = structureInterval;
+            this.armorInterval = armorInterval;
+            this.syncInterval = syncInterval;
+            this.saveInterval = saveInterval;
+        }
+    }
+
+    private static volatile Level level = Level.NORMAL;
+    private static long tickStartNanos = 0;
+    private static long lastIntervalNanos = 0;
+    private static double averageMspt = 0;
+
+    /**
+     * Called at the very start of every server tick.
+     * Also records the start-to-start interval used by the load-removed timer.
+     */
+    public static void onTickStart() {
+        long now = System.nanoTime();
+        lastIntervalNanos = tickStartNanos == 0 ? 0 : now - tickStartNanos;
+        tickStartNanos = now;
+    }
+
+    /**
+     * Called at the end of every server tick. Updates the moving average and re-evaluates the level.
+     */
+    public static void onTickEnd(MinecraftServer server) {
+        if (tickStartNanos == 0) return;
+        double tickMs = (System.nanoTime() - tickStartNanos) / 1_000_000.0;
+        averageMspt = averageMspt == 0 ? tickMs : averageMspt + EMA_ALPHA * (tickMs - averageMspt);
+
+        if (server.getTicks() % EVALUATE_INTERVAL == 0) {
+            evaluate(GSRMain.CONFIG);
+        }
+    }
+
+    private static void evaluate(GSRConfigWorld config) {
+        if (config == null || !config.loadSheddingEnabled) {
+            setLevel(Level.NORMAL);
+            return;
+        }
+
+        Level target = Level.NORMAL;
+        if (averageMspt >= config.msptCritical) target = Level.CRITICAL;
+        else if (averageMspt >= config.msptHeavy) target = Level.HEAVY;
+        else if (averageMspt >= config.msptLight) target = Level.LIGHT;
+
+        // Hysteresis: only step down once we are comfortably below the current level's threshold
+        if (target.ordinal() < level.ordinal() && averageMspt >= thresholdFor(level, config) * RECOVERY_RATIO) {
+            return;
+        }
+        setLevel(target);
+    }
+
+    private static double thresholdFor(Level l, GSRConfigWorld config) {
+        return switch (l) {
+            case NORMAL -> 0;
+            case LIGHT -> config.msptLight;
+            case HEAVY -> config.msptHeavy;
+            case CRITICAL -> config.msptCritical;
+        };
+    }
+
+    private static void setLevel(Level next) {
+        if (next == level) return;
+        LOGGER.info("[GSR] Load level {} -> {} (avg {} mspt)", level, next, String.format("%.1f", averageMspt));
+        level = next;
+    }
+
+    public static Level getLevel() {
+        return level;
+    }
+
+    public static double getAverageMspt() {
+        return averageMspt;
+    }
+
+    /**
+     * Nanoseconds between the start of the previous tick and the start of the current one,
+     * or 0 on the first tick after a (re)start.
+     */
+    public static long getLastIntervalNanos() {
+        return lastIntervalNanos;
+    }
+
+    public static void reset() {
+        level = Level.NORMAL;
+        averageMspt = 0;
+        tickStartNanos = 0;
+        lastIntervalNanos = 0;
+    }
+}
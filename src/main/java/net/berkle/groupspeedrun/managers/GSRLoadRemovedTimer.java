@@ -0,0 +1,39 @@
+package net.berkle.groupspeedrun.managers;
+
+import net.berkle.groupspeedrun.config.GSRConfigWorld;
+
+/**
+ * Tick-based "load-removed" in-game timer.
+ * Advances only by the measured interval between healthy server ticks. Any interval longer
+ * than {@link GSRConfigWorld#stallThresholdMs} (autosaves, chunk generation stalls, lag spikes)
+ * is credited as a single nominal tick instead, so the stall itself never counts against the group.
+ */
+public class GSRLoadRemovedTimer {
+
+    private static final long NOMINAL_TICK_NANOS = 50_000_000L;
+
+    // Sub-millisecond remainder carried between ticks so rounding never drifts the timer
+    private static long remainderNanos = 0;
+
+    /**
+     * Called once per server tick while the run is tracking.
+     * @param intervalNanos Time since the previous tick started, as measured by {@link GSRLoadManager}.
+     */
+    public static void advance(GSRConfigWorld config, long intervalNanos) {
+        if (config == null || intervalNanos <= 0) return;
+
+        long stallNanos = config.stallThresholdMs * 1_000_000L;
+        long credited = intervalNanos > stallNanos ? NOMINAL_TICK_NANOS : intervalNanos;
+
+        remainderNanos += credited;
+        long wholeMs = remainderNanos / 1_000_000L;
+        if (wholeMs > 0) {
+            config.loadRemovedTime += wholeMs;
+            remainderNanos -= wholeMs * 1_000_000L;
+        }
+    }
+
+    public static void reset() {
+        remainderNanos = 0;
+    }
+}
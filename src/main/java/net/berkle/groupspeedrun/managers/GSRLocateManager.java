@@ -0,0 +1,419 @@
+package net.berkle.groupspeedrun.managers;
+
+import net.berkle.groupspeedrun.GSRMain;
+import net.berkle.groupspeedrun.config.GSRConfigWorld;
+import net.berkle.groupspeedrun.history.GSREventType;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.OptionalChunk;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.structure.StructureStart;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.StructurePresence;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkStatus;
+import net.minecraft.world.gen.chunk.placement.ConcentricRingsStructurePlacement;
+import net.minecraft.world.gen.chunk.placement.RandomSpreadStructurePlacement;
+import net.minecraft.world.gen.chunk.placement.StructurePlacement;
+import net.minecraft.world.gen.chunk.placement.StructurePlacementCalculator;
+import net.minecraft.world.gen.structure.Structure;
+import net.minecraft.world.gen.structure.StructureKeys;
+import net.minecraft.structure.StructureSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Background structure locator for /gsr locate.
+ *
+ * A locate runs in two halves:
+ * 1. A worker thread walks the structure placement rules (pure seed math) and queues candidate chunks
+ *    ring by ring, nearest first, exactly like the vanilla search order.
+ * 2. The server thread verifies queued candidates against the world each tick, within a small time budget,
+ *    and stops at the first ring that contains a real structure start. Candidates whose chunk has not been
+ *    generated far enough are requested asynchronously and checked in a later tick, so no chunk is ever
+ *    loaded or generated on the server thread. They are kept loaded with the pregenerator's ticket until
+ *    checked, and a request that comes back unloaded or failed is retried rather than counted as a miss.
+ *
+ * The command returns immediately. There is at most one job per structure type; toggling the same type
+ * again cancels it.
+ */
+public class GSRLocateManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger("GSR-Locate");
+
+    // Same search radius the synchronous locate used (in placement regions)
+    private static final int SEARCH_RADIUS = 100;
+    // Server-thread verification budget per tick, in nanoseconds, at the NORMAL load level
+    private static final long TICK_BUDGET_NANOS = 4_000_000L;
+    // How often (ticks) the requester sees a progress message
+    private static final int PROGRESS_INTERVAL = 40;
+    // Candidate chunks a job may have generating at once
+    private static final int MAX_IN_FLIGHT = 8;
+    // Requests per candidate before a chunk that keeps coming back unloaded or failed is given up on
+    private static final int MAX_ATTEMPTS = 4;
+
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "GSR-Locate");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Map<String, LocateJob> JOBS = new HashMap<>();
+
+    /**
+     * A candidate whose chunk is being generated. The chunk holds a {@link GSRChunkPregenerator#TICKET} until it
+     * resolves, so it cannot unload between the request and the check.
+     */
+    private record PendingChunk(ChunkPos candidate, CompletableFuture<OptionalChunk<Chunk>> future, int attempt) {}
+
+    /**
+     * One in-flight search. Fields touched by the worker are volatile or concurrent.
+     */
+    private static final class LocateJob {
+        final String type;
+        final ServerWorld world;
+        final Structure structure;
+        final StructurePlacement placement;
+        final BlockPos origin;
+        final UUID requester;
+
+        // Rings of candidate chunks, nearest ring first; each ring sorted by distance
+        final ConcurrentLinkedQueue<List<ChunkPos>> rings = new ConcurrentLinkedQueue<>();
+        volatile boolean producerDone = false;
+        volatile boolean cancelled = false;
+
+        Iterator<ChunkPos> currentRing;
+        // Candidates of the current ring waiting for their chunk to reach structure starts
+        final List<PendingChunk> inFlight = new ArrayList<>();
+        BlockPos bestInRing;
+        double bestDistance = Double.MAX_VALUE;
+        int ringsChecked = 0;
+        int candidatesChecked = 0;
+        // Candidates given up on after MAX_ATTEMPTS; the result may then not be the nearest
+        int candidatesSkipped = 0;
+        int ticksRunning = 0;
+
+        LocateJob(String type, ServerWorld world, Structure structure, StructurePlacement placement, BlockPos origin, UUID requester) {
+            this.type = type;
+            this.world = world;
+            this.structure = structure;
+            this.placement = placement;
+            this.origin = origin;
+            this.requester = requester;
+        }
+    }
+
+    public static RegistryKey<Structure> structureKeyFor(String type) {
+        return switch (type.toLowerCase(Locale.ROOT)) {
+            case "bastion" -> StructureKeys.BASTION_REMNANT;
+            case "stronghold" -> StructureKeys.STRONGHOLD;
+            case "ship" -> StructureKeys.END_CITY;
+            default -> StructureKeys.FORTRESS;
+        };
+    }
+
+    public static boolean isRunning(String type) {
+        return JOBS.containsKey(type.toLowerCase(Locale.ROOT));
+    }
+
+    // --- [ JOB CONTROL ] ---
+
+    /**
+     * Starts a background locate from the command source's position.
+     * @return false if the structure cannot generate in this dimension.
+     */
+    public static boolean start(ServerCommandSource source, String type) {
+        ServerPlayerEntity player = source.getPlayer();
+        if (player == null) return false;
+        String key = type.toLowerCase(Locale.ROOT);
+        if (JOBS.containsKey(key)) return true;
+
+        ServerWorld world = source.getWorld();
+        var structureEntry = world.getRegistryManager().getOrThrow(RegistryKeys.STRUCTURE).getOptional(structureKeyFor(type));
+        if (structureEntry.isEmpty()) return false;
+        Structure structure = structureEntry.get().value();
+
+        StructurePlacementCalculator calculator = world.getChunkManager().getStructurePlacementCalculator();
+        StructurePlacement placement = findPlacement(calculator, structure);
+        if (placement == null) return false;
+
+        // Known structure close enough to answer without searching
+        BlockPos cached = GSRStructureCache.nearest(world, type, player.getBlockPos(), placement);
+        if (cached != null) {
+            publish(source.getServer(), type, cached);
+            return true;
+        }
+
+        LocateJob job = new LocateJob(type, world, structure, placement, player.getBlockPos(), player.getUuid());
+        JOBS.put(key, job);
+        WORKER.execute(() -> produceCandidates(job, calculator));
+
+        source.sendFeedback(() -> Text.literal("§6[GSR] §7Searching for §f" + type + "§7..."), false);
+        return true;
+    }
+
+    public static void cancel(String type) {
+        LocateJob job = JOBS.remove(type.toLowerCase(Locale.ROOT));
+        if (job != null) stop(job);
+    }
+
+    public static void cancelAll() {
+        for (LocateJob job : JOBS.values()) stop(job);
+        JOBS.clear();
+    }
+
+    private static void stop(LocateJob job) {
+        job.cancelled = true;
+        for (PendingChunk pending : job.inFlight) release(job, pending.candidate());
+        job.inFlight.clear();
+    }
+
+    static StructurePlacement findPlacement(StructurePlacementCalculator calculator, Structure structure) {
+        for (RegistryEntry<StructureSet> set : calculator.getStructureSets()) {
+            for (StructureSet.WeightedEntry entry : set.value().structures()) {
+                if (entry.structure().value() == structure) return set.value().placement();
+            }
+        }
+        return null;
+    }
+
+    // --- [ WORKER: PLACEMENT MATH ] ---
+
+    private static void produceCandidates(LocateJob job, StructurePlacementCalculator calculator) {
+        try {
+            ChunkPos originChunk = new ChunkPos(job.origin);
+            Comparator<ChunkPos> nearest = Comparator.comparingDouble(pos -> distanceSq(job.origin, pos));
+
+            if (job.placement instanceof ConcentricRingsStructurePlacement rings) {
+                // Strongholds: the ring positions are precomputed by the calculator; treat them as one ring
+                List<ChunkPos> positions = calculator.getPlacementPositions(rings);
+                if (positions != null && !job.cancelled) {
+                    List<ChunkPos> sorted = new ArrayList<>(positions);
+                    sorted.sort(nearest);
+                    job.rings.add(sorted);
+                }
+            } else if (job.placement instanceof RandomSpreadStructurePlacement spread) {
+                long seed = calculator.getStructureSeed();
+                int spacing = spread.getSpacing();
+                int regionX = Math.floorDiv(originChunk.x, spacing);
+                int regionZ = Math.floorDiv(originChunk.z, spacing);
+
+                for (int r = 0; r <= SEARCH_RADIUS && !job.cancelled; r++) {
+                    List<ChunkPos> ring = new ArrayList<>();
+                    for (int dx = -r; dx <= r; dx++) {
+                        boolean edgeX = Math.abs(dx) == r;
+                        for (int dz = -r; dz <= r; dz++) {
+                            if (!edgeX && Math.abs(dz) != r) continue;
+                            int chunkX = (regionX + dx) * spacing;
+                            int chunkZ = (regionZ + dz) * spacing;
+                            ChunkPos start = spread.getStartChunk(seed, chunkX, chunkZ);
+                            if (spread.shouldGenerate(calculator, start.x, start.z)) ring.add(start);
+                        }
+                    }
+                    if (!ring.isEmpty()) {
+                        ring.sort(nearest);
+                        job.rings.add(ring);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("[GSR] Locate worker failed for {}", job.type, e);
+        } finally {
+            job.producerDone = true;
+        }
+    }
+
+    private static double distanceSq(BlockPos origin, ChunkPos pos) {
+        double dx = pos.getCenterX() - origin.getX();
+        double dz = pos.getCenterZ() - origin.getZ();
+        return dx * dx + dz * dz;
+    }
+
+    // --- [ SERVER THREAD: VERIFICATION ] ---
+
+    /**
+     * Verifies queued candidates for every job within this tick's budget. Called every server tick.
+     */
+    public static void tick(MinecraftServer server) {
+        if (JOBS.isEmpty()) return;
+
+        long budget = TICK_BUDGET_NANOS;
+        GSRLoadManager.Level load = GSRLoadManager.getLevel();
+        if (load.ordinal() >= GSRLoadManager.Level.HEAVY.ordinal()) budget /= 4;
+        else if (load == GSRLoadManager.Level.LIGHT) budget /= 2;
+        long deadline = System.nanoTime() + budget;
+
+        Iterator<LocateJob> it = JOBS.values().iterator();
+        while (it.hasNext()) {
+            LocateJob job = it.next();
+            job.ticksRunning++;
+            if (job.cancelled) {
+                it.remove();
+                stop(job);
+                continue;
+            }
+
+            BlockPos found = advance(job, deadline);
+            if (found != null) {
+                it.remove();
+                GSRStructureCache.record(job.world, job.type, found);
+                GSRStructureCache.save(server);
+                publish(server, job.type, found);
+            } else if (job.producerDone && job.rings.isEmpty() && job.currentRing == null && job.inFlight.isEmpty()) {
+                it.remove();
+                String skipped = job.candidatesSkipped > 0 ? " §7(" + job.candidatesSkipped + " candidate chunks could not be loaded)" : "";
+                notify(server, job, "§6[GSR] §cCould not find " + job.type + " in this dimension." + skipped);
+            } else if (job.ticksRunning % PROGRESS_INTERVAL == 0) {
+                notify(server, job, "§6[GSR] §7Still searching for §f" + job.type + "§7: " + job.ringsChecked
+                        + " rings, " + job.candidatesChecked + " candidates checked");
+            }
+        }
+    }
+
+    /**
+     * Checks candidates until the deadline. Returns the located position once a ring with a hit is finished.
+     */
+    private static BlockPos advance(LocateJob job, long deadline) {
+        // Candidates whose chunks finished generating since the last tick
+        ListIterator<PendingChunk> pendingIt = job.inFlight.listIterator();
+        while (pendingIt.hasNext()) {
+            PendingChunk pending = pendingIt.next();
+            if (!pending.future().isDone()) continue;
+            Chunk chunk = pending.future().isCompletedExceptionally() ? null : pending.future().join().orElse(null);
+            if (chunk == null && pending.attempt() < MAX_ATTEMPTS) {
+                // Unloaded or failed is not "no start": ask again, the ticket is still held
+                pendingIt.set(request(job, pending.candidate(), pending.attempt() + 1));
+                continue;
+            }
+            if (chunk == null) {
+                job.candidatesSkipped++;
+                LOGGER.warn("[GSR] Gave up on candidate chunk {} while locating {}", pending.candidate(), job.type);
+            } else {
+                verify(job, pending.candidate(), chunk);
+            }
+            release(job, pending.candidate());
+            pendingIt.remove();
+        }
+
+        while (System.nanoTime() < deadline) {
+            if (job.currentRing == null) {
+                List<ChunkPos> next = job.rings.poll();
+                if (next == null) return null;
+                job.currentRing = next.iterator();
+            }
+
+            if (!job.currentRing.hasNext()) {
+                // A ring is finished only once its generating candidates are checked too
+                if (!job.inFlight.isEmpty()) return null;
+                job.currentRing = null;
+                job.ringsChecked++;
+                // Vanilla semantics: the nearest hit in the first ring that has one
+                if (job.bestInRing != null) return job.bestInRing;
+                continue;
+            }
+
+            if (job.inFlight.size() >= MAX_IN_FLIGHT) return null;
+            ChunkPos candidate = job.currentRing.next();
+            job.candidatesChecked++;
+            check(job, candidate);
+        }
+        return null;
+    }
+
+    private static void check(LocateJob job, ChunkPos candidate) {
+        StructurePresence presence = job.world.getStructureAccessor().getStructurePresence(candidate, job.structure, job.placement, false);
+        if (presence == StructurePresence.START_NOT_PRESENT) {
+            GSRStructureCache.recordMiss(job.world, job.type, candidate);
+            return;
+        }
+        if (presence == StructurePresence.START_PRESENT) {
+            consider(job, candidate);
+            return;
+        }
+
+        // Unknown: the chunk must reach structure starts, like vanilla locate does, but it is never loaded here
+        Chunk chunk = job.world.getChunk(candidate.x, candidate.z, ChunkStatus.STRUCTURE_STARTS, false);
+        if (chunk != null) {
+            verify(job, candidate, chunk);
+            return;
+        }
+        job.world.getChunkManager().addTicket(GSRChunkPregenerator.TICKET, candidate, 0);
+        job.inFlight.add(request(job, candidate, 1));
+    }
+
+    // The request's own ticket lapses after a tick; the caller holds TICKET on the chunk for as long as it is pending
+    private static PendingChunk request(LocateJob job, ChunkPos candidate, int attempt) {
+        return new PendingChunk(candidate,
+                job.world.getChunkManager().getChunkFutureSyncOnMainThread(candidate.x, candidate.z, ChunkStatus.STRUCTURE_STARTS, true),
+                attempt);
+    }
+
+    private static void release(LocateJob job, ChunkPos candidate) {
+        job.world.getChunkManager().removeTicket(GSRChunkPregenerator.TICKET, candidate, 0);
+    }
+
+    // Misses are remembered so the structure cache knows which candidates a cached hit has beaten
+    private static void verify(LocateJob job, ChunkPos candidate, Chunk chunk) {
+        if (hasStart(job, chunk)) consider(job, candidate);
+        else GSRStructureCache.recordMiss(job.world, job.type, candidate);
+    }
+
+    private static boolean hasStart(LocateJob job, Chunk chunk) {
+        StructureStart start = job.world.getStructureAccessor().getStructureStart(ChunkSectionPos.from(chunk), job.structure, chunk);
+        return start != null && start.hasChildren();
+    }
+
+    private static void consider(LocateJob job, ChunkPos candidate) {
+        BlockPos pos = job.placement.getLocatePos(candidate);
+        double distance = pos.getSquaredDistance(job.origin);
+        if (distance < job.bestDistance) {
+            job.bestDistance = distance;
+            job.bestInRing = pos;
+        }
+    }
+
+    // --- [ PUBLISHING ] ---
+
+    private static void publish(MinecraftServer server, String type, BlockPos pos) {
+        GSRConfigWorld config = GSRMain.CONFIG;
+        if (config == null) return;
+
+        switch (type.toLowerCase(Locale.ROOT)) {
+            case "fortress" -> { config.fortressX = pos.getX(); config.fortressZ = pos.getZ(); config.fortressActive = true; }
+            case "bastion" -> { config.bastionX = pos.getX(); config.bastionZ = pos.getZ(); config.bastionActive = true; }
+            case "stronghold" -> { config.strongholdX = pos.getX(); config.strongholdZ = pos.getZ(); config.strongholdActive = true; }
+            case "ship" -> { config.shipX = pos.getX(); config.shipZ = pos.getZ(); config.shipActive = true; }
+        }
+        GSREventLogManager.record(server, GSREventType.LOCATE, null, type.toLowerCase(Locale.ROOT), pos.getX(), pos.getZ());
+        GSRMain.saveAndSync(server);
+
+        // GLOBAL BROADCAST: Notify everyone of the found coordinates
+        server.getPlayerManager().broadcast(
+                Text.literal("§6[GSR] §f" + type + " §7located at §a" + pos.getX() + ", " + pos.getZ() + " §7(HUD Updated)"), false);
+    }
+
+    private static void notify(MinecraftServer server, LocateJob job, String message) {
+        ServerPlayerEntity player = server.getPlayerManager().getPlayer(job.requester);
+        if (player != null) player.sendMessage(Text.literal(message), false);
+    }
+}
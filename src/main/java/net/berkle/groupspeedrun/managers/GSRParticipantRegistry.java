@@ -0,0 +1,183 @@
+package net.berkle.groupspeedrun.managers;
+
+import net.berkle.groupspeedrun.GSRStats;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
+import net.berkle.groupspeedrun.util.GSRParallel;
+import net.minecraft.advancement.AdvancementEntry;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.stat.Stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Everyone who took part in the current run, whether they are still online or not.
+ *
+ * Players are registered when the timer starts and when they join mid-run. An entry keeps the display name
+ * and the vanilla stats awards need (mob kills, visible advancements), refreshed while the player is online
+ * and once more as they leave, so awards never have to touch a player entity. Entries are saved and cleared
+ * together with {@link GSRStats}.
+ *
+ * Registration and refreshes happen on the server thread; participants can be read from any thread.
+ */
+public class GSRParticipantRegistry {
+
+    /**
+     * One participant. {@code slot} is their position in join order, which is also their award column.
+     */
+    public static final class Participant {
+        private final UUID id;
+        private final int slot;
+        private volatile String name;
+        private volatile int mobKills;
+        private volatile int advancements;
+
+        private Participant(UUID id, int slot, String name, int mobKills, int advancements) {
+            this.id = id;
+            this.slot = slot;
+            this.name = name;
+            this.mobKills = mobKills;
+            this.advancements = advancements;
+        }
+
+        public UUID id() {
+            return id;
+        }
+
+        public int slot() {
+            return slot;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public int mobKills() {
+            return mobKills;
+        }
+
+        public int advancements() {
+            return advancements;
+        }
+    }
+
+    /**
+     * Persisted form of a participant, in slot order.
+     */
+    public record Saved(UUID id, String name, int mobKills, int advancements) {}
+
+    private static final Map<UUID, Participant> BY_ID = new ConcurrentHashMap<>();
+    private static final List<Participant> SLOTS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Starts a fresh registry with everyone online. Called when the timer starts.
+     */
+    public static void begin(MinecraftServer server) {
+        reset();
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) register(player);
+    }
+
+    /**
+     * Registers a player joining while the run is underway.
+     */
+    public static void onJoin(ServerPlayerEntity player) {
+        if (GSRRunStateMachine.get().hasStarted() && !GSRRunStateMachine.get().isFinished()) register(player);
+    }
+
+    /**
+     * Takes a last reading of a participant's vanilla stats before their entity goes away.
+     */
+    public static void onDisconnect(MinecraftServer server, ServerPlayerEntity player) {
+        Participant participant = BY_ID.get(player.getUuid());
+        if (participant == null) return;
+        refresh(participant, player, visibleAdvancements(server));
+        GSRStats.markDirty();
+    }
+
+    /**
+     * Registers everyone online and refreshes their cached stats.
+     * @param advancements Also recount advancements; only the roast awards need them.
+     */
+    public static void refreshOnline(MinecraftServer server, boolean advancements) {
+        List<ServerPlayerEntity> players = server.getPlayerManager().getPlayerList();
+        Participant[] participants = new Participant[players.size()];
+        for (int i = 0; i < participants.length; i++) participants[i] = register(players.get(i));
+
+        List<AdvancementEntry> visible = advancements ? visibleAdvancements(server) : null;
+        // Each refresh writes only its own participant, so large lobbies are read concurrently
+        GSRParallel.forEach(participants.length, i -> refresh(participants[i], players.get(i), visible));
+    }
+
+    /**
+     * Every participant in slot order. An immutable copy.
+     */
+    public static List<Participant> all() {
+        return List.copyOf(SLOTS);
+    }
+
+    public static void reset() {
+        BY_ID.clear();
+        SLOTS.clear();
+    }
+
+    // --- [ INTERNALS ] ---
+
+    private static Participant register(ServerPlayerEntity player) {
+        Participant participant = BY_ID.get(player.getUuid());
+        if (participant != null) {
+            participant.name = player.getName().getString();
+            return participant;
+        }
+        participant = new Participant(player.getUuid(), SLOTS.size(), player.getName().getString(), 0, 0);
+        BY_ID.put(participant.id, participant);
+        SLOTS.add(participant);
+        GSRStats.markDirty();
+        return participant;
+    }
+
+    private static void refresh(Participant participant, ServerPlayerEntity player, List<AdvancementEntry> visible) {
+        participant.name = player.getName().getString();
+        participant.mobKills = player.getStatHandler().getStat(Stats.CUSTOM.getOrCreateStat(Stats.MOB_KILLS));
+        if (visible == null) return;
+        int done = 0;
+        for (AdvancementEntry entry : visible) {
+            if (player.getAdvancementTracker().getProgress(entry).isDone()) done++;
+        }
+        participant.advancements = done;
+    }
+
+    // Advancements with a display (the ones players can see)
+    private static List<AdvancementEntry> visibleAdvancements(MinecraftServer server) {
+        List<AdvancementEntry> visible = new ArrayList<>();
+        for (AdvancementEntry entry : server.getAdvancementLoader().getAdvancements()) {
+            if (entry.value().display().isPresent()) visible.add(entry);
+        }
+        return visible;
+    }
+
+    // --- [ PERSISTENCE ] ---
+
+    public static List<Saved> save() {
+        List<Saved> saved = new ArrayList<>();
+        for (Participant participant : SLOTS) {
+            saved.add(new Saved(participant.id, participant.name, participant.mobKills, participant.advancements));
+        }
+        return saved;
+    }
+
+    public static void load(List<Saved> saved) {
+        reset();
+        for (Saved entry : saved) {
+            if (entry == null || entry.id() == null || BY_ID.containsKey(entry.id())) continue;
+            Participant participant = new Participant(entry.id(), SLOTS.size(),
+                    entry.name() == null ? entry.id().toString() : entry.name(), entry.mobKills(), entry.advancements());
+            BY_ID.put(participant.id, participant);
+            SLOTS.add(participant);
+        }
+    }
+}
@@ -2,223 +2,367 @@ package net.berkle.groupspeedrun.managers;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import net.berkle.groupspeedrun.GSREvents;
+import net.berkle.groupspeedrun.GSRMain;
 import net.berkle.groupspeedrun.GSRStats;
+import net.berkle.groupspeedrun.history.GSRAwardCalculator;
+import net.berkle.groupspeedrun.history.GSREventLogDecoder;
+import net.berkle.groupspeedrun.history.GSRHistoryStore;
+import net.berkle.groupspeedrun.history.GSRLegacyHistoryImporter;
+import net.berkle.groupspeedrun.history.GSRRetentionPolicy;
+import net.berkle.groupspeedrun.history.GSRRunRecord;
+import net.berkle.groupspeedrun.history.GSRRunSummary;
 import net.berkle.groupspeedrun.util.GSRFormatUtil;
-import net.minecraft.advancement.AdvancementEntry;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.stat.Stats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.function.ToDoubleFunction;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages the end-of-run lifecycle: calculating awards based on tracked stats,
- * broadcasting results to chat, and saving run data to permanent JSON storage.
+ * broadcasting results to chat, and appending run data to the history store in GSR_History.
  */
 public class GSRRunHistoryManager {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final Logger LOGGER = LoggerFactory.getLogger("GSR-History");
+    public static final String HISTORY_DIR = "GSR_History";
+
+    // Stopped on shutdown and recreated when the next server (e.g. another singleplayer world) opens the store
+    private static volatile ExecutorService historyIo = newHistoryExecutor();
+    // Finalizations whose record has not reached the store yet
+    private static final Set<CompletableFuture<?>> IN_FLIGHT = ConcurrentHashMap.newKeySet();
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    // Replaced on the server thread, read by the finalization stages
+    private static volatile CompletableFuture<GSRHistoryStore> store = CompletableFuture.completedFuture(null);
+    // Compaction runs when the store opens and again after this many new runs
+    private static final int COMPACT_EVERY = 50;
+    // History IO thread only
+    private static int runsSinceCompaction = 0;
 
     /**
-     * Finalizes the speedrun data.
-     * * @param status "SUCCESS" for dragon kills, "FAILURE" for player deaths.
+     * Everything finalization needs, captured on the server thread the moment the run ends.
+     * Nothing here refers to live game state, so the later stages can run on any thread.
+     * {@code splits} is built for this snapshot and never modified afterwards.
+     */
+    private record RunSnapshot(String status, String loserName, String deathMsg, long ticks, long lrtTicks,
+                               String world, long timestamp, String category, List<String> participants, JsonObject splits,
+                               String[] names, double[][] columns, boolean dragonDamaged, int podium, GSRRetentionPolicy policy) {
+        boolean success() {
+            return status.equalsIgnoreCase("SUCCESS");
+        }
+    }
+
+    /**
+     * Finalizes the speedrun data as a staged pipeline, so the tick the run ends on stays cheap:
+     * <ol>
+     *     <li>Server thread: snapshot stats, splits and participants, close the event log, reset stats.</li>
+     *     <li>Worker thread: compute the awards from the snapshot.</li>
+     *     <li>Server thread: broadcast the results once the awards are ready.</li>
+     *     <li>History IO thread: append the record, update leaderboards and statistics.</li>
+     * </ol>
+     * @param status "SUCCESS" for dragon kills, "FAILURE" for player deaths.
      * @param loserName The name of the player who died (if any).
      * @param deathMsg The death message to broadcast.
      */
     public static void saveRun(MinecraftServer server, String status, String loserName, String deathMsg) {
+        RunSnapshot run;
+        CompletableFuture<byte[]> events;
         try {
-            // Retrieve total ticks elapsed from the unified event system
-            long totalTicks = GSREvents.getRunTicks(server);
+            run = capture(server, status, loserName, deathMsg);
 
-            // Generate the final awards and statistics JSON
-            JsonObject awards = calculateAwards(server, status, loserName);
+            // Close the event log; it is stored with the run once the writer has flushed it
+            events = GSREventLogManager.finish(server, run.success());
 
-            // Announce results in the server chat
-            if (status.equalsIgnoreCase("SUCCESS")) {
-                GSRBroadcastManager.broadcastVictory(server, totalTicks, awards);
-            } else {
-                GSRBroadcastManager.broadcastFailure(server, totalTicks, loserName, deathMsg, awards);
-            }
+            // Fold this run into the PB / best-segment comparisons
+            GSRComparisonManager.onRunFinished(server, run.success(), run.ticks());
 
-            // Persist the data to a JSON file for future reference/leaderboards
-            saveToFile(server, status, totalTicks, awards, loserName);
-
-            // Wipe internal stat maps to prepare for a clean new run
+            // Wipe internal stat maps to prepare for a clean new run; the snapshot already holds them
             GSRStats.reset();
         } catch (Exception e) {
             LOGGER.error("Failed to finalize run history!", e);
-        }
-    }
-
-    /**
-     * Determines which players earn which titles.
-     * Logic ensures a player generally only gets one "Main Stat" award.
-     */
-    public static JsonObject calculateAwards(MinecraftServer server, String status, String loserName) {
-        List<ServerPlayerEntity> players = server.getPlayerManager().getPlayerList();
-        JsonObject awards = new JsonObject();
-        Set<UUID> assigned = new HashSet<>(); // Tracks players who already received a high-priority award
-
-        // --- 1. PRIORITY #1: DRAGON WARRIOR ---
-        // This is calculated first as it is the most prestigious award.
-        if (!GSRStats.DRAGON_DAMAGE_MAP.isEmpty()) {
-            setStat(players, "dragon_warrior", p -> (double) GSRStats.DRAGON_DAMAGE_MAP.getOrDefault(p.getUuid(), 0f), awards, assigned, true);
-        } else if (status.equalsIgnoreCase("SUCCESS")) {
-            awards.addProperty("dragon_warrior", "Environmental Damage");
-            awards.addProperty("dragon_warrior_v", 0.0);
+            return;
         }
 
-        // Exclude the player who failed the run (died) from receiving positive awards
-        players.stream()
-                .filter(p -> p.getName().getString().equalsIgnoreCase(loserName))
-                .findFirst()
-                .ifPresent(p -> assigned.add(p.getUuid()));
-
-        // --- 2. MAIN STAT MAPPING ---
-        // LinkedHashMap maintains the order of priority for these awards.
-        LinkedHashMap<String, ToDoubleFunction<ServerPlayerEntity>> statMap = new LinkedHashMap<>();
+        CompletableFuture<JsonObject> awards = CompletableFuture
+                .supplyAsync(() -> computeAwards(run.names(), run.columns(), run.status(), run.loserName(), run.dragonDamaged(), run.podium()))
+                .exceptionally(e -> {
+                    LOGGER.error("Failed to calculate awards!", e);
+                    return new JsonObject();
+                });
 
-        // Highest damage dealt to all entities
-        statMap.put("adc", p -> (double) GSRStats.TOTAL_DAMAGE_DEALT.getOrDefault(p.getUuid(), 0f));
+        // Announce results in the server chat
+        awards.thenAccept(result -> server.execute(() -> {
+            if (run.success()) {
+                GSRBroadcastManager.broadcastVictory(server, run.ticks(), run.lrtTicks(), result);
+            } else {
+                GSRBroadcastManager.broadcastFailure(server, run.ticks(), run.lrtTicks(), run.loserName(), run.deathMsg(), result);
+            }
+        }));
 
-        // NEW: Most Ender Pearls picked up during the run
-        statMap.put("pearl_hoarder", p -> (double) GSRStats.ENDER_PEARLS_COLLECTED.getOrDefault(p.getUuid(), 0));
+        // Append the run to the history store for future reference/leaderboards
+        CompletableFuture<Void> saved = awards.thenComposeAsync(result -> saveToStore(run, result, events), historyIo);
+        IN_FLIGHT.add(saved);
+        saved.whenComplete((ignored, e) -> IN_FLIGHT.remove(saved));
+    }
 
-        // Most potions consumed
-        statMap.put("brew_master", p -> (double) GSRStats.POTIONS_DRUNK.getOrDefault(p.getUuid(), 0));
+    private static RunSnapshot capture(MinecraftServer server, String status, String loserName, String deathMsg) {
+        // Players who left mid-run stay in the registry with their last reading
+        GSRParticipantRegistry.refreshOnline(server, GSRAwardCalculator.isRoast(status));
+        List<GSRParticipantRegistry.Participant> players = GSRParticipantRegistry.all();
+        String[] names = new String[players.size()];
+        double[][] columns = snapshot(players, names);
+
+        return new RunSnapshot(status, loserName, deathMsg,
+                // Retrieve total ticks elapsed from the unified event system
+                GSREvents.getRunTicks(server), GSREvents.getLoadRemovedTicks(),
+                server.getSaveProperties().getLevelName(), System.currentTimeMillis(),
+                GSRComparisonManager.categoryOf(GSRSplitManager.getTable()), List.of(names), buildSplitsJson(),
+                names, columns, !GSRStats.DRAGON_DAMAGE_MAP.isEmpty(), GSRMain.CONFIG.awardPodiumSize, retentionPolicy(server));
+    }
 
-        // Total blocks broken and placed
-        statMap.put("builder", p -> (double) (GSRStats.BLOCKS_BROKEN.getOrDefault(p.getUuid(), 0) + GSRStats.BLOCKS_PLACED.getOrDefault(p.getUuid(), 0)));
+    /**
+     * Current awards for every participant, computed on the calling thread. Used by the live stats preview.
+     */
+    public static JsonObject calculateAwards(MinecraftServer server, String status, String loserName) {
+        GSRParticipantRegistry.refreshOnline(server, GSRAwardCalculator.isRoast(status));
+        List<GSRParticipantRegistry.Participant> players = GSRParticipantRegistry.all();
+        String[] names = new String[players.size()];
+        double[][] columns = snapshot(players, names);
+        return computeAwards(names, columns, status, loserName, !GSRStats.DRAGON_DAMAGE_MAP.isEmpty(), GSRMain.CONFIG.awardPodiumSize);
+    }
 
-        // Total HP restored
-        statMap.put("healer", p -> (double) GSRStats.DAMAGE_HEALED.getOrDefault(p.getUuid(), 0f));
+    private static JsonObject computeAwards(String[] names, double[][] columns, String status, String loserName, boolean dragonDamaged, int podium) {
+        JsonObject awards = GSRAwardCalculator.compute(names, columns, status, loserName, dragonDamaged, podium);
+        System.out.println("[GSR-Debug] Final Awards JSON: " + awards.toString());
+        return awards;
+    }
 
-        // Total mobs killed (using vanilla stats)
-        statMap.put("killer", p -> (double) p.getStatHandler().getStat(Stats.CUSTOM.getOrCreateStat(Stats.MOB_KILLS)));
+    /**
+     * Reads every stat of every participant exactly once. {@code columns[stat][player]}.
+     * Works from the registry and the stat maps only; no player entity is touched.
+     */
+    private static double[][] snapshot(List<GSRParticipantRegistry.Participant> players, String[] names) {
+        int n = players.size();
+        double[][] columns = new double[GSRAwardCalculator.COLUMNS][n];
+
+        for (int i = 0; i < n; i++) {
+            GSRParticipantRegistry.Participant p = players.get(i);
+            UUID id = p.id();
+            names[i] = p.name();
+
+            // Highest damage dealt to all entities
+            columns[GSRAwardCalculator.COL_ADC][i] = GSRStats.TOTAL_DAMAGE_DEALT.getOrDefault(id, 0f);
+            // Most Ender Pearls picked up during the run
+            columns[1][i] = GSRStats.ENDER_PEARLS_COLLECTED.getOrDefault(id, 0);
+            // Most potions consumed
+            columns[2][i] = GSRStats.POTIONS_DRUNK.getOrDefault(id, 0);
+            // Total blocks broken and placed
+            columns[3][i] = GSRStats.BLOCKS_BROKEN.getOrDefault(id, 0) + GSRStats.BLOCKS_PLACED.getOrDefault(id, 0);
+            // Total HP restored
+            columns[4][i] = GSRStats.DAMAGE_HEALED.getOrDefault(id, 0f);
+            // Total mobs killed (vanilla stat, cached by the registry)
+            columns[5][i] = p.mobKills();
+            // Blaze Rod pickups during "Pog" moments (quickly after a kill)
+            columns[6][i] = GSRStats.POG_CHAMP_COUNT.getOrDefault(id, 0);
+            // Highest armor value achieved at any point
+            columns[7][i] = GSRStats.MAX_ARMOR_RATING.getOrDefault(id, 0);
+            // Total blocks traveled
+            columns[8][i] = GSRStats.DISTANCE_MOVED.getOrDefault(id, 0f);
+            // Total damage taken from any source
+            columns[GSRAwardCalculator.COL_TANK][i] = GSRStats.TOTAL_DAMAGE_TAKEN.getOrDefault(id, 0f);
+
+            columns[GSRAwardCalculator.COL_DRAGON][i] = GSRStats.DRAGON_DAMAGE_MAP.getOrDefault(id, 0f);
+            columns[GSRAwardCalculator.COL_INVENTORIES][i] = GSRStats.INVENTORIES_OPENED.getOrDefault(id, 0);
+            columns[GSRAwardCalculator.COL_ADVANCEMENTS][i] = p.advancements();
+        }
+        return columns;
+    }
 
-        // Blaze Rod pickups during "Pog" moments (quickly after a kill)
-        statMap.put("pog_champ", p -> (double) GSRStats.POG_CHAMP_COUNT.getOrDefault(p.getUuid(), 0));
+    /**
+     * Both timers for every split, in ticks (0 = not reached).
+     */
+    private static JsonObject buildSplitsJson() {
+        var config = GSRMain.CONFIG;
+        JsonObject splits = new JsonObject();
+        if (config == null) return splits;
+        for (int i = 0; i < config.getSplitCount(); i++) {
+            addSplit(splits, config.getSplitId(i), config.getSplitTime(i), config.getSplitLrt(i));
+        }
+        return splits;
+    }
 
-        // Highest armor value achieved at any point
-        statMap.put("defender", p -> (double) GSRStats.MAX_ARMOR_RATING.getOrDefault(p.getUuid(), 0));
+    private static void addSplit(JsonObject splits, String id, long ticks, long lrtTicks) {
+        JsonObject split = new JsonObject();
+        split.addProperty("ticks", ticks);
+        split.addProperty("lrt_ticks", lrtTicks);
+        splits.add(id, split);
+    }
 
-        // Total blocks traveled
-        statMap.put("sightseer", p -> (double) GSRStats.DISTANCE_MOVED.getOrDefault(p.getUuid(), 0f));
+    // --- [ HISTORY STORE ] ---
 
-        // Total damage taken from any source
-        statMap.put("tank", p -> (double) GSRStats.TOTAL_DAMAGE_TAKEN.getOrDefault(p.getUuid(), 0f));
+    /**
+     * Opens the run history store in {@code GSR_History/} on the history IO thread, importing any
+     * legacy per-run JSON files first. Called on SERVER_STARTED.
+     */
+    public static CompletableFuture<GSRHistoryStore> openStore(MinecraftServer server) {
+        if (historyIo.isShutdown()) historyIo = newHistoryExecutor();
+        Path dir = server.getRunDirectory().resolve(HISTORY_DIR);
+        GSRRetentionPolicy policy = retentionPolicy(server);
+        store = CompletableFuture.supplyAsync(() -> {
+            try {
+                GSRHistoryStore opened = GSRHistoryStore.open(dir);
+                GSRLegacyHistoryImporter.importAll(opened, dir);
+                LOGGER.info("[GSR] Run history open: {} runs", opened.size());
+                return opened;
+            } catch (IOException e) {
+                LOGGER.error("[GSR] Failed to open run history!", e);
+                return null;
+            }
+        }, historyIo);
+        // Queued behind the open, so the first queries never wait for it
+        store.thenAcceptAsync(opened -> {
+            if (opened == null) return;
+            GSRLeaderboardManager.rebuild(opened);
+            GSRHistoryStatsManager.load(opened);
+            compactNow(opened, policy);
+        }, historyIo);
+        return store;
+    }
 
-        // --- 3. ASSIGNMENT PASSES ---
-        // Pass 1: Assign awards to players who haven't received one yet (Unique Only)
-        for (var entry : statMap.entrySet()) setStat(players, entry.getKey(), entry.getValue(), awards, assigned, true);
+    /**
+     * Applies the retention policy and archives older runs in the background.
+     * @return The result, or null if the store is not open or the pass failed.
+     */
+    public static CompletableFuture<GSRHistoryStore.CompactionResult> compact(MinecraftServer server) {
+        GSRRetentionPolicy policy = retentionPolicy(server);
+        return store.thenApplyAsync(history -> history == null ? null : compactNow(history, policy), historyIo);
+    }
 
-        // Pass 2: If a category is still empty (e.g., everyone already has an award), assign to the top player regardless
-        for (var entry : statMap.entrySet()) {
-            if (!awards.has(entry.getKey())) setStat(players, entry.getKey(), entry.getValue(), awards, assigned, false);
+    // History IO thread only
+    private static GSRHistoryStore.CompactionResult compactNow(GSRHistoryStore history, GSRRetentionPolicy policy) {
+        runsSinceCompaction = 0;
+        try {
+            GSRHistoryStore.CompactionResult result = history.compact(policy, System.currentTimeMillis());
+            if (result.dropped() > 0 || result.archived() > 0) {
+                if (result.dropped() > 0) GSRLeaderboardManager.rebuild(history);
+                LOGGER.info("[GSR] History compacted: {} runs dropped, {} archived, {} KB -> {} KB",
+                        result.dropped(), result.archived(), result.bytesBefore() / 1024, result.bytesAfter() / 1024);
+            }
+            return result;
+        } catch (IOException e) {
+            LOGGER.error("[GSR] History compaction failed", e);
+            return null;
         }
+    }
 
-        // --- 4. ROAST LOGIC ---
-        // These awards are typically given during a failure to highlight "less-than-optimal" playstyles.
-        if (status.equalsIgnoreCase("FAILURE") || status.equalsIgnoreCase("LIVE")) {
-            // Coward: The person who took the least amount of damage
-            setMinStat(players, "coward", p -> (double) GSRStats.TOTAL_DAMAGE_TAKEN.getOrDefault(p.getUuid(), 0f), awards);
-
-            // Good For Nothing: The person with the fewest advancements completed
-            setMinStat(players, "good_for_nothing", p -> {
-                int count = 0;
-                for (AdvancementEntry entry : server.getAdvancementLoader().getAdvancements()) {
-                    if (entry.value().display().isPresent() && p.getAdvancementTracker().getProgress(entry).isDone()) count++;
-                }
-                return (double) count;
-            }, awards);
-
-            // Shuffler: The person who spent the most time looking in chests/inventories
-            setStat(players, "shuffler", p -> (double) GSRStats.INVENTORIES_OPENED.getOrDefault(p.getUuid(), 0), awards, assigned, false);
-
-            // Weakling: The person who dealt the least amount of total damage
-            setMinStat(players, "weakling", p -> (double) GSRStats.TOTAL_DAMAGE_DEALT.getOrDefault(p.getUuid(), 0f), awards);
-        }
+    // Read on the server thread; the IO thread only ever sees the snapshot
+    private static GSRRetentionPolicy retentionPolicy(MinecraftServer server) {
+        var config = GSRMain.CONFIG;
+        String world = server.getSaveProperties().getLevelName();
+        if (config == null) return new GSRRetentionPolicy(world, true, 100, 0, 0, 7);
+        return new GSRRetentionPolicy(world, config.historyKeepPbs, config.historyKeepLast, config.historyFailureDays,
+                config.historyMaxAgeDays, config.historyArchiveDays);
+    }
 
-        System.out.println("[GSR-Debug] Final Awards JSON: " + awards.toString());
-        return awards;
+    /**
+     * The open history store, or null while it is still opening (or failed to open).
+     */
+    public static GSRHistoryStore getStore() {
+        return store.getNow(null);
     }
 
     /**
-     * Utility to find the player with the MAXIMUM value for a stat and add them to the JSON.
+     * The store once it has finished opening. Null result if it failed to open.
      */
-    private static void setStat(List<ServerPlayerEntity> players, String key, ToDoubleFunction<ServerPlayerEntity> extractor, JsonObject awards, Set<UUID> assigned, boolean uniqueOnly) {
-        players.stream()
-                .filter(p -> !uniqueOnly || !assigned.contains(p.getUuid())) // Respect priority/uniqueness
-                .max(Comparator.comparingDouble(extractor))
-                .ifPresent(p -> {
-                    double val = extractor.applyAsDouble(p);
-                    if (val > 0.001) { // Ensure the stat isn't empty/zero
-                        awards.addProperty(key, p.getName().getString());
-                        awards.addProperty(key + "_v", val);
-                        assigned.add(p.getUuid());
-                    }
-                });
+    public static CompletableFuture<GSRHistoryStore> awaitStore() {
+        return store;
     }
 
     /**
-     * Utility to find the player with the MINIMUM value for a stat. Used for "Roast" awards.
+     * Single thread that owns every history write; queries may run here too to stay off the server thread.
      */
-    private static void setMinStat(List<ServerPlayerEntity> players, String key, ToDoubleFunction<ServerPlayerEntity> extractor, JsonObject awards) {
-        players.stream()
-                .min(Comparator.comparingDouble(extractor))
-                .ifPresent(p -> {
-                    awards.addProperty(key, p.getName().getString());
-                    awards.addProperty(key + "_v", extractor.applyAsDouble(p));
-                });
+    public static Executor historyExecutor() {
+        return historyIo;
     }
 
     /**
-     * Writes the run results into the /GSR_History folder as a JSON file.
+     * Appends the run results to the history store. Runs on the history IO thread and works only on the snapshot.
      */
-    private static void saveToFile(MinecraftServer server, String status, long ticks, JsonObject awards, String loser) {
-        try {
-            // Locate the "GSR_History" folder in the root directory
-            File dir = new File(server.getRunDirectory().toFile(), "GSR_History");
-            if (!dir.exists()) {
-                if (dir.mkdirs()) {
-                    LOGGER.info("Created history directory: " + dir.getAbsolutePath());
-                }
+    private static CompletableFuture<Void> saveToStore(RunSnapshot run, JsonObject awards, CompletableFuture<byte[]> events) {
+        long ticks = run.ticks();
+        long lrtTicks = run.lrtTicks();
+
+        JsonObject root = new JsonObject();
+        root.addProperty("status", run.status());
+        root.addProperty("world", run.world());
+        root.addProperty("timestamp", run.timestamp());
+        root.addProperty("category", run.category());
+        root.addProperty("final_time_formatted", GSRFormatUtil.formatTime(ticks));
+        root.addProperty("final_lrt_formatted", GSRFormatUtil.formatTime(lrtTicks));
+        root.addProperty("final_ticks", ticks);
+        root.addProperty("final_lrt_ticks", lrtTicks);
+        JsonArray players = new JsonArray();
+        run.participants().forEach(players::add);
+        root.add("participants", players);
+        root.add("splits", run.splits());
+        root.add("awards", awards);
+
+        // The event log is added once the writer has handed it over
+        return store.thenCombineAsync(events, (history, log) -> {
+            if (history == null) {
+                LOGGER.error("History save skipped: store is not open");
+                return null;
             }
-
-            boolean isWin = status.equalsIgnoreCase("SUCCESS");
-            String datePart = LocalDateTime.now().format(DateTimeFormatter.ofPattern("MM-dd_HHmm"));
-            String worldName = server.getSaveProperties().getLevelName();
-
-            // Determine the primary identifier for the filename (Dragon Killer or Loser)
-            String primaryName = isWin ?
-                    (awards.has("dragon_warrior") ? awards.get("dragon_warrior").getAsString() : "Champions") :
-                    ((loser != null && !loser.isEmpty()) ? loser : "Nobody");
-
-            // Clean filename to prevent illegal characters
-            String fileName = String.format("%s_%s_%s_%s.json", worldName, isWin ? "W" : "L", datePart, primaryName)
-                    .replaceAll("[^a-zA-Z0-9._-]", "_");
-
-            JsonObject root = new JsonObject();
-            root.addProperty("status", status);
-            root.addProperty("final_time_formatted", GSRFormatUtil.formatTime(ticks));
-            root.add("awards", awards);
-
-            // Write the JSON object to the file
-            try (FileWriter writer = new FileWriter(new File(dir, fileName), StandardCharsets.UTF_8)) {
-                GSON.toJson(root, writer);
+            if (log != null) root.addProperty(GSREventLogDecoder.PAYLOAD_FIELD, Base64.getEncoder().encodeToString(log));
+            GSRRunRecord record = new GSRRunRecord(run.world(), run.success(), run.timestamp(), ticks, lrtTicks, run.category(), run.participants(), GSON.toJson(root));
+            try {
+                GSRRunSummary summary = history.append(record);
+                GSRLeaderboardManager.onRunStored(summary, root);
+                GSRHistoryStatsManager.onRunStored(history, summary, root);
+                if (++runsSinceCompaction >= COMPACT_EVERY) compactNow(history, run.policy());
+            } catch (IOException e) {
+                LOGGER.error("History save failed", e);
             }
+            return null;
+        }, historyIo);
+    }
+
+    /**
+     * Waits for runs still being finalized to reach the store, then lets queued history work finish and
+     * stops the IO thread. Called on SERVER_STOPPING, so stopping right after a run ends keeps its record.
+     */
+    public static void shutdown() {
+        try {
+            CompletableFuture.allOf(IN_FLIGHT.toArray(CompletableFuture[]::new)).get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
         } catch (Exception e) {
-            LOGGER.error("History save failed", e);
+            LOGGER.error("[GSR] Run history save did not finish before shutdown", e);
+        }
+        historyIo.shutdown();
+        try {
+            if (!historyIo.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.error("[GSR] History IO did not finish before shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
+
+    private static ExecutorService newHistoryExecutor() {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "GSR-History-IO");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
\ No newline at end of file
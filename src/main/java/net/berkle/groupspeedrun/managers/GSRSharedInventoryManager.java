@@ -0,0 +1,125 @@
+package net.berkle.groupspeedrun.managers;
+
+import net.berkle.groupspeedrun.GSREvents;
+import net.berkle.groupspeedrun.GSRMain;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.ScreenHandlerListener;
+import net.minecraft.screen.slot.Slot;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Shared group inventory.
+ * One authoritative inventory is kept on the server. Slot changes are not polled: vanilla already diffs
+ * every player's inventory screen once per tick, and a {@link ScreenHandlerListener} on each player's
+ * inventory handler receives only the slots that changed. Those changes are queued and applied once per
+ * tick, and each changed slot is written only to the players whose copy differs. The bookkeeping itself
+ * lives in {@link GSRSlotSync}.
+ *
+ * If several players change the same slot in one tick, the last change wins and everyone
+ * (including the players who lost the race) is corrected to it.
+ */
+public class GSRSharedInventoryManager {
+
+    // Player inventory indexes: 0-35 main/hotbar, 36-39 armor, 40 offhand
+    private static final int SHARED_SLOTS = PlayerInventory.MAIN_SIZE + 5;
+
+    private static final GSRSlotSync<ServerPlayerEntity, ItemStack> SYNC = new GSRSlotSync<>(SHARED_SLOTS, new GSRSlotSync.Slots<>() {
+        @Override
+        public UUID id(ServerPlayerEntity player) {
+            return player.getUuid();
+        }
+
+        @Override
+        public ItemStack get(ServerPlayerEntity player, int index) {
+            return player.getInventory().getStack(index);
+        }
+
+        @Override
+        public void set(ServerPlayerEntity player, int index, ItemStack stack) {
+            player.getInventory().setStack(index, stack);
+        }
+
+        @Override
+        public boolean same(ItemStack a, ItemStack b) {
+            return ItemStack.areEqual(a, b);
+        }
+
+        @Override
+        public ItemStack copy(ItemStack stack) {
+            return stack.copy();
+        }
+    });
+
+    /**
+     * Attaches the slot listener to a player's inventory handler.
+     * Called on join and after respawn, since both create a new player entity.
+     */
+    public static void attach(ServerPlayerEntity player) {
+        player.playerScreenHandler.addListener(new SlotListener(player));
+        SYNC.unsync(player.getUuid());
+    }
+
+    /**
+     * Applies this tick's queued slot changes, and hands the shared inventory to any participant
+     * who has not adopted it yet.
+     */
+    public static void flush(List<ServerPlayerEntity> participants) {
+        SYNC.flush(participants);
+    }
+
+    /**
+     * Shares what a death did to the inventory. The drop empties it after the player stops counting as a
+     * participant, so the listener never queues it; without this the items would be on the ground and still
+     * in the shared inventory, which the respawned player then adopts again. Called from AFTER_DEATH, so
+     * a kept inventory (keepInventory, or a death cancelled by group death) changes nothing.
+     */
+    public static void onDeath(ServerPlayerEntity player) {
+        var config = GSRMain.CONFIG;
+        if (config == null || !config.sharedInventoryEnabled || GSRRunStateMachine.get().isFinished()) return;
+        PlayerInventory inventory = player.getInventory();
+        for (int i = 0; i < SHARED_SLOTS; i++) SYNC.queue(player, i, inventory.getStack(i));
+    }
+
+    public static void removePlayer(UUID uuid) {
+        SYNC.unsync(uuid);
+    }
+
+    /**
+     * Drops the authoritative inventory; the next flush re-seeds it from the first participant.
+     */
+    public static void reset() {
+        SYNC.reset();
+    }
+
+    /**
+     * Receives the per-slot diffs vanilla computes in {@code sendContentUpdates}.
+     */
+    private static final class SlotListener implements ScreenHandlerListener {
+        private final ServerPlayerEntity player;
+
+        private SlotListener(ServerPlayerEntity player) {
+            this.player = player;
+        }
+
+        @Override
+        public void onSlotUpdate(ScreenHandler handler, int slotId, ItemStack stack) {
+            var config = GSRMain.CONFIG;
+            if (config == null || !config.sharedInventoryEnabled) return;
+            if (GSRRunStateMachine.get().isFinished() || !GSREvents.isSharedParticipant(player)) return;
+
+            Slot slot = handler.getSlot(slotId);
+            // Crafting grid and result slots are not part of the player inventory
+            if (slot.inventory != player.getInventory() || slot.getIndex() >= SHARED_SLOTS) return;
+            SYNC.queue(player, slot.getIndex(), stack);
+        }
+
+        @Override
+        public void onPropertyUpdate(ScreenHandler handler, int property, int value) {}
+    }
+}
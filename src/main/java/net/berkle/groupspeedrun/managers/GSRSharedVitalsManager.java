@@ -0,0 +1,242 @@
+package net.berkle.groupspeedrun.managers;
+
+import net.berkle.groupspeedrun.mixin.accessors.HungerManagerAccessor;
+import net.minecraft.entity.effect.StatusEffect;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.entity.player.HungerManager;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shared hunger and status-effect engine.
+ * Every participant carries a cached state vector (food, saturation, exhaustion, effect signature).
+ * Each tick the live values are compared against that cache; only players whose vector actually
+ * changed feed into the group state, and only players who differ from the new group state are written to.
+ *
+ * When several players change the same field in one tick, the largest change wins rather than the sum.
+ * That way a drain that hits every player at once (they all share the same exhaustion) is applied
+ * once instead of once per player.
+ */
+public class GSRSharedVitalsManager {
+
+    private static final float MAX_EXHAUSTION = 40.0f;
+    private static final float EPSILON = 0.0001f;
+
+    /**
+     * Last values seen on (or pushed to) a player.
+     */
+    private static final class VitalsVector {
+        int food;
+        float saturation;
+        float exhaustion;
+        boolean hungerSynced;
+        int effectSignature;
+        final Map<RegistryEntry<StatusEffect>, Integer> effects = new HashMap<>();
+    }
+
+    private static final Map<UUID, VitalsVector> CACHE = new HashMap<>();
+
+    private static boolean groupInitialized = false;
+    private static int groupFood;
+    private static float groupSaturation;
+    private static float groupExhaustion;
+
+    /**
+     * Runs one sync pass over the participant set.
+     */
+    public static void tick(List<ServerPlayerEntity> participants, boolean shareHunger, boolean shareEffects) {
+        if (participants.isEmpty()) {
+            groupInitialized = false;
+            return;
+        }
+        if (shareHunger) syncHunger(participants);
+        if (shareEffects) syncEffects(participants);
+    }
+
+    // --- [ HUNGER ] ---
+
+    private static void syncHunger(List<ServerPlayerEntity> participants) {
+        if (!groupInitialized) {
+            HungerManager seed = participants.get(0).getHungerManager();
+            groupFood = seed.getFoodLevel();
+            groupSaturation = seed.getSaturationLevel();
+            groupExhaustion = ((HungerManagerAccessor) seed).getGSRExhaustion();
+            groupInitialized = true;
+        }
+
+        int foodDelta = 0;
+        float saturationDelta = 0f;
+        float exhaustionDelta = 0f;
+        boolean changed = false;
+
+        for (ServerPlayerEntity p : participants) {
+            VitalsVector cached = getOrSeed(p);
+            if (!cached.hungerSynced) {
+                // New participant: adopt the group state instead of contributing to it
+                pushHunger(p, cached);
+                continue;
+            }
+
+            HungerManager hunger = p.getHungerManager();
+            int df = hunger.getFoodLevel() - cached.food;
+            float ds = hunger.getSaturationLevel() - cached.saturation;
+            float de = ((HungerManagerAccessor) hunger).getGSRExhaustion() - cached.exhaustion;
+
+            if (df == 0 && Math.abs(ds) < EPSILON && Math.abs(de) < EPSILON) continue;
+
+            changed = true;
+            if (Math.abs(df) > Math.abs(foodDelta)) foodDelta = df;
+            if (Math.abs(ds) > Math.abs(saturationDelta)) saturationDelta = ds;
+            if (Math.abs(de) > Math.abs(exhaustionDelta)) exhaustionDelta = de;
+        }
+
+        if (!changed) return;
+
+        groupFood = MathHelper.clamp(groupFood + foodDelta, 0, 20);
+        groupSaturation = MathHelper.clamp(groupSaturation + saturationDelta, 0f, groupFood);
+        groupExhaustion = MathHelper.clamp(groupExhaustion + exhaustionDelta, 0f, MAX_EXHAUSTION);
+
+        for (ServerPlayerEntity p : participants) {
+            pushHunger(p, CACHE.get(p.getUuid()));
+        }
+    }
+
+    /**
+     * Writes the group hunger state to a player if it differs, then records it in the cache.
+     */
+    private static void pushHunger(ServerPlayerEntity p, VitalsVector cached) {
+        if (!groupInitialized) return;
+        HungerManager hunger = p.getHungerManager();
+        HungerManagerAccessor accessor = (HungerManagerAccessor) hunger;
+
+        if (hunger.getFoodLevel() != groupFood) hunger.setFoodLevel(groupFood);
+        if (Math.abs(hunger.getSaturationLevel() - groupSaturation) >= EPSILON) accessor.setGSRSaturation(groupSaturation);
+        if (Math.abs(accessor.getGSRExhaustion() - groupExhaustion) >= EPSILON) accessor.setGSRExhaustion(groupExhaustion);
+
+        cached.food = groupFood;
+        cached.saturation = groupSaturation;
+        cached.exhaustion = groupExhaustion;
+        cached.hungerSynced = true;
+    }
+
+    // --- [ STATUS EFFECTS ] ---
+
+    /**
+     * What one participant's effects gained and lost since their cached state.
+     */
+    private record EffectChange(ServerPlayerEntity source, List<StatusEffectInstance> gained, List<RegistryEntry<StatusEffect>> removed) {}
+
+    private static void syncEffects(List<ServerPlayerEntity> participants) {
+        // 1. Diff every participant against their own cache before anyone is written to, so two players
+        //    who change in the same tick (milk, a totem) are both seen
+        List<EffectChange> changes = new ArrayList<>();
+        for (ServerPlayerEntity source : participants) {
+            VitalsVector cached = getOrSeed(source);
+            if (effectSignature(source) == cached.effectSignature) continue;
+
+            Map<RegistryEntry<StatusEffect>, Integer> previous = new HashMap<>(cached.effects);
+            List<StatusEffectInstance> gained = new ArrayList<>();
+            for (StatusEffectInstance effect : source.getStatusEffects()) {
+                Integer oldAmplifier = previous.remove(effect.getEffectType());
+                if (oldAmplifier == null || oldAmplifier != effect.getAmplifier()) gained.add(new StatusEffectInstance(effect));
+            }
+            // Anything left in 'previous' was removed (milk, totem, expiry)
+            changes.add(new EffectChange(source, gained, new ArrayList<>(previous.keySet())));
+        }
+        if (changes.isEmpty()) return;
+
+        // 2. Push every change to everyone else
+        for (EffectChange change : changes) {
+            for (ServerPlayerEntity target : participants) {
+                if (target == change.source()) continue;
+                for (StatusEffectInstance effect : change.gained()) target.addStatusEffect(new StatusEffectInstance(effect));
+                for (RegistryEntry<StatusEffect> removed : change.removed()) target.removeStatusEffect(removed);
+            }
+        }
+
+        // 3. Only now refresh the caches, so the pushes do not echo back next tick
+        for (ServerPlayerEntity p : participants) {
+            VitalsVector cached = getOrSeed(p);
+            readEffects(p, cached);
+            cached.effectSignature = effectSignature(p);
+        }
+    }
+
+    /**
+     * Returns the cached vector for a player, creating it from their live values on first sight
+     * so a newly seen player never registers as a change.
+     */
+    private static VitalsVector getOrSeed(ServerPlayerEntity p) {
+        VitalsVector cached = CACHE.get(p.getUuid());
+        if (cached == null) {
+            cached = new VitalsVector();
+            HungerManager hunger = p.getHungerManager();
+            cached.food = hunger.getFoodLevel();
+            cached.saturation = hunger.getSaturationLevel();
+            cached.exhaustion = ((HungerManagerAccessor) hunger).getGSRExhaustion();
+            cached.effectSignature = effectSignature(p);
+            readEffects(p, cached);
+            CACHE.put(p.getUuid(), cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Order-independent hash of (effect, amplifier) pairs. Durations are ignored since they tick down constantly.
+     */
+    private static int effectSignature(ServerPlayerEntity p) {
+        int signature = 0;
+        for (StatusEffectInstance effect : p.getStatusEffects()) {
+            signature += effect.getEffectType().hashCode() * 31 + effect.getAmplifier() + 1;
+        }
+        return signature;
+    }
+
+    private static void readEffects(ServerPlayerEntity p, VitalsVector cached) {
+        cached.effects.clear();
+        for (StatusEffectInstance effect : p.getStatusEffects()) {
+            cached.effects.put(effect.getEffectType(), effect.getAmplifier());
+        }
+    }
+
+    // --- [ LIFECYCLE ] ---
+
+    public static void removePlayer(UUID uuid) {
+        CACHE.remove(uuid);
+    }
+
+    /**
+     * A respawned player has a fresh hunger bar and no effects. Their old vector is dropped and they adopt the
+     * group state, so the reset is neither shared with the group nor read as every effect being removed.
+     * @param participants The current participants; the group's effects are copied from one of them.
+     */
+    public static void onRespawn(ServerPlayerEntity player, List<ServerPlayerEntity> participants, boolean shareEffects) {
+        removePlayer(player.getUuid());
+        if (shareEffects) {
+            for (ServerPlayerEntity other : participants) {
+                if (other == player) continue;
+                for (StatusEffectInstance effect : other.getStatusEffects()) {
+                    player.addStatusEffect(new StatusEffectInstance(effect));
+                }
+                break;
+            }
+        }
+        // Seeded unsynced: the next hunger pass pushes the group values to them instead of diffing
+        getOrSeed(player);
+    }
+
+    /**
+     * Forgets every cached vector; the next pass re-seeds the group from the first participant.
+     */
+    public static void reset() {
+        CACHE.clear();
+        groupInitialized = false;
+    }
+}
@@ -0,0 +1,128 @@
+package net.berkle.groupspeedrun.managers;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The slot bookkeeping behind {@link GSRSharedInventoryManager}: one authoritative copy of every slot, the
+ * changes players made this tick, and who has adopted the shared copy yet.
+ *
+ * Not tied to Minecraft; the player and stack types are supplied through {@link Slots}, so the same
+ * code can be driven with synthetic players (see the shared inventory benchmark).
+ */
+public final class GSRSlotSync<P, S> {
+
+    /**
+     * How slots are read from and written to a player.
+     */
+    public interface Slots<P, S> {
+        UUID id(P player);
+
+        S get(P player, int index);
+
+        void set(P player, int index, S stack);
+
+        boolean same(S a, S b);
+
+        S copy(S stack);
+    }
+
+    private record PendingChange<S>(UUID source, S stack) {}
+
+    private final int size;
+    private final Slots<P, S> slots;
+    private final Object[] authoritative;
+    private boolean initialized = false;
+
+    // Slot index -> latest change this tick. Insertion order is the order players ticked.
+    private final Map<Integer, PendingChange<S>> pending = new LinkedHashMap<>();
+    // Players who have already adopted the shared inventory
+    private final Set<UUID> synced = new HashSet<>();
+
+    public GSRSlotSync(int size, Slots<P, S> slots) {
+        this.size = size;
+        this.slots = slots;
+        this.authoritative = new Object[size];
+    }
+
+    /**
+     * Applies this tick's queued slot changes, and hands the shared copy to any participant who has not
+     * adopted it yet. The first flush seeds the shared copy from the first participant.
+     */
+    public void flush(List<P> participants) {
+        if (participants.isEmpty()) return;
+
+        if (!initialized) {
+            P seed = participants.get(0);
+            for (int i = 0; i < size; i++) authoritative[i] = slots.copy(slots.get(seed, i));
+            initialized = true;
+            pending.clear();
+        }
+
+        for (P p : participants) {
+            if (synced.add(slots.id(p))) {
+                for (int i = 0; i < size; i++) push(p, i);
+            }
+        }
+
+        if (pending.isEmpty()) return;
+
+        for (Map.Entry<Integer, PendingChange<S>> entry : pending.entrySet()) {
+            int index = entry.getKey();
+            if (slots.same(stack(index), entry.getValue().stack())) continue;
+            authoritative[index] = entry.getValue().stack();
+            for (P p : participants) push(p, index);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Queues a player's change to one slot for the next flush.
+     */
+    public void queue(P player, int index, S stack) {
+        UUID id = slots.id(player);
+        if (!initialized || !synced.contains(id)) return;
+        // Echo of our own push, or a change that is already shared. Another player's queued change to the
+        // same slot must survive it; only this player's own change, since reverted, is dropped.
+        if (slots.same(stack(index), stack)) {
+            PendingChange<S> change = pending.get(index);
+            if (change != null && change.source().equals(id)) pending.remove(index);
+            return;
+        }
+        pending.remove(index);
+        pending.put(index, new PendingChange<>(id, slots.copy(stack)));
+    }
+
+    /**
+     * Makes the player adopt the shared copy again on the next flush.
+     */
+    public void unsync(UUID id) {
+        synced.remove(id);
+    }
+
+    /**
+     * Drops the shared copy; the next flush re-seeds it from the first participant.
+     */
+    public void reset() {
+        initialized = false;
+        pending.clear();
+        synced.clear();
+    }
+
+    /**
+     * Writes one authoritative slot to a player if their copy differs.
+     * The resulting change callback compares equal to the authoritative stack and is dropped.
+     */
+    private void push(P p, int index) {
+        if (!slots.same(slots.get(p, index), stack(index))) slots.set(p, index, slots.copy(stack(index)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private S stack(int index) {
+        return (S) authoritative[index];
+    }
+}
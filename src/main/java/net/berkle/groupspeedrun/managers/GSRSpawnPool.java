@@ -0,0 +1,161 @@
+package net.berkle.groupspeedrun.managers;
+
+import net.berkle.groupspeedrun.GSRMain;
+import net.berkle.groupspeedrun.config.GSRConfigWorld;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.Heightmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Pool of pre-generated spawn areas for instant resets.
+ * Each entry is a point far out in the overworld whose surrounding chunks are generated in the background
+ * (one ticket at a time, only while the server is under NORMAL load) and then kept loaded. A reset takes
+ * the next ready entry, so the group starts on untouched terrain without regenerating the world.
+ *
+ * Entries are laid out on a spiral from the origin; the spiral index is persisted so a restarted server
+ * does not hand out an area that was already played. The spiral stays inside the vanilla stronghold rings
+ * (which end around 22k blocks out), so every pooled spawn keeps a stronghold within reach. Once the disc
+ * is used up the spiral starts over, rotated so its points fall between the earlier ones.
+ */
+public class GSRSpawnPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger("GSR-SpawnPool");
+
+    // Spiral scale (blocks); neighbouring entries end up roughly twice this far apart
+    private static final int SPACING = 2048;
+    // No entry is placed further out than this (blocks)
+    private static final int MAX_RADIUS = 20_000;
+    // Entries per pass of the spiral before it starts over rotated
+    private static final int PASS_SIZE = (MAX_RADIUS / SPACING) * (MAX_RADIUS / SPACING);
+    private static final double GOLDEN_ANGLE = Math.PI * (3.0 - Math.sqrt(5.0));
+    // How often (ticks) generating entries are checked for completion
+    private static final int CHECK_INTERVAL = 20;
+
+    private static final List<Entry> ENTRIES = new ArrayList<>();
+
+    private static final class Entry {
+        final ChunkPos center;
+        final List<ChunkPos> pending = new ArrayList<>();
+        final List<ChunkPos> held = new ArrayList<>();
+        boolean ready = false;
+
+        Entry(ChunkPos center, int radius) {
+            this.center = center;
+            for (int dx = -radius; dx <= radius; dx++) {
+                for (int dz = -radius; dz <= radius; dz++) pending.add(new ChunkPos(center.x + dx, center.z + dz));
+            }
+        }
+    }
+
+    public static int readyCount() {
+        int ready = 0;
+        for (Entry entry : ENTRIES) if (entry.ready) ready++;
+        return ready;
+    }
+
+    public static int generatingCount() {
+        return ENTRIES.size() - readyCount();
+    }
+
+    /**
+     * Keeps the pool filled to the configured size and advances generation. Called every server tick.
+     */
+    public static void tick(MinecraftServer server) {
+        GSRConfigWorld config = GSRMain.CONFIG;
+        ServerWorld overworld = server.getOverworld();
+        if (config == null || overworld == null) return;
+
+        // Pool shrunk or disabled: drop the newest entries first
+        while (ENTRIES.size() > config.spawnPoolSize) release(overworld, ENTRIES.remove(ENTRIES.size() - 1));
+        while (ENTRIES.size() < config.spawnPoolSize) ENTRIES.add(new Entry(nextCenter(config), config.spawnPoolRadius));
+        if (ENTRIES.isEmpty()) return;
+
+        // Lowest priority of all background work: only while the server has headroom
+        if (GSRLoadManager.getLevel() == GSRLoadManager.Level.NORMAL) {
+            for (Entry entry : ENTRIES) {
+                if (entry.pending.isEmpty()) continue;
+                ChunkPos pos = entry.pending.remove(entry.pending.size() - 1);
+                overworld.getChunkManager().addTicket(GSRChunkPregenerator.TICKET, pos, 0);
+                entry.held.add(pos);
+                break;
+            }
+        }
+
+        if (server.getTicks() % CHECK_INTERVAL != 0) return;
+        for (Iterator<Entry> it = ENTRIES.iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (entry.ready || !entry.pending.isEmpty() || !isLoaded(overworld, entry)) continue;
+
+            if (findSpawn(overworld, entry) == null) {
+                // Ocean or lava lake: discard it, the next tick plans a replacement
+                LOGGER.info("[GSR] Spawn pool area at chunk {} has no dry surface, skipping it", entry.center);
+                release(overworld, entry);
+                it.remove();
+            } else {
+                entry.ready = true;
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the spawn position of the next ready entry, or null if none is ready.
+     * The entry's tickets are released; the teleported players' own tickets keep the area loaded.
+     */
+    public static BlockPos take(ServerWorld overworld) {
+        for (Iterator<Entry> it = ENTRIES.iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (!entry.ready) continue;
+            BlockPos spawn = findSpawn(overworld, entry);
+            it.remove();
+            release(overworld, entry);
+            if (spawn != null) return spawn;
+        }
+        return null;
+    }
+
+    private static boolean isLoaded(ServerWorld world, Entry entry) {
+        for (ChunkPos pos : entry.held) {
+            if (!world.getChunkManager().isChunkLoaded(pos.x, pos.z)) return false;
+        }
+        return true;
+    }
+
+    private static BlockPos findSpawn(ServerWorld world, Entry entry) {
+        int x = entry.center.getCenterX(), z = entry.center.getCenterZ();
+        int y = world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, x, z);
+        BlockPos pos = new BlockPos(x, y, z);
+        return world.getFluidState(pos.down()).isEmpty() ? pos : null;
+    }
+
+    private static ChunkPos nextCenter(GSRConfigWorld config) {
+        int cursor = ++config.spawnPoolCursor;
+        int pass = (cursor - 1) / PASS_SIZE;
+        int index = (cursor - 1) % PASS_SIZE + 1;
+        // Vogel spiral: evenly spread points within MAX_RADIUS; each pass is turned by a further half golden angle
+        double radius = SPACING * Math.sqrt(index);
+        double angle = index * GOLDEN_ANGLE + pass * GOLDEN_ANGLE / 2;
+        return new ChunkPos(((int) (Math.cos(angle) * radius)) >> 4, ((int) (Math.sin(angle) * radius)) >> 4);
+    }
+
+    private static void release(ServerWorld world, Entry entry) {
+        for (ChunkPos pos : entry.held) world.getChunkManager().removeTicket(GSRChunkPregenerator.TICKET, pos, 0);
+        entry.held.clear();
+        entry.pending.clear();
+    }
+
+    /**
+     * Drops every entry and its tickets. Called on server stop; unused entries are re-planned from the cursor.
+     */
+    public static void releaseAll(MinecraftServer server) {
+        ServerWorld overworld = server.getOverworld();
+        if (overworld != null) for (Entry entry : ENTRIES) release(overworld, entry);
+        ENTRIES.clear();
+    }
+}
@@ -0,0 +1,138 @@
+package net.berkle.groupspeedrun.managers;
+
+import net.berkle.groupspeedrun.GSRMain;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Pre-start warm-up: generates the area around spawn before the timer may auto-start.
+ * Runs after a reset and when a server starts in the lobby. Chunks are requested in rings from spawn
+ * outward with the pregen ticket, a few per tick and with a cap on requests still in flight, so the
+ * chunk workers stay busy without starving the server thread.
+ *
+ * Auto-start is held until every chunk is loaded or an admin skips the warm-up. Tickets are kept
+ * until the run starts, then released; the players' own tickets take over from there.
+ */
+public class GSRSpawnPregen {
+
+    // Requested chunks that may be generating at once
+    private static final int MAX_IN_FLIGHT = 32;
+    // How often (ticks) players see the progress bar
+    private static final int PROGRESS_INTERVAL = 10;
+
+    private static ServerWorld world;
+    private static final ArrayDeque<ChunkPos> QUEUE = new ArrayDeque<>();
+    private static final List<ChunkPos> IN_FLIGHT = new ArrayList<>();
+    private static final List<ChunkPos> HELD = new ArrayList<>();
+    private static int total = 0;
+    private static boolean holding = false;
+
+    /**
+     * True while the warm-up is running and auto-start must wait.
+     */
+    public static boolean isHoldingStart() {
+        return holding;
+    }
+
+    /**
+     * Starts warming up the area around {@code spawn}, replacing any warm-up in progress.
+     */
+    public static void begin(MinecraftServer server, BlockPos spawn) {
+        release();
+        var config = GSRMain.CONFIG;
+        if (config == null || config.spawnPregenRadius <= 0) return;
+
+        world = server.getOverworld();
+        ChunkPos center = new ChunkPos(spawn);
+        int radius = config.spawnPregenRadius;
+        for (int r = 0; r <= radius; r++) {
+            for (int dx = -r; dx <= r; dx++) {
+                for (int dz = -r; dz <= r; dz++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dz)) == r) QUEUE.add(new ChunkPos(center.x + dx, center.z + dz));
+                }
+            }
+        }
+        total = QUEUE.size();
+        holding = true;
+    }
+
+    /**
+     * Issues this tick's requests, retires finished chunks and reports progress. Called every server tick.
+     */
+    public static void tick(MinecraftServer server) {
+        if (world == null) return;
+
+        // Once the run is underway the warm-up has done its job
+        if (GSRRunStateMachine.get().hasStarted()) {
+            release();
+            return;
+        }
+        if (!holding) return;
+
+        int budget = switch (GSRLoadManager.getLevel()) {
+            case NORMAL -> 8;
+            case LIGHT -> 4;
+            case HEAVY -> 1;
+            default -> 0;
+        };
+        while (budget-- > 0 && IN_FLIGHT.size() < MAX_IN_FLIGHT && !QUEUE.isEmpty()) {
+            ChunkPos pos = QUEUE.poll();
+            world.getChunkManager().addTicket(GSRChunkPregenerator.TICKET, pos, 0);
+            IN_FLIGHT.add(pos);
+        }
+
+        for (Iterator<ChunkPos> it = IN_FLIGHT.iterator(); it.hasNext(); ) {
+            ChunkPos pos = it.next();
+            if (world.getChunkManager().isChunkLoaded(pos.x, pos.z)) {
+                it.remove();
+                HELD.add(pos);
+            }
+        }
+
+        if (QUEUE.isEmpty() && IN_FLIGHT.isEmpty()) {
+            holding = false;
+            server.getPlayerManager().broadcast(Text.literal("§6[GSR] §aSpawn ready! §7Move to start the timer."), false);
+        } else if (server.getTicks() % PROGRESS_INTERVAL == 0) {
+            int percent = total == 0 ? 100 : HELD.size() * 100 / total;
+            Text progress = Text.literal("§6[GSR] §7Preparing spawn: §f" + percent + "% §7(" + HELD.size() + "/" + total + " chunks)");
+            for (ServerPlayerEntity p : server.getPlayerManager().getPlayerList()) p.sendMessage(progress, true);
+        }
+    }
+
+    /**
+     * Lets the timer auto-start right away. Chunks already requested keep generating until the run starts.
+     * @return false if no warm-up was running.
+     */
+    public static boolean skip() {
+        if (!holding) return false;
+        holding = false;
+        QUEUE.clear();
+        return true;
+    }
+
+    /**
+     * Drops every ticket and forgets the warm-up.
+     */
+    public static void release() {
+        if (world != null) {
+            for (ChunkPos pos : IN_FLIGHT) world.getChunkManager().removeTicket(GSRChunkPregenerator.TICKET, pos, 0);
+            for (ChunkPos pos : HELD) world.getChunkManager().removeTicket(GSRChunkPregenerator.TICKET, pos, 0);
+        }
+        IN_FLIGHT.clear();
+        HELD.clear();
+        QUEUE.clear();
+        total = 0;
+        holding = false;
+        world = null;
+    }
+}
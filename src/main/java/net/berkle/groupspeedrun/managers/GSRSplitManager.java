@@ -2,23 +2,62 @@ package net.berkle.groupspeedrun.managers;
 
 import net.berkle.groupspeedrun.GSREvents;
 import net.berkle.groupspeedrun.GSRMain;
+import net.berkle.groupspeedrun.history.GSREventType;
+import net.berkle.groupspeedrun.splits.GSRSplitDefinition;
+import net.berkle.groupspeedrun.splits.GSRSplitTable;
+import net.berkle.groupspeedrun.state.GSRRunPhase;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.berkle.groupspeedrun.util.GSRFormatUtil;
-import net.minecraft.registry.RegistryKeys;
+import net.minecraft.advancement.AdvancementEntry;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.damage.DamageSource;
+import net.minecraft.item.ItemStack;
 import net.minecraft.registry.RegistryKey;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.ScreenHandlerListener;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundEvents;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraft.world.gen.structure.Structure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Evaluates split triggers against the active {@link GSRSplitTable} and stamps split times.
+ * Every entry point is a single table lookup; splits that are already done are skipped by index.
+ */
 public class GSRSplitManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger("GSR-Splits");
+
+    private static GSRSplitTable table = GSRSplitTable.defaults();
+    // Advancement entries resolved from the table's advancement targets; rebuilt on every datapack reload
+    private static final Map<AdvancementEntry, int[]> ADVANCEMENT_SPLITS = new IdentityHashMap<>();
 
-    private static final RegistryKey<Structure> FORTRESS_KEY = RegistryKey.of(RegistryKeys.STRUCTURE, Identifier.ofVanilla("fortress"));
-    private static final RegistryKey<Structure> BASTION_KEY = RegistryKey.of(RegistryKeys.STRUCTURE, Identifier.ofVanilla("bastion_remnant"));
+    public static GSRSplitTable getTable() {
+        return table;
+    }
+
+    /**
+     * Loads the world's split file and binds the config's split arrays to it.
+     * Called on SERVER_STARTING, before structures are resolved.
+     */
+    public static void load(MinecraftServer server) {
+        // Structure bits belong to one table; the previous table's would otherwise pile up
+        GSRStructureManager.clearTracked();
+        table = GSRSplitTable.load(server);
+        if (!table.hasRunCompletingSplit()) {
+            LOGGER.warn("[GSR] No split has completes_run set; runs can only end by failure or reset.");
+        }
+        if (GSRMain.CONFIG != null) GSRMain.CONFIG.bindSplits(table.ids(), table.names());
+        LOGGER.info("[GSR] Loaded {} splits", table.size());
+    }
 
     /**
      * Resets all split times in the global config.
@@ -27,92 +66,206 @@ public class GSRSplitManager {
     public static void resetSplits() {
         var config = GSRMain.CONFIG;
         if (config == null) return;
-        config.timeNether = 0;
-        config.timeBastion = 0;
-        config.timeFortress = 0;
-        config.timeEnd = 0;
-        config.timeDragon = 0;
+        config.clearSplits();
         config.lastSplitTime = 0;
     }
 
-    public static void checkSplits(MinecraftServer server) {
-        var config = GSRMain.CONFIG;
-        if (config == null || config.startTime < 0 || config.isTimerFrozen) return;
+    // --- [ TRIGGERS ] ---
 
-        var players = server.getPlayerManager().getPlayerList();
-        if (players.isEmpty()) return;
+    /**
+     * Rebuilds the advancement -> split lookup. Called on server start and after every datapack reload,
+     * since reloading replaces the AdvancementEntry instances.
+     */
+    public static void rebuildAdvancementSplits(MinecraftServer server) {
+        ADVANCEMENT_SPLITS.clear();
+        var loader = server.getAdvancementLoader();
+        for (Map.Entry<Identifier, int[]> entry : table.advancementTargets().entrySet()) {
+            AdvancementEntry advancement = loader.get(entry.getKey());
+            if (advancement != null) {
+                ADVANCEMENT_SPLITS.put(advancement, entry.getValue());
+            } else {
+                LOGGER.warn("[GSR] Split advancement {} does not exist", entry.getKey());
+            }
+        }
+    }
 
-        for (ServerPlayerEntity player : players) {
-            ServerWorld world = (ServerWorld) player.getEntityWorld();
-            var dim = world.getRegistryKey();
-            BlockPos pos = player.getBlockPos();
+    /**
+     * The splits an advancement completes, or null. A single identity lookup, so the per-criterion
+     * hook rejects every non-split advancement without touching its progress.
+     */
+    public static int[] getAdvancementSplits(AdvancementEntry advancement) {
+        return ADVANCEMENT_SPLITS.get(advancement);
+    }
 
-            // Dimension-based splits
-            if (dim == World.NETHER && config.timeNether <= 0) {
-                completeSplit(server, "Nether");
-            } else if (dim == World.END && config.timeEnd <= 0) {
-                completeSplit(server, "The End");
-            }
+    /**
+     * Dimension change hook (ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD).
+     * The split is stamped on the tick the player arrives.
+     */
+    public static void onPlayerChangeWorld(ServerPlayerEntity player, ServerWorld destination) {
+        if (!GSRRunStateMachine.isTracking()) return;
+        completeSplits(destination.getServer(), table.forDimension(destination.getRegistryKey()));
+    }
 
-            // Structure-based splits (Nether)
-            if (dim == World.NETHER) {
-                var structureRegistry = world.getRegistryManager().getOrThrow(RegistryKeys.STRUCTURE);
-                if (config.timeBastion <= 0) {
-                    structureRegistry.getOptional(BASTION_KEY).ifPresent(entry -> {
-                        if (world.getStructureAccessor().getStructureAt(pos, entry.value()).hasChildren()) {
-                            completeSplit(server, "Bastion");
-                        }
-                    });
-                }
-                if (config.timeFortress <= 0) {
-                    structureRegistry.getOptional(FORTRESS_KEY).ifPresent(entry -> {
-                        if (world.getStructureAccessor().getStructureAt(pos, entry.value()).hasChildren()) {
-                            completeSplit(server, "Fortress");
-                        }
-                    });
-                }
-            }
+    /**
+     * One-off dimension check for players who were already in a split dimension when tracking began
+     * (joining mid-run, resuming from pause, restarting the server).
+     */
+    public static void checkDimensions(MinecraftServer server) {
+        if (!GSRRunStateMachine.isTracking()) return;
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            RegistryKey<World> dim = player.getEntityWorld().getRegistryKey();
+            completeSplits(server, table.forDimension(dim));
+        }
+    }
+
+    /**
+     * Structure pieces containing a player, as a {@link GSRStructureManager} bitmask.
+     */
+    public static void onStructures(MinecraftServer server, int insideMask) {
+        for (int m = insideMask & table.structureMask(); m != 0; m &= m - 1) {
+            completeSplits(server, table.forStructureBit(Integer.numberOfTrailingZeros(m)));
+        }
+    }
+
+    /**
+     * True while any structure split is still open, so the per-player structure scan can be skipped entirely.
+     */
+    public static boolean hasOpenStructureSplits() {
+        for (int m = table.structureMask(); m != 0; m &= m - 1) {
+            if (hasOpen(table.forStructureBit(Integer.numberOfTrailingZeros(m)))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Kill hook. Called directly for the dragon, whose death animation starts the moment it dies,
+     * and through {@link #onEntityDeath} for kills landed by a player.
+     */
+    public static void onEntityKilled(MinecraftServer server, EntityType<?> type) {
+        if (server == null || !GSRRunStateMachine.isTracking()) return;
+        completeSplits(server, table.forEntity(type));
+    }
+
+    public static void onEntityDeath(LivingEntity entity, DamageSource source) {
+        if (!(source.getAttacker() instanceof ServerPlayerEntity player)) return;
+        onEntityKilled(player.getEntityWorld().getServer(), entity.getType());
+    }
+
+    /**
+     * Watches a player's inventory for item splits. Called on join and after respawn.
+     */
+    public static void attach(ServerPlayerEntity player) {
+        player.playerScreenHandler.addListener(new ItemListener(player));
+    }
+
+    private static boolean hasOpen(int[] indexes) {
+        var config = GSRMain.CONFIG;
+        if (config == null) return false;
+        for (int index : indexes) {
+            if (config.getSplitTime(index) <= 0) return true;
         }
+        return false;
+    }
+
+    // --- [ COMPLETION ] ---
+
+    public static void completeSplits(MinecraftServer server, int[] indexes) {
+        for (int index : indexes) completeSplit(server, index);
+    }
+
+    /**
+     * Completes a split by id. Kept for callers that refer to splits by name.
+     */
+    public static void completeSplit(MinecraftServer server, String id) {
+        int index = table.indexOf(id);
+        if (index >= 0) completeSplit(server, index);
     }
 
-    public static void completeSplit(MinecraftServer server, String type) {
+    public static void completeSplit(MinecraftServer server, int index) {
         var config = GSRMain.CONFIG;
-        if (config == null || config.startTime < 0) return;
+        if (config == null || !GSRRunStateMachine.get().hasStarted() || GSRRunStateMachine.get().isFinished()) return;
+        if (config.getSplitTime(index) > 0) return;
 
+        GSRSplitDefinition split = table.get(index);
         long splitTicks = GSREvents.getRunTicks(server);
-        boolean changed = false;
-
-        switch (type.toLowerCase().replace(" ", "")) {
-            case "nether" -> { if (config.timeNether <= 0) { config.timeNether = splitTicks; changed = true; } }
-            case "bastion" -> { if (config.timeBastion <= 0) { config.timeBastion = splitTicks; changed = true; } }
-            case "fortress" -> { if (config.timeFortress <= 0) { config.timeFortress = splitTicks; changed = true; } }
-            case "theend", "end" -> { if (config.timeEnd <= 0) { config.timeEnd = splitTicks; changed = true; } }
-            case "dragon" -> {
-                if (!config.isVictorious && !config.isFailed) {
-                    config.timeDragon = splitTicks;
-                    config.isVictorious = true;
-                    config.isTimerFrozen = true;
-                    config.frozenTime = System.currentTimeMillis() - config.startTime;
-                    config.victoryTimer = 200;
-                    changed = true;
+        long splitLrt = GSREvents.getLoadRemovedTicks();
+        // A split at tick 0 would read as "not reached"
+        config.setSplit(index, Math.max(1, splitTicks), splitLrt);
+        GSREventLogManager.record(server, GSREventType.SPLIT, null, split.id(), 0, 0);
+
+        config.lastSplitTime = server.getOverworld().getTime();
+        String formatted = GSRFormatUtil.formatTime(splitTicks);
+        String formattedLrt = GSRFormatUtil.formatTime(splitLrt);
+
+        server.getPlayerManager().broadcast(
+                Text.literal("§6§l[GSR] Split: §b" + split.name().toUpperCase() + " §fat §e" + formatted + " §7(LRT " + formattedLrt + ")"),
+                false
+        );
+
+        for (ServerPlayerEntity p : server.getPlayerManager().getPlayerList()) {
+            p.playSound(SoundEvents.ENTITY_EXPERIENCE_ORB_PICKUP, 1.0f, 1.0f);
+        }
+
+        if (split.completesRun()) {
+            completeRun(server, split, true);
+        } else if (split.required()) {
+            // A run-completing split reached earlier may only have been waiting on this one
+            for (int i = 0; i < table.size(); i++) {
+                if (table.get(i).completesRun() && config.getSplitTime(i) > 0) {
+                    completeRun(server, table.get(i), false);
+                    break;
                 }
             }
         }
+        GSRMain.saveAndSync(server);
+    }
 
-        if (changed) {
-            config.lastSplitTime = server.getOverworld().getTime();
-            String formatted = GSRFormatUtil.formatTime(splitTicks);
+    /**
+     * Ends the run in victory once a run-completing split is reached, provided every required split is done.
+     * A run-completing split reached too early stays recorded, and the run ends when the last required split does.
+     * @param announceMissing Tell the group which required splits are still missing.
+     */
+    private static void completeRun(MinecraftServer server, GSRSplitDefinition split, boolean announceMissing) {
+        var config = GSRMain.CONFIG;
+        StringBuilder missing = new StringBuilder();
+        for (int i = 0; i < table.size(); i++) {
+            GSRSplitDefinition other = table.get(i);
+            if (other.required() && !other.completesRun() && config.getSplitTime(i) <= 0) {
+                if (!missing.isEmpty()) missing.append(", ");
+                missing.append(other.name());
+            }
+        }
+        if (!missing.isEmpty()) {
+            if (announceMissing) {
+                server.getPlayerManager().broadcast(Text.literal("§6[GSR] §c" + split.name() + " reached, but required splits are missing: " + missing
+                        + ". §7The run ends once they are done."), false);
+            }
+            return;
+        }
 
-            server.getPlayerManager().broadcast(
-                    Text.literal("§6§l[GSR] Split: §b" + type.toUpperCase() + " §fat §e" + formatted),
-                    false
-            );
+        if (GSRRunStateMachine.transition(config, GSRRunPhase.VICTORY, split.id() + " reached")) {
+            GSRRunHistoryManager.saveRun(server, "SUCCESS", "The Group", split.name() + " Reached");
+        }
+    }
 
-            for (ServerPlayerEntity p : server.getPlayerManager().getPlayerList()) {
-                p.playSound(SoundEvents.ENTITY_EXPERIENCE_ORB_PICKUP, 1.0f, 1.0f);
-            }
+    /**
+     * Receives the per-slot diffs vanilla computes in {@code sendContentUpdates} and checks item splits.
+     */
+    private static final class ItemListener implements ScreenHandlerListener {
+        private final ServerPlayerEntity player;
+
+        private ItemListener(ServerPlayerEntity player) {
+            this.player = player;
+        }
 
-            GSRMain.saveAndSync(server);
+        @Override
+        public void onSlotUpdate(ScreenHandler handler, int slotId, ItemStack stack) {
+            if (stack.isEmpty() || !table.hasItemSplits() || !GSRRunStateMachine.isTracking()) return;
+            int[] indexes = table.forItem(stack.getItem());
+            if (indexes.length > 0) completeSplits(player.getEntityWorld().getServer(), indexes);
         }
+
+        @Override
+        public void onPropertyUpdate(ScreenHandler handler, int property, int value) {}
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,379 @@
+package net.berkle.groupspeedrun.managers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.structure.StructureStart;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.chunk.placement.ConcentricRingsStructurePlacement;
+import net.minecraft.world.gen.chunk.placement.RandomSpreadStructurePlacement;
+import net.minecraft.world.gen.chunk.placement.StructurePlacement;
+import net.minecraft.world.gen.chunk.placement.StructurePlacementCalculator;
+import net.minecraft.world.gen.structure.Structure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Per-seed cache of known structure locations for /gsr locate.
+ * Every locate result is recorded, as is every locatable structure start GSR sees in a loaded chunk.
+ * Each (dimension, structure type) pair keeps a 2D k-d tree, so "nearest fortress to (x, z)" is a
+ * logarithmic lookup instead of a new search.
+ *
+ * Candidate chunks (where the placement rules allow a start) that turned out to have none are recorded
+ * too, by the locator and as chunks load. A cached hit is only used when every candidate closer than it
+ * is one of those misses, so it is the structure a fresh search would have found or a nearer one.
+ *
+ * Stored in {@code world/data/gsr_structure_cache.json} together with the world seed; a file written
+ * for another seed is discarded.
+ */
+public class GSRStructureCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger("GSR-StructureCache");
+    private static final Gson GSON = new Gson();
+
+    private static final String[] TYPES = {"fortress", "bastion", "stronghold", "ship"};
+    // Random-spread hits further than this many regions away are not checked against the candidates
+    private static final int MAX_TRUST_REGIONS = 8;
+
+    private static final Map<String, KdTree> TREES = new HashMap<>();
+    // Candidate chunks known to hold no start, per "dimension|type"
+    private static final Map<String, LongOpenHashSet> MISSES = new HashMap<>();
+    private static final Map<Structure, String> WATCHED = new IdentityHashMap<>();
+    // Placement per "dimension|type", resolved on first use; null if the type does not generate there
+    private static final Map<String, StructurePlacement> PLACEMENTS = new HashMap<>();
+    private static long seed;
+    private static boolean dirty = false;
+
+    private static String key(ServerWorld world, String type) {
+        return world.getRegistryKey().getValue() + "|" + type.toLowerCase();
+    }
+
+    // --- [ LOOKUP ] ---
+
+    /**
+     * Nearest known structure of {@code type} to {@code origin}, or null if it cannot stand in for a fresh
+     * search: some candidate chunk closer than it has not been checked yet and could hold a nearer start.
+     */
+    public static BlockPos nearest(ServerWorld world, String type, BlockPos origin, StructurePlacement placement) {
+        KdTree tree = TREES.get(key(world, type));
+        if (tree == null) return null;
+        int found = tree.nearest(origin.getX(), origin.getZ());
+        if (found < 0) return null;
+
+        long dx = tree.xs[found] - origin.getX();
+        long dz = tree.zs[found] - origin.getZ();
+        if (!closerCandidatesChecked(world, type, origin, placement, dx * dx + dz * dz)) return null;
+        return new BlockPos(tree.xs[found], origin.getY(), tree.zs[found]);
+    }
+
+    // True if every candidate strictly closer than the hit is a recorded miss
+    private static boolean closerCandidatesChecked(ServerWorld world, String type, BlockPos origin, StructurePlacement placement, long hitDistance) {
+        LongOpenHashSet misses = MISSES.getOrDefault(key(world, type), new LongOpenHashSet());
+        StructurePlacementCalculator calculator = world.getChunkManager().getStructurePlacementCalculator();
+
+        if (placement instanceof RandomSpreadStructurePlacement spread) {
+            int spacing = spread.getSpacing();
+            long reach = (long) Math.ceil(Math.sqrt((double) hitDistance));
+            if (reach > (long) MAX_TRUST_REGIONS * spacing * 16) return false;
+            // Every region a closer start could be in
+            int minX = Math.floorDiv(Math.floorDiv(origin.getX() - (int) reach, 16), spacing);
+            int maxX = Math.floorDiv(Math.floorDiv(origin.getX() + (int) reach, 16), spacing);
+            int minZ = Math.floorDiv(Math.floorDiv(origin.getZ() - (int) reach, 16), spacing);
+            int maxZ = Math.floorDiv(Math.floorDiv(origin.getZ() + (int) reach, 16), spacing);
+            long seed = calculator.getStructureSeed();
+            for (int rx = minX; rx <= maxX; rx++) {
+                for (int rz = minZ; rz <= maxZ; rz++) {
+                    ChunkPos candidate = spread.getStartChunk(seed, rx * spacing, rz * spacing);
+                    if (!spread.shouldGenerate(calculator, candidate.x, candidate.z)) continue;
+                    if (isUncheckedCloser(placement, candidate, origin, hitDistance, misses)) return false;
+                }
+            }
+            return true;
+        }
+        if (placement instanceof ConcentricRingsStructurePlacement rings) {
+            List<ChunkPos> positions = calculator.getPlacementPositions(rings);
+            if (positions == null) return false;
+            for (ChunkPos candidate : positions) {
+                if (isUncheckedCloser(placement, candidate, origin, hitDistance, misses)) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isUncheckedCloser(StructurePlacement placement, ChunkPos candidate, BlockPos origin, long hitDistance, LongOpenHashSet misses) {
+        BlockPos pos = placement.getLocatePos(candidate);
+        long dx = pos.getX() - origin.getX();
+        long dz = pos.getZ() - origin.getZ();
+        return dx * dx + dz * dz < hitDistance && !misses.contains(candidate.toLong());
+    }
+
+    public static void record(ServerWorld world, String type, BlockPos pos) {
+        if (TREES.computeIfAbsent(key(world, type), k -> new KdTree()).insert(pos.getX(), pos.getZ())) dirty = true;
+    }
+
+    /**
+     * Records a candidate chunk that was checked and holds no start of {@code type}.
+     */
+    public static void recordMiss(ServerWorld world, String type, ChunkPos candidate) {
+        if (MISSES.computeIfAbsent(key(world, type), k -> new LongOpenHashSet()).add(candidate.toLong())) dirty = true;
+    }
+
+    /**
+     * Records locatable structure starts from a freshly loaded chunk, and a miss when the chunk is a
+     * random-spread candidate without one. Registered on ServerChunkEvents.CHUNK_LOAD.
+     */
+    public static void onChunkLoad(ServerWorld world, Chunk chunk) {
+        if (WATCHED.isEmpty()) return;
+        ChunkPos pos = chunk.getPos();
+
+        for (Map.Entry<Structure, String> watched : WATCHED.entrySet()) {
+            StructurePlacement placement = placement(world, watched.getValue(), watched.getKey());
+            if (placement == null) continue;
+            StructureStart start = chunk.getStructureStart(watched.getKey());
+            if (start != null && start.hasChildren()) {
+                record(world, watched.getValue(), placement.getLocatePos(pos));
+            } else if (placement instanceof RandomSpreadStructurePlacement spread) {
+                int spacing = spread.getSpacing();
+                ChunkPos candidate = spread.getStartChunk(world.getChunkManager().getStructurePlacementCalculator().getStructureSeed(),
+                        Math.floorDiv(pos.x, spacing) * spacing, Math.floorDiv(pos.z, spacing) * spacing);
+                if (candidate.equals(pos)) recordMiss(world, watched.getValue(), pos);
+            }
+        }
+    }
+
+    private static StructurePlacement placement(ServerWorld world, String type, Structure structure) {
+        String key = key(world, type);
+        if (PLACEMENTS.containsKey(key)) return PLACEMENTS.get(key);
+        StructurePlacement placement = GSRLocateManager.findPlacement(world.getChunkManager().getStructurePlacementCalculator(), structure);
+        PLACEMENTS.put(key, placement);
+        return placement;
+    }
+
+    // --- [ PERSISTENCE ] ---
+
+    /**
+     * Resolves the watched structures and loads the cache for the current seed. Called on SERVER_STARTED.
+     */
+    public static void load(MinecraftServer server) {
+        TREES.clear();
+        MISSES.clear();
+        WATCHED.clear();
+        PLACEMENTS.clear();
+        dirty = false;
+        seed = server.getOverworld().getSeed();
+
+        var registry = server.getRegistryManager().getOrThrow(RegistryKeys.STRUCTURE);
+        for (String type : TYPES) {
+            registry.getOptional(GSRLocateManager.structureKeyFor(type)).map(RegistryEntry::value).ifPresent(s -> WATCHED.put(s, type));
+        }
+
+        File file = getCacheFile(server);
+        if (!file.exists()) return;
+
+        try (FileReader reader = new FileReader(file, StandardCharsets.UTF_8)) {
+            JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+            if (root.get("seed").getAsLong() != seed) {
+                LOGGER.info("[GSR] Structure cache belongs to another seed, discarding it");
+                dirty = true;
+                return;
+            }
+            if (root.has("misses")) {
+                for (Map.Entry<String, JsonElement> entry : root.getAsJsonObject("misses").entrySet()) {
+                    JsonArray coords = entry.getValue().getAsJsonArray();
+                    LongOpenHashSet misses = new LongOpenHashSet(coords.size() / 2);
+                    for (int i = 0; i + 1 < coords.size(); i += 2) misses.add(ChunkPos.toLong(coords.get(i).getAsInt(), coords.get(i + 1).getAsInt()));
+                    MISSES.put(entry.getKey(), misses);
+                }
+            }
+            JsonObject structures = root.getAsJsonObject("structures");
+            int total = 0;
+            for (Map.Entry<String, JsonElement> entry : structures.entrySet()) {
+                JsonArray coords = entry.getValue().getAsJsonArray();
+                int[] xs = new int[coords.size() / 2];
+                int[] zs = new int[xs.length];
+                for (int i = 0; i < xs.length; i++) {
+                    xs[i] = coords.get(i * 2).getAsInt();
+                    zs[i] = coords.get(i * 2 + 1).getAsInt();
+                }
+                TREES.put(entry.getKey(), KdTree.balanced(xs, zs));
+                total += xs.length;
+            }
+            LOGGER.info("[GSR] Loaded {} cached structure locations", total);
+        } catch (Exception e) {
+            LOGGER.error("[GSR] Failed to load structure cache!", e);
+        }
+    }
+
+    /**
+     * Writes the cache if anything was recorded since the last save.
+     * @return The pending write, or a completed future if there was nothing to do.
+     */
+    public static CompletableFuture<Void> save(MinecraftServer server) {
+        if (!dirty) return CompletableFuture.completedFuture(null);
+        dirty = false;
+
+        File file = getCacheFile(server);
+        // Serialize on the main thread so the background write sees a consistent snapshot
+        JsonObject structures = new JsonObject();
+        for (Map.Entry<String, KdTree> entry : TREES.entrySet()) {
+            KdTree tree = entry.getValue();
+            JsonArray coords = new JsonArray();
+            for (int i = 0; i < tree.size; i++) {
+                coords.add(tree.xs[i]);
+                coords.add(tree.zs[i]);
+            }
+            structures.add(entry.getKey(), coords);
+        }
+        JsonObject misses = new JsonObject();
+        for (Map.Entry<String, LongOpenHashSet> entry : MISSES.entrySet()) {
+            JsonArray coords = new JsonArray();
+            for (long chunk : entry.getValue()) {
+                coords.add(ChunkPos.getPackedX(chunk));
+                coords.add(ChunkPos.getPackedZ(chunk));
+            }
+            misses.add(entry.getKey(), coords);
+        }
+        JsonObject root = new JsonObject();
+        root.addProperty("seed", seed);
+        root.add("structures", structures);
+        root.add("misses", misses);
+        String json = GSON.toJson(root);
+
+        return CompletableFuture.runAsync(() -> {
+            if (file.getParentFile() != null) file.getParentFile().mkdirs();
+            try (FileWriter writer = new FileWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(json);
+            } catch (IOException e) {
+                LOGGER.error("[GSR] Async structure cache save failed!", e);
+            }
+        });
+    }
+
+    private static File getCacheFile(MinecraftServer server) {
+        return server.getSavePath(WorldSavePath.ROOT).resolve("data").resolve("gsr_structure_cache.json").toFile();
+    }
+
+    // --- [ K-D TREE ] ---
+
+    /**
+     * Insert-only 2D k-d tree over block (x, z) pairs, alternating the split axis per depth.
+     * Nodes live in parallel arrays; duplicates are rejected.
+     */
+    private static final class KdTree {
+        int[] xs = new int[16];
+        int[] zs = new int[16];
+        int[] left = new int[16];
+        int[] right = new int[16];
+        int size = 0;
+        int root = -1;
+        final LongOpenHashSet keys = new LongOpenHashSet();
+
+        // Search state, reused between queries (server thread only)
+        private int best;
+        private long bestDistance;
+
+        /**
+         * Builds a tree by inserting medians first, so a loaded cache starts out balanced.
+         */
+        static KdTree balanced(int[] xs, int[] zs) {
+            KdTree tree = new KdTree();
+            long[][] points = new long[xs.length][];
+            for (int i = 0; i < xs.length; i++) points[i] = new long[]{xs[i], zs[i]};
+            tree.insertMedians(points, 0, points.length, 0);
+            return tree;
+        }
+
+        private void insertMedians(long[][] points, int from, int to, int depth) {
+            if (from >= to) return;
+            int axis = depth & 1;
+            Arrays.sort(points, from, to, (a, b) -> Long.compare(a[axis], b[axis]));
+            int mid = (from + to) >>> 1;
+            insert((int) points[mid][0], (int) points[mid][1]);
+            insertMedians(points, from, mid, depth + 1);
+            insertMedians(points, mid + 1, to, depth + 1);
+        }
+
+        boolean insert(int x, int z) {
+            if (!keys.add(((long) x << 32) | (z & 0xFFFFFFFFL))) return false;
+            if (size == xs.length) grow();
+            int node = size++;
+            xs[node] = x;
+            zs[node] = z;
+            left[node] = -1;
+            right[node] = -1;
+
+            if (root < 0) {
+                root = node;
+                return true;
+            }
+            int current = root;
+            for (int depth = 0; ; depth++) {
+                boolean goLeft = (depth & 1) == 0 ? x < xs[current] : z < zs[current];
+                int[] side = goLeft ? left : right;
+                if (side[current] < 0) {
+                    side[current] = node;
+                    return true;
+                }
+                current = side[current];
+            }
+        }
+
+        private void grow() {
+            int capacity = xs.length * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            zs = Arrays.copyOf(zs, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+        }
+
+        /**
+         * Index of the node nearest to (x, z), or -1 if the tree is empty.
+         */
+        int nearest(int x, int z) {
+            best = -1;
+            bestDistance = Long.MAX_VALUE;
+            search(root, 0, x, z);
+            return best;
+        }
+
+        private void search(int node, int depth, int x, int z) {
+            if (node < 0) return;
+            long dx = (long) xs[node] - x;
+            long dz = (long) zs[node] - z;
+            long distance = dx * dx + dz * dz;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = node;
+            }
+
+            // Signed distance from the query to this node's splitting line
+            long diff = (depth & 1) == 0 ? x - (long) xs[node] : z - (long) zs[node];
+            int near = diff < 0 ? left[node] : right[node];
+            int far = diff < 0 ? right[node] : left[node];
+            search(near, depth + 1, x, z);
+            if (diff * diff < bestDistance) search(far, depth + 1, x, z);
+        }
+    }
+}
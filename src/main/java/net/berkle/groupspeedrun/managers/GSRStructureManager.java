@@ -0,0 +1,304 @@
+package net.berkle.groupspeedrun.managers;
+
+import it.unimi.dsi.fastutil.longs.Long2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.structure.StructurePiece;
+import net.minecraft.structure.StructureStart;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkStatus;
+import net.minecraft.world.gen.structure.Structure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Structure presence service for structure splits.
+ *
+ * Two layers:
+ * 1. A chunk-keyed presence cache (chunk long key -> bitmask of tracked structures referenced by that chunk)
+ *    with least-recently-used eviction. Only consulted when a player crosses into a new chunk.
+ * 2. A per-dimension grid of structure <b>piece</b> bounding boxes, one cell per chunk, filled when a tracked
+ *    structure start is loaded. Point queries scan only the pieces overlapping the player's chunk, so they are
+ *    cheap enough to run for every player every tick and fire on first contact with an actual piece rather
+ *    than the start's overall bounding box. Bounded the same way: once too many starts are indexed, the least
+ *    recently referenced one is taken out of the grid again and re-indexed if a player comes back to it.
+ */
+public class GSRStructureManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger("GSR-Structures");
+
+    // Chunks remembered per dimension before the least recently used entry is dropped
+    private static final int CACHE_CAPACITY = 4096;
+    // Structure starts kept in the piece grid per dimension before the least recently used one is dropped
+    private static final int START_CAPACITY = 1024;
+    // Bit 31 is left out so a mask is never negative, and never the presence cache's -1 sentinel
+    private static final int MAX_TRACKED = Integer.SIZE - 1;
+    // Ints per indexed piece: minX, minY, minZ, maxX, maxY, maxZ, structure bit
+    private static final int BOX_STRIDE = 7;
+
+    // Tracked structures; a structure's index in these lists is its bit in every mask.
+    // Filled by the split table through track(), cleared by clearTracked() before it is reloaded.
+    private static final List<RegistryKey<Structure>> TRACKED_KEYS = new ArrayList<>();
+    private static final List<Structure> TRACKED = new ArrayList<>();
+
+    private static final Map<RegistryKey<World>, DimensionIndex> INDEXES = new HashMap<>();
+
+    private record StartKey(int bitIndex, long startChunk) {}
+
+    /**
+     * Presence cache, piece grid and the starts already indexed for one dimension.
+     */
+    private static final class DimensionIndex {
+        final Long2IntLinkedOpenHashMap presence = new Long2IntLinkedOpenHashMap();
+        final Long2ObjectOpenHashMap<int[]> cells = new Long2ObjectOpenHashMap<>();
+        // Indexed start -> the boxes it put into the grid. Access order, so the eldest is the least recently used.
+        final LinkedHashMap<StartKey, List<int[]>> starts = new LinkedHashMap<>(16, 0.75f, true);
+
+        DimensionIndex() {
+            presence.defaultReturnValue(-1);
+        }
+
+        boolean isIndexed(int bitIndex, long startChunk) {
+            return starts.get(new StartKey(bitIndex, startChunk)) != null;
+        }
+    }
+
+    /**
+     * Registers a structure type to be indexed and returns its bit.
+     * Must be called before {@link #init}; registering the same key again returns the same bit.
+     * Returns 0 once 31 structures are tracked.
+     */
+    public static int track(RegistryKey<Structure> key) {
+        int existing = TRACKED_KEYS.indexOf(key);
+        if (existing >= 0) return 1 << existing;
+        if (TRACKED_KEYS.size() >= MAX_TRACKED) return 0;
+        TRACKED_KEYS.add(key);
+        return 1 << (TRACKED_KEYS.size() - 1);
+    }
+
+    /**
+     * Forgets every tracked structure and everything indexed for them. Called before the split table is
+     * loaded, so its structures get their bits afresh instead of piling up on top of the previous table's.
+     */
+    public static void clearTracked() {
+        TRACKED_KEYS.clear();
+        TRACKED.clear();
+        INDEXES.clear();
+    }
+
+    /**
+     * Resolves the tracked structures from the server's registries. Called once on SERVER_STARTED.
+     */
+    public static void init(MinecraftServer server) {
+        INDEXES.clear();
+        TRACKED.clear();
+        var registry = server.getRegistryManager().getOrThrow(RegistryKeys.STRUCTURE);
+        for (RegistryKey<Structure> key : TRACKED_KEYS) {
+            Structure structure = registry.getOptional(key).map(RegistryEntry::value).orElse(null);
+            if (structure == null) LOGGER.warn("[GSR] Missing structure registry entry: {}", key.getValue());
+            TRACKED.add(structure);
+        }
+    }
+
+    private static DimensionIndex index(ServerWorld world) {
+        return INDEXES.computeIfAbsent(world.getRegistryKey(), key -> new DimensionIndex());
+    }
+
+    // --- [ LAYER 1: CHUNK PRESENCE ] ---
+
+    /**
+     * Bitmask of tracked structures whose bounds reach into the given chunk.
+     * Starts referenced from the chunk are indexed on the way, so pieces are known before the player reaches them.
+     * A chunk is only cached once every start it references is indexed; until then it is recomputed.
+     */
+    public static int getPresence(ServerWorld world, ChunkPos chunk) {
+        DimensionIndex index = index(world);
+        long key = chunk.toLong();
+        int mask = index.presence.getAndMoveToLast(key);
+        if (mask != -1) return mask;
+        return computePresence(world, index, chunk);
+    }
+
+    private static int computePresence(ServerWorld world, DimensionIndex index, ChunkPos chunk) {
+        Map<Structure, LongSet> references = world.getStructureAccessor().getStructureReferences(chunk.getStartPos());
+        int mask = 0;
+        boolean complete = true;
+        for (int i = 0; i < TRACKED.size(); i++) {
+            Structure structure = TRACKED.get(i);
+            if (structure == null) continue;
+            LongSet starts = references.get(structure);
+            if (starts == null || starts.isEmpty()) continue;
+
+            mask |= 1 << i;
+            for (LongIterator it = starts.iterator(); it.hasNext(); ) {
+                long startChunk = it.nextLong();
+                if (index.isIndexed(i, startChunk)) continue;
+                Chunk source = world.getChunk(ChunkPos.getPackedX(startChunk), ChunkPos.getPackedZ(startChunk), ChunkStatus.STRUCTURE_STARTS, false);
+                if (source == null) {
+                    // Not loaded yet: indexed later, by this or by onChunkLoad
+                    complete = false;
+                    continue;
+                }
+                indexStart(index, i, startChunk, source.getStructureStart(structure));
+            }
+        }
+
+        if (complete) {
+            if (index.presence.size() >= CACHE_CAPACITY) index.presence.removeFirstInt();
+            index.presence.putAndMoveToLast(chunk.toLong(), mask);
+        }
+        return mask;
+    }
+
+    // --- [ LAYER 2: PIECE GRID ] ---
+
+    /**
+     * Indexes every tracked structure start whose origin lies in a freshly loaded chunk.
+     * Registered on ServerChunkEvents.CHUNK_LOAD.
+     */
+    public static void onChunkLoad(ServerWorld world, Chunk chunk) {
+        if (TRACKED.isEmpty()) return;
+        Map<Structure, StructureStart> starts = chunk.getStructureStarts();
+        if (starts.isEmpty()) return;
+
+        DimensionIndex index = null;
+        long startChunk = chunk.getPos().toLong();
+        for (int i = 0; i < TRACKED.size(); i++) {
+            Structure structure = TRACKED.get(i);
+            if (structure == null) continue;
+            StructureStart start = starts.get(structure);
+            if (start == null || !start.hasChildren()) continue;
+
+            if (index == null) index = index(world);
+            if (!index.isIndexed(i, startChunk)) indexStart(index, i, startChunk, start);
+        }
+    }
+
+    /**
+     * Adds a start's pieces to the grid and remembers it as indexed, even when it has no pieces, so it is not
+     * looked up again. Drops the least recently used start once the dimension holds too many.
+     */
+    private static void indexStart(DimensionIndex index, int bitIndex, long startChunk, StructureStart start) {
+        List<int[]> boxes = new ArrayList<>();
+        if (start != null && start.hasChildren()) {
+            for (StructurePiece piece : start.getChildren()) {
+                BlockBox box = piece.getBoundingBox();
+                int[] entry = {box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ(), 1 << bitIndex};
+                boxes.add(entry);
+                forEachCell(entry, cell -> appendBox(index.cells, cell, entry));
+            }
+        }
+        index.starts.put(new StartKey(bitIndex, startChunk), boxes);
+        if (index.starts.size() > START_CAPACITY) evictEldest(index);
+    }
+
+    /**
+     * Takes the least recently used start out of the grid. The cached presence of the chunks it covered is
+     * dropped too, so the next player to cross into one of them indexes the start again.
+     */
+    private static void evictEldest(DimensionIndex index) {
+        Iterator<List<int[]>> eldest = index.starts.values().iterator();
+        List<int[]> boxes = eldest.next();
+        eldest.remove();
+        for (int[] box : boxes) {
+            forEachCell(box, cell -> {
+                removeBox(index.cells, cell, box);
+                index.presence.remove(cell);
+            });
+        }
+    }
+
+    private static void forEachCell(int[] box, LongConsumer action) {
+        int minCx = box[0] >> 4, maxCx = box[3] >> 4;
+        int minCz = box[2] >> 4, maxCz = box[5] >> 4;
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cz = minCz; cz <= maxCz; cz++) action.accept(ChunkPos.toLong(cx, cz));
+        }
+    }
+
+    private static void appendBox(Long2ObjectOpenHashMap<int[]> cells, long cell, int[] box) {
+        int[] old = cells.get(cell);
+        int offset = old == null ? 0 : old.length;
+        int[] grown = old == null ? new int[BOX_STRIDE] : Arrays.copyOf(old, offset + BOX_STRIDE);
+        System.arraycopy(box, 0, grown, offset, BOX_STRIDE);
+        cells.put(cell, grown);
+    }
+
+    // Removes one copy of the box from the cell; identical boxes of another start are interchangeable
+    private static void removeBox(Long2ObjectOpenHashMap<int[]> cells, long cell, int[] box) {
+        int[] old = cells.get(cell);
+        if (old == null) return;
+        for (int i = 0; i < old.length; i += BOX_STRIDE) {
+            if (!Arrays.equals(old, i, i + BOX_STRIDE, box, 0, BOX_STRIDE)) continue;
+            if (old.length == BOX_STRIDE) {
+                cells.remove(cell);
+            } else {
+                int[] shrunk = new int[old.length - BOX_STRIDE];
+                System.arraycopy(old, 0, shrunk, 0, i);
+                System.arraycopy(old, i + BOX_STRIDE, shrunk, i, old.length - i - BOX_STRIDE);
+                cells.put(cell, shrunk);
+            }
+            return;
+        }
+    }
+
+    /**
+     * Bitmask of tracked structures with a piece containing {@code pos}. One map lookup plus a scan of
+     * the pieces overlapping that chunk; allocation-free.
+     */
+    public static int getPiecesAt(ServerWorld world, BlockPos pos) {
+        DimensionIndex index = INDEXES.get(world.getRegistryKey());
+        if (index == null) return 0;
+        int[] boxes = index.cells.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (boxes == null) return 0;
+
+        int x = pos.getX(), y = pos.getY(), z = pos.getZ();
+        int mask = 0;
+        for (int i = 0; i < boxes.length; i += BOX_STRIDE) {
+            if (x >= boxes[i] && y >= boxes[i + 1] && z >= boxes[i + 2]
+                    && x <= boxes[i + 3] && y <= boxes[i + 4] && z <= boxes[i + 5]) {
+                mask |= boxes[i + 6];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Exact check: is {@code pos} inside a piece of the given structure?
+     */
+    public static boolean isInside(ServerWorld world, BlockPos pos, int structureBit) {
+        return (getPiecesAt(world, pos) & structureBit) != 0;
+    }
+
+    /**
+     * Completes any outstanding structure split for a player standing at {@code pos}.
+     * @param mask The presence mask of the player's current chunk.
+     */
+    public static void checkSplits(MinecraftServer server, ServerWorld world, BlockPos pos, int mask) {
+        if (mask == 0) return;
+        int inside = getPiecesAt(world, pos) & mask;
+        if (inside != 0) GSRSplitManager.onStructures(server, inside);
+    }
+
+    public static void reset() {
+        INDEXES.clear();
+    }
+}
@@ -0,0 +1,18 @@
+package net.berkle.groupspeedrun.mixin.accessors;
+
+import net.minecraft.entity.player.HungerManager;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(HungerManager.class)
+public interface HungerManagerAccessor {
+    // Exhaustion and saturation setters are client-only in vanilla, so shared hunger writes the fields directly
+    @Accessor("exhaustion")
+    float getGSRExhaustion();
+
+    @Accessor("exhaustion")
+    void setGSRExhaustion(float exhaustion);
+
+    @Accessor("saturationLevel")
+    void setGSRSaturation(float saturation);
+}
@@ -4,6 +4,7 @@ import net.berkle.groupspeedrun.GSRMain;
 import net.berkle.groupspeedrun.GSRClient;
 import net.berkle.groupspeedrun.config.GSRConfigPlayer;
 import net.berkle.groupspeedrun.mixin.accessors.BossBarHudAccessor;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.berkle.groupspeedrun.util.GSRColorHelper;
 import net.berkle.groupspeedrun.util.GSRAlphaUtil;
 import net.minecraft.client.MinecraftClient;
@@ -31,11 +32,12 @@ public class GSRLocateHudMixin {
         if (client.player == null || client.options.hudHidden || client.world == null) return;
 
         var config = GSRMain.CONFIG;
-        if (config == null || config.startTime < 0) return;
+        var state = GSRRunStateMachine.get();
+        if (config == null || !state.hasStarted()) return;
 
         GSRConfigPlayer pConfig = GSRClient.PLAYER_CONFIG;
 
-        boolean isFinished = config.isVictorious || config.isFailed;
+        boolean isFinished = state.isFinished();
         long currentTime = client.world.getTime();
         long ticksSinceEnd = currentTime - config.lastSplitTime;
         float fadeAlpha = GSRAlphaUtil.getFadeAlpha(client, config, isFinished, ticksSinceEnd);
@@ -4,6 +4,10 @@ import net.berkle.groupspeedrun.GSRMain;
 import net.berkle.groupspeedrun.GSRClient; // Import the client to get the config
 import net.berkle.groupspeedrun.config.GSRConfigPlayer;
 import net.berkle.groupspeedrun.config.GSRConfigWorld;
+import net.berkle.groupspeedrun.splits.GSRComparison;
+import net.berkle.groupspeedrun.state.GSRRunPhase;
+import net.berkle.groupspeedrun.state.GSRRunState;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.berkle.groupspeedrun.util.GSRColorHelper;
 import net.berkle.groupspeedrun.util.GSRFormatUtil;
 import net.berkle.groupspeedrun.util.GSRAlphaUtil;
@@ -34,7 +38,8 @@ public class GSRTimerHudMixin {
         if (worldConfig == null || playerConfig == null) return;
 
         // --- 2. ALPHA & VISIBILITY LOGIC ---
-        boolean isFinished = worldConfig.isVictorious || worldConfig.isFailed;
+        GSRRunState state = GSRRunStateMachine.get();
+        boolean isFinished = state.isFinished();
         long currentTime = client.world.getTime();
         long ticksSinceEnd = currentTime - worldConfig.lastSplitTime;
 
@@ -45,25 +50,44 @@ public class GSRTimerHudMixin {
         TextRenderer tr = client.textRenderer;
         long displayTicks = worldConfig.getElapsedTime() / 50;
 
-        String titleLabel = worldConfig.isVictorious ? "§a§lGSR VICTORY!" : (worldConfig.isFailed ? "§c§lGSR FAIL" : "§6§lGSR Time:");
-        String timeColor = worldConfig.isVictorious ? "§a" : (worldConfig.isFailed ? "§c" : "§f");
-        String pauseTag = worldConfig.isTimerFrozen && !isFinished ? " §7[PAUSED]" : "";
+        boolean isVictory = state.phase() == GSRRunPhase.VICTORY;
+        boolean isFailed = state.phase() == GSRRunPhase.FAILED;
+        String titleLabel = isVictory ? "§a§lGSR VICTORY!" : (isFailed ? "§c§lGSR FAIL" : "§6§lGSR Time:");
+        String timeColor = isVictory ? "§a" : (isFailed ? "§c" : "§f");
+        String pauseTag = state.phase() == GSRRunPhase.PAUSED ? " §7[PAUSED]" : "";
         String titleTime = timeColor + GSRFormatUtil.formatTime(displayTicks) + pauseTag;
+        String lrtLabel = "§7Load-Removed:";
+        String lrtTime = "§7" + GSRFormatUtil.formatTime(worldConfig.getDisplayLoadRemovedTime() / 50);
 
-        long latestTime = Math.max(worldConfig.timeNether, Math.max(worldConfig.timeBastion,
-                Math.max(worldConfig.timeFortress, Math.max(worldConfig.timeEnd, worldConfig.timeDragon))));
+        String[] splitNames = worldConfig.getDisplaySplitNames();
+        long[] splitTimes = worldConfig.getDisplaySplitTimes();
+        long[] splitLrt = worldConfig.getDisplaySplitLrt();
 
-        String[][] splitData = {
-                prepareLine("Nether", worldConfig.timeNether, latestTime),
-                prepareLine("Bastion", worldConfig.timeBastion, latestTime),
-                prepareLine("Fortress", worldConfig.timeFortress, latestTime),
-                prepareLine("The End", worldConfig.timeEnd, latestTime),
-                prepareLine("Dragon", worldConfig.timeDragon, latestTime)
-        };
+        long latestTime = 0;
+        for (long t : splitTimes) latestTime = Math.max(latestTime, t);
+
+        // Comparison deltas are computed locally from the table the server sent at run start
+        GSRComparison comparison = GSRClient.COMPARISON;
+        boolean compare = comparison.size() == splitNames.length && splitNames.length > 0;
+        long[] segments = compare ? GSRComparison.segmentsOf(splitTimes) : null;
+
+        String[][] splitData = new String[splitNames.length][];
+        for (int i = 0; i < splitNames.length; i++) {
+            splitData[i] = prepareLine(splitNames[i], splitTimes[i], splitLrt[i], latestTime);
+            if (compare) splitData[i][1] += prepareDelta(splitTimes[i], comparison.pbSplits[i], segments[i], comparison.bestSegments[i]);
+        }
+
+        boolean showPb = compare && comparison.pbTotal > 0;
+        String pbLabel = "§7PB / SoB:";
+        String pbTime = showPb ? "§7" + GSRFormatUtil.formatTime(comparison.pbTotal) + " / " + GSRFormatUtil.formatTime(comparison.sumOfBest()) : "";
 
         // --- 4. DYNAMIC UI SIZING ---
-        int nameColWidth = tr.getWidth(titleLabel);
-        int timeColWidth = tr.getWidth(titleTime);
+        int nameColWidth = Math.max(tr.getWidth(titleLabel), tr.getWidth(lrtLabel));
+        int timeColWidth = Math.max(tr.getWidth(titleTime), tr.getWidth(lrtTime));
+        if (showPb) {
+            nameColWidth = Math.max(nameColWidth, tr.getWidth(pbLabel));
+            timeColWidth = Math.max(timeColWidth, tr.getWidth(pbTime));
+        }
         for (String[] split : splitData) {
             nameColWidth = Math.max(nameColWidth, tr.getWidth(split[0]));
             timeColWidth = Math.max(timeColWidth, tr.getWidth(split[1]));
@@ -72,7 +96,8 @@ public class GSRTimerHudMixin {
         final int padding = 6;
         final int rowHeight = 10;
         final int totalBoxWidth = nameColWidth + 15 + timeColWidth + (padding * 2);
-        final int boxHeight = ((splitData.length + 1) * rowHeight) + (padding * 2) + 4;
+        final int headerRows = showPb ? 3 : 2;
+        final int boxHeight = ((splitData.length + headerRows) * rowHeight) + (padding * 2) + 4;
 
         // --- 5. TRANSFORMATIONS ---
         context.getMatrices().pushMatrix();
@@ -100,12 +125,19 @@ public class GSRTimerHudMixin {
         // Draw Headers
         context.drawTextWithShadow(tr, titleLabel, padding, padding, mainTextColor);
         context.drawTextWithShadow(tr, titleTime, totalBoxWidth - padding - tr.getWidth(titleTime), padding, mainTextColor);
+        context.drawTextWithShadow(tr, lrtLabel, padding, padding + rowHeight, mainTextColor);
+        context.drawTextWithShadow(tr, lrtTime, totalBoxWidth - padding - tr.getWidth(lrtTime), padding + rowHeight, mainTextColor);
+        if (showPb) {
+            context.drawTextWithShadow(tr, pbLabel, padding, padding + rowHeight * 2, mainTextColor);
+            context.drawTextWithShadow(tr, pbTime, totalBoxWidth - padding - tr.getWidth(pbTime), padding + rowHeight * 2, mainTextColor);
+        }
 
         // Draw Separator Line
-        context.fill(2, padding + rowHeight + 2, totalBoxWidth - 2, padding + rowHeight + 3, sepCol);
+        int headerBottom = padding + (rowHeight * headerRows);
+        context.fill(2, headerBottom + 2, totalBoxWidth - 2, headerBottom + 3, sepCol);
 
         // Draw Split Rows
-        int currentY = padding + rowHeight + 6;
+        int currentY = headerBottom + 6;
         for (String[] split : splitData) {
             context.drawTextWithShadow(tr, split[0], padding, currentY, mainTextColor);
             context.drawTextWithShadow(tr, split[1], totalBoxWidth - padding - tr.getWidth(split[1]), currentY, mainTextColor);
@@ -115,10 +147,24 @@ public class GSRTimerHudMixin {
         context.getMatrices().popMatrix();
     }
 
+    /**
+     * Ahead/behind versus the PB split: gold for a new best segment, green when ahead, red when behind.
+     * Unreached splits show the PB time as a target.
+     */
+    @Unique
+    private String prepareDelta(long ticks, long pbTicks, long segment, long bestSegment) {
+        if (pbTicks <= 0) return "";
+        if (ticks <= 0) return " §8" + GSRFormatUtil.formatTime(pbTicks);
+
+        long delta = ticks - pbTicks;
+        String color = (segment > 0 && bestSegment > 0 && segment <= bestSegment) ? "§6" : (delta <= 0 ? "§a" : "§c");
+        return " " + color + (delta <= 0 ? "-" : "+") + GSRFormatUtil.formatTime(Math.abs(delta));
+    }
+
     @Unique
-    private String[] prepareLine(String name, long ticks, long latest) {
+    private String[] prepareLine(String name, long ticks, long lrtTicks, long latest) {
         if (ticks <= 0) return new String[]{"§7○ " + name, "§7--:--"};
         String icon = (ticks == latest) ? "§6★ " : "§a✔ ";
-        return new String[]{icon + name, "§f" + GSRFormatUtil.formatTime(ticks)};
+        return new String[]{icon + name, "§f" + GSRFormatUtil.formatTime(ticks) + " §7" + GSRFormatUtil.formatTime(lrtTicks)};
     }
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package net.berkle.groupspeedrun.mixin.trackers;
 
 import net.berkle.groupspeedrun.GSRStats;
-import net.berkle.groupspeedrun.GSRMain;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.minecraft.item.BlockItem;
 import net.minecraft.item.ItemPlacementContext;
 import net.minecraft.util.ActionResult;
@@ -21,7 +21,7 @@ public abstract class GSRBlockItemTracker {
     private void onBlockPlace(ItemPlacementContext context, CallbackInfoReturnable<ActionResult> cir) {
         // Use the centralized helper!
         // This ensures 'isDirty' becomes true and the stats actually save to disk.
-        if (context.getPlayer() != null && cir.getReturnValue().isAccepted()) {
+        if (GSRRunStateMachine.isTracking() && context.getPlayer() != null && cir.getReturnValue().isAccepted()) {
             if (!context.getWorld().isClient()) {
                 GSRStats.addInt(GSRStats.BLOCKS_PLACED, context.getPlayer().getUuid(), 1);
             }
@@ -1,7 +1,7 @@
 package net.berkle.groupspeedrun.mixin.trackers;
 
-import net.berkle.groupspeedrun.GSRMain;
 import net.berkle.groupspeedrun.GSRStats;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.minecraft.entity.boss.dragon.EnderDragonEntity;
 import net.minecraft.entity.boss.dragon.EnderDragonPart;
 import net.minecraft.entity.damage.DamageSource;
@@ -21,9 +21,7 @@ public abstract class GSRDragonDamageTracker {
         if (!cir.getReturnValue()) return;
 
         // 2. State Check: Is the run active?
-        if (GSRMain.CONFIG == null || GSRMain.CONFIG.isTimerFrozen || GSRMain.CONFIG.startTime < 0) {
-            return;
-        }
+        if (!GSRRunStateMachine.isTracking()) return;
 
         // 3. Attribution: Was it a player?
         if (source.getAttacker() instanceof ServerPlayerEntity player) {
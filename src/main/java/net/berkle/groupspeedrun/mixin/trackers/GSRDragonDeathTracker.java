@@ -1,8 +1,9 @@
 package net.berkle.groupspeedrun.mixin.trackers;
 
 import net.berkle.groupspeedrun.GSRMain;
-import net.berkle.groupspeedrun.managers.GSRRunHistoryManager;
 import net.berkle.groupspeedrun.managers.GSRSplitManager;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
+import net.minecraft.entity.EntityType;
 import net.minecraft.entity.boss.dragon.EnderDragonEntity;
 import net.minecraft.server.MinecraftServer;
 import org.spongepowered.asm.mixin.Mixin;
@@ -25,7 +26,7 @@ public abstract class GSRDragonDeathTracker {
 
         // dragon.deathTime increments every tick of the animation starting at 0.
         // Checking deathTime == 0 ensures this code runs EXACTLY once on the first frame.
-        if (dragon.deathTime == 0 && !GSRMain.CONFIG.isVictorious && !GSRMain.CONFIG.isFailed) {
+        if (dragon.deathTime == 0 && !GSRRunStateMachine.get().isFinished()) {
             MinecraftServer server = dragon.getEntityWorld().getServer();
             if (server != null) {
                 triggerVictory(server);
@@ -34,15 +35,8 @@ public abstract class GSRDragonDeathTracker {
     }
 
     private void triggerVictory(MinecraftServer server) {
-        // 1. Trigger the Split Logic
-        // This handles the Chat Broadcast, Sound, and pinning the timeDragon variable.
-        GSRSplitManager.completeSplit(server, "Dragon");
-
-        // 2. Additional Run Persistence
-        // Log the final success state into the JSON run history.
-        GSRRunHistoryManager.saveRun(server, "SUCCESS", "The Group", "Ender Dragon Defeated");
-
-        // 3. Log to Console for debugging
-        GSRMain.LOGGER.info("[GSR] Victory condition met! Timer finalized and broadcast sent.");
+        // Dispatch through the split table. With the default table this completes the "dragon" split,
+        // which ends the run in victory, broadcasts it and writes the run history.
+        GSRSplitManager.onEntityKilled(server, EntityType.ENDER_DRAGON);
     }
-}
\ No newline at end of file
+}
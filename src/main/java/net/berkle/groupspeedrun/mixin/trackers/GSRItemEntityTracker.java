@@ -1,7 +1,7 @@
 package net.berkle.groupspeedrun.mixin.trackers;
 
 import net.berkle.groupspeedrun.GSRStats;
-import net.berkle.groupspeedrun.GSRMain;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.minecraft.entity.ItemEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.ItemStack;
@@ -22,7 +22,7 @@ public abstract class GSRItemEntityTracker {
     @Inject(method = "onPlayerCollision", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/player/PlayerInventory;insertStack(Lnet/minecraft/item/ItemStack;)Z"))
     private void onPickup(PlayerEntity player, CallbackInfo ci) {
         // 1. Safety Checks: Server-side only and active timer
-        if (player.getEntityWorld().isClient() || GSRMain.CONFIG == null || GSRMain.CONFIG.startTime == -1 || GSRMain.CONFIG.isTimerFrozen) return;
+        if (!GSRRunStateMachine.isTracking() || player.getEntityWorld().isClient()) return;
 
         ItemEntity itemEntity = (ItemEntity) (Object) this;
         ItemStack stack = this.getStack();
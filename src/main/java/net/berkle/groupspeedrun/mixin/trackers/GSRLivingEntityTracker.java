@@ -1,7 +1,10 @@
 package net.berkle.groupspeedrun.mixin.trackers;
 
-import net.berkle.groupspeedrun.GSRMain;
 import net.berkle.groupspeedrun.GSRStats;
+import net.berkle.groupspeedrun.history.GSREventType;
+import net.berkle.groupspeedrun.managers.GSREventLogManager;
+import net.berkle.groupspeedrun.managers.GSRLoadManager;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.boss.dragon.EnderDragonEntity;
@@ -26,13 +29,16 @@ public abstract class GSRLivingEntityTracker {
     @Inject(method = "applyDamage", at = @At("TAIL"))
     private void trackAllDamage(ServerWorld world, DamageSource source, float amount, CallbackInfo ci) {
         // State Check: Only track if a run is active and not paused
-        if (GSRMain.CONFIG == null || GSRMain.CONFIG.startTime <= 0 || GSRMain.CONFIG.isTimerFrozen) return;
+        if (!GSRRunStateMachine.isTracking()) return;
 
         LivingEntity target = (LivingEntity) (Object) this;
 
         // 1. TRACK DAMAGE TAKEN (For "Tank" and "Coward" awards)
         if (target instanceof ServerPlayerEntity player) {
             GSRStats.addFloat(GSRStats.TOTAL_DAMAGE_TAKEN, player.getUuid(), amount);
+            if (amount >= GSREventLogManager.DAMAGE_SPIKE_THRESHOLD) {
+                GSREventLogManager.record(world.getServer(), GSREventType.DAMAGE_SPIKE, player, source.getName(), Math.round(amount * 10), 0);
+            }
         }
 
         // 2. TRACK DAMAGE DEALT (For "ADC" and "Weakling" awards)
@@ -54,7 +60,7 @@ public abstract class GSRLivingEntityTracker {
     private void trackHealing(float amount, CallbackInfo ci) {
         if ((Object) this instanceof ServerPlayerEntity player) {
             // State Check
-            if (GSRMain.CONFIG != null && GSRMain.CONFIG.startTime > 0 && !GSRMain.CONFIG.isTimerFrozen) {
+            if (GSRRunStateMachine.isTracking()) {
                 float currentHealth = player.getHealth();
                 float maxHealth = player.getMaxHealth();
 
@@ -70,14 +76,14 @@ public abstract class GSRLivingEntityTracker {
 
     /**
      * STATS: Monitors armor rating for the "Defender" award.
-     * Runs during the entity tick but optimized to check once per second.
+     * Runs during the entity tick but optimized to check once per second (less often under load).
      */
     @Inject(method = "tick", at = @At("HEAD"))
     private void trackMaxArmor(CallbackInfo ci) {
         if ((Object) this instanceof ServerPlayerEntity player) {
-            // Optimization: check every 20 ticks (1 second) to save CPU
-            if (player.getEntityWorld().getTime() % 20 == 0) {
-                if (GSRMain.CONFIG != null && GSRMain.CONFIG.startTime > 0 && !GSRMain.CONFIG.isTimerFrozen) {
+            // Optimization: check every 20 ticks (1 second) to save CPU, stretched by the load level
+            if (player.getEntityWorld().getTime() % GSRLoadManager.getLevel().armorInterval == 0) {
+                if (GSRRunStateMachine.isTracking()) {
                     int currentArmor = player.getArmor();
 
                     // Only update if they are actually wearing armor
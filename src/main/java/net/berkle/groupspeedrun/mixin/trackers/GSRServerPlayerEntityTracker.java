@@ -2,17 +2,16 @@ package net.berkle.groupspeedrun.mixin.trackers;
 
 import net.berkle.groupspeedrun.GSRMain;
 import net.berkle.groupspeedrun.GSRStats;
-import net.berkle.groupspeedrun.managers.GSRRunHistoryManager;
+import net.berkle.groupspeedrun.managers.GSRLoadManager;
 import net.berkle.groupspeedrun.managers.GSRSplitManager;
-import net.berkle.groupspeedrun.managers.GSRBroadcastManager;
+import net.berkle.groupspeedrun.managers.GSRStructureManager;
+import net.berkle.groupspeedrun.state.GSRRunPhase;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.minecraft.entity.damage.DamageSource;
-import net.minecraft.registry.RegistryKeys;
 import net.minecraft.screen.ScreenHandler;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.world.World;
-import net.minecraft.world.gen.structure.StructureKeys;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
@@ -34,6 +33,9 @@ public abstract class GSRServerPlayerEntityTracker {
     @Unique private double gsrPrevY;
     @Unique private double gsrPrevZ;
     @Unique private boolean gsrInitialized = false;
+    @Unique private ServerWorld gsrLastWorld;
+    @Unique private long gsrLastChunk;
+    @Unique private int gsrChunkMask;
 
     /**
      * Ticks every frame for every player.
@@ -49,7 +51,10 @@ public abstract class GSRServerPlayerEntityTracker {
         double currentZ = player.getZ();
 
         // 1. STATS: Distance Tracking (Only while run is active)
-        if (config != null && config.startTime > 0 && !config.isTimerFrozen && !config.isFailed && !config.isVictorious) {
+        // Under load the sample rate drops; player.age staggers samples across players.
+        boolean tracking = GSRRunStateMachine.isTracking();
+        GSRLoadManager.Level load = GSRLoadManager.getLevel();
+        if (tracking && player.age % load.distanceInterval == 0) {
             if (!gsrInitialized) {
                 gsrPrevX = currentX; gsrPrevY = currentY; gsrPrevZ = currentZ;
                 gsrInitialized = true;
@@ -59,8 +64,8 @@ public abstract class GSRServerPlayerEntityTracker {
                 double dz = currentZ - gsrPrevZ;
                 double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
 
-                // Filter out jitter/teleports (Movement < 10 blocks per tick)
-                if (dist > 0.01 && dist < 10.0) {
+                // Filter out jitter/teleports (Movement < 10 blocks per sampled tick)
+                if (dist > 0.01 && dist < 10.0 * load.distanceInterval) {
                     GSRStats.addFloat(GSRStats.DISTANCE_MOVED, player.getUuid(), (float) dist);
                 }
                 gsrPrevX = currentX; gsrPrevY = currentY; gsrPrevZ = currentZ;
@@ -68,28 +73,21 @@ public abstract class GSRServerPlayerEntityTracker {
         }
 
         // 2. LOGIC: Stop detection if the run is over or paused
-        if (config == null || config.isTimerFrozen || config.startTime <= 0 || config.isFailed || config.isVictorious) return;
-
-        // 3. STRUCTURES: Nether Split Detection (Fortress/Bastion)
-        if (player.getEntityWorld() instanceof ServerWorld world && world.getRegistryKey() == World.NETHER) {
-            var structureRegistry = world.getRegistryManager().getOrThrow(RegistryKeys.STRUCTURE);
-
-            // Fortress Split
-            if (config.timeFortress <= 0) {
-                structureRegistry.getOptional(StructureKeys.FORTRESS).ifPresent(entry -> {
-                    if (world.getStructureAccessor().getStructureAt(player.getBlockPos(), entry.value()).hasChildren()) {
-                        GSRSplitManager.completeSplit(this.server, "fortress");
-                    }
-                });
+        if (config == null || !tracking) return;
+
+        // 3. STRUCTURES: Structure Split Detection
+        if (player.age % load.structureInterval != 0) return;
+        if (!GSRSplitManager.hasOpenStructureSplits()) return;
+        if (player.getEntityWorld() instanceof ServerWorld world) {
+            // Presence is only looked up when the player crosses into a new chunk
+            long chunkKey = player.getChunkPos().toLong();
+            if (world != gsrLastWorld || chunkKey != gsrLastChunk) {
+                gsrLastWorld = world;
+                gsrLastChunk = chunkKey;
+                gsrChunkMask = GSRStructureManager.getPresence(world, player.getChunkPos());
             }
-
-            // Bastion Split
-            if (config.timeBastion <= 0) {
-                structureRegistry.getOptional(StructureKeys.BASTION_REMNANT).ifPresent(entry -> {
-                    if (world.getStructureAccessor().getStructureAt(player.getBlockPos(), entry.value()).hasChildren()) {
-                        GSRSplitManager.completeSplit(this.server, "bastion");
-                    }
-                });
+            if (gsrChunkMask != 0) {
+                GSRStructureManager.checkSplits(this.server, world, player.getBlockPos(), gsrChunkMask);
             }
         }
     }
@@ -100,7 +98,7 @@ public abstract class GSRServerPlayerEntityTracker {
     @Inject(method = "onScreenHandlerOpened", at = @At("HEAD"))
     private void onOpen(ScreenHandler handler, CallbackInfo ci) {
         // Stop recording if the run isn't active
-        if (GSRMain.CONFIG == null || GSRMain.CONFIG.isTimerFrozen || GSRMain.CONFIG.isFailed || GSRMain.CONFIG.isVictorious) return;
+        if (!GSRRunStateMachine.isTracking()) return;
 
         ServerPlayerEntity player = (ServerPlayerEntity) (Object) this;
 
@@ -127,7 +125,8 @@ public abstract class GSRServerPlayerEntityTracker {
         // If Group Death is enabled and the run is active,
         // cancel the vanilla death screen.
         var config = GSRMain.CONFIG;
-        if (config != null && config.groupDeathEnabled && config.startTime > 0 && !config.isVictorious) {
+        var phase = GSRRunStateMachine.phase();
+        if (config != null && config.groupDeathEnabled && phase.hasStarted() && phase != GSRRunPhase.VICTORY) {
             ci.cancel();
         }
     }
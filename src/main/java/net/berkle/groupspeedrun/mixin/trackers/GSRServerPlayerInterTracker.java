@@ -1,7 +1,7 @@
 package net.berkle.groupspeedrun.mixin.trackers;
 
-import net.berkle.groupspeedrun.GSRMain;
 import net.berkle.groupspeedrun.GSRStats;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.network.ServerPlayerInteractionManager;
 import net.minecraft.util.math.BlockPos;
@@ -26,9 +26,7 @@ public class GSRServerPlayerInterTracker {
         if (!cir.getReturnValue() || player == null) return;
 
         // 2. State Check: Only track if the run is active and not paused
-        if (GSRMain.CONFIG == null || GSRMain.CONFIG.isTimerFrozen || GSRMain.CONFIG.startTime < 0) {
-            return;
-        }
+        if (!GSRRunStateMachine.isTracking()) return;
 
         // 3. Persistence: Use the helper to mark the stats as 'dirty' for the next save cycle
         GSRStats.addInt(GSRStats.BLOCKS_BROKEN, player.getUuid(), 1);
@@ -1,7 +1,7 @@
 package net.berkle.groupspeedrun.mixin.trackers;
 
-import net.berkle.groupspeedrun.GSRMain;
 import net.berkle.groupspeedrun.managers.GSRSplitManager;
+import net.berkle.groupspeedrun.state.GSRRunStateMachine;
 import net.minecraft.advancement.AdvancementEntry;
 import net.minecraft.advancement.PlayerAdvancementTracker;
 import net.minecraft.server.MinecraftServer;
@@ -19,30 +19,23 @@ public abstract class GSRSplitTracker {
 
     /**
      * ADVANCEMENT TRACKING: Intercepts the moment a player earns a split-defining advancement.
+     * Only advancements declared as split triggers in the split table get past the first lookup.
      */
     @Inject(method = "grantCriterion", at = @At("TAIL"))
     private void onGrantCriterion(AdvancementEntry advancement, String criterionName, CallbackInfoReturnable<Boolean> cir) {
-        // 1. Safety Check: If the grant failed, or config is missing, or timer is paused, stop.
-        if (!cir.getReturnValue() || GSRMain.CONFIG == null || GSRMain.CONFIG.isTimerFrozen) return;
+        // 1. Fast reject: one identity lookup for every criterion grant on the server
+        int[] splits = GSRSplitManager.getAdvancementSplits(advancement);
+        if (splits == null) return;
+
+        // 2. Safety Check: If the grant failed or the timer is not running, stop.
+        if (!cir.getReturnValue() || !GSRRunStateMachine.isTracking()) return;
 
         MinecraftServer server = this.owner.getEntityWorld().getServer(); // Direct access to server
         if (server == null) return;
 
-        // 2. Completion Check: Ensure the player actually finished the whole advancement
+        // 3. Completion Check: Ensure the player actually finished the whole advancement
         if (this.owner.getAdvancementTracker().getProgress(advancement).isDone()) {
-            String path = advancement.id().getPath();
-
-            // 3. Split Logic Assignment
-            switch (path) {
-                case "story/enter_the_nether" -> GSRSplitManager.completeSplit(server, "nether");
-                case "story/enter_the_end"    -> GSRSplitManager.completeSplit(server, "end");
-
-                /* * NOTE: Bastion and Fortress are better handled in GSRServerPlayerEntityTracker
-                 * via structure bounding-box checks to ensure the split triggers
-                 * the exact second they step foot inside, rather than waiting for
-                 * the advancement toast to appear.
-                 */
-            }
+            GSRSplitManager.completeSplits(server, splits);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package net.berkle.groupspeedrun.splits;
+
+import net.minecraft.nbt.NbtCompound;
+
+import java.util.Arrays;
+
+/**
+ * Personal-best and best-segment data for one split category (one split table layout).
+ * Arrays are indexed like the split table. All values are run ticks; 0 means "no data".
+ *
+ * A split's segment is the time from the previous split reached in that run (or the run start)
+ * to this split, so routes that take Bastion and Fortress in either order still compare cleanly.
+ */
+public class GSRComparison {
+    public static final GSRComparison EMPTY = new GSRComparison("", 0);
+
+    public String category;
+    public long pbTotal;
+    public long[] pbSplits;
+    public long[] bestSegments;
+
+    public GSRComparison(String category, int size) {
+        this.category = category;
+        this.pbSplits = new long[size];
+        this.bestSegments = new long[size];
+    }
+
+    public int size() {
+        return pbSplits == null ? 0 : pbSplits.length;
+    }
+
+    /**
+     * Sum of best: the total of every split's best segment.
+     */
+    public long sumOfBest() {
+        long sum = 0;
+        if (bestSegments != null) for (long segment : bestSegments) sum += segment;
+        return sum;
+    }
+
+    /**
+     * Derives per-split segment lengths from cumulative split times.
+     */
+    public static long[] segmentsOf(long[] splitTimes) {
+        long[] segments = new long[splitTimes.length];
+        Integer[] order = new Integer[splitTimes.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(splitTimes[a], splitTimes[b]));
+
+        long previous = 0;
+        for (int index : order) {
+            if (splitTimes[index] <= 0) continue;
+            segments[index] = splitTimes[index] - previous;
+            previous = splitTimes[index];
+        }
+        return segments;
+    }
+
+    /**
+     * Folds one finished run into the comparison. Only touches the values the run improves.
+     * @return true if anything changed.
+     */
+    public boolean accept(long[] splitTimes, long totalTicks, boolean success) {
+        if (splitTimes.length != size()) return false;
+        boolean changed = false;
+
+        long[] segments = segmentsOf(splitTimes);
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i] > 0 && (bestSegments[i] <= 0 || segments[i] < bestSegments[i])) {
+                bestSegments[i] = segments[i];
+                changed = true;
+            }
+        }
+
+        if (success && totalTicks > 0 && (pbTotal <= 0 || totalTicks < pbTotal)) {
+            pbTotal = totalTicks;
+            pbSplits = splitTimes.clone();
+            changed = true;
+        }
+        return changed;
+    }
+
+    // --- [ NBT SYNCING ] ---
+
+    public void writeNbt(NbtCompound nbt) {
+        nbt.putString("category", category);
+        nbt.putLong("pbTotal", pbTotal);
+        nbt.putLongArray("pbSplits", pbSplits.clone());
+        nbt.putLongArray("bestSegments", bestSegments.clone());
+    }
+
+    public static GSRComparison fromNbt(NbtCompound nbt) {
+        long[] pb = nbt.getLongArray("pbSplits").orElse(new long[0]);
+        GSRComparison comparison = new GSRComparison(nbt.getString("category").orElse(""), pb.length);
+        comparison.pbTotal = nbt.getLong("pbTotal").orElse(0L);
+        comparison.pbSplits = pb;
+        comparison.bestSegments = Arrays.copyOf(nbt.getLongArray("bestSegments").orElse(new long[0]), pb.length);
+        return comparison;
+    }
+}
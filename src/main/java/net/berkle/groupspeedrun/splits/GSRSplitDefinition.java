@@ -0,0 +1,18 @@
+package net.berkle.groupspeedrun.splits;
+
+import net.minecraft.util.Identifier;
+
+/**
+ * One split as declared in the world's split file.
+ *
+ * @param id          Stable key used for persistence and history.
+ * @param name        Label shown on the HUD and in chat.
+ * @param trigger     What completes the split.
+ * @param target      Advancement, dimension, structure, item or entity type id, depending on the trigger.
+ * @param order       Display order; lower comes first.
+ * @param required    Whether the split must be done before a run-completing split can end the run.
+ * @param completesRun Whether reaching this split wins the run.
+ */
+public record GSRSplitDefinition(String id, String name, GSRSplitTrigger trigger, Identifier target,
+                                 int order, boolean required, boolean completesRun) {
+}
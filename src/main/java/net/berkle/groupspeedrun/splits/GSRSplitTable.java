@@ -0,0 +1,262 @@
+package net.berkle.groupspeedrun.splits;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.berkle.groupspeedrun.managers.GSRStructureManager;
+import net.minecraft.entity.EntityType;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.world.World;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The active set of splits, compiled into one lookup table per trigger type.
+ * Every trigger maps its target straight to the indexes of the splits it completes, so evaluating an
+ * event costs one lookup no matter how many splits are declared. Split indexes follow display order and
+ * are shared by the persisted times, the client sync and the HUD.
+ *
+ * Loaded from {@code world/data/groupspeedrun_splits.json}; the five classic splits are written there
+ * when the file does not exist.
+ */
+public final class GSRSplitTable {
+    private static final Logger LOGGER = LoggerFactory.getLogger("GSR-Splits");
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final int[] NONE = new int[0];
+
+    private final List<GSRSplitDefinition> splits;
+    private final Map<Identifier, int[]> byAdvancement = new HashMap<>();
+    private final Map<RegistryKey<World>, int[]> byDimension = new HashMap<>();
+    private final int[][] byStructureBit = new int[Integer.SIZE][];
+    private final Map<Item, int[]> byItem = new IdentityHashMap<>();
+    private final Map<EntityType<?>, int[]> byEntity = new IdentityHashMap<>();
+    private final int structureMask;
+    private final int runCompletingCount;
+
+    private GSRSplitTable(List<GSRSplitDefinition> splits) {
+        this.splits = List.copyOf(splits);
+
+        int mask = 0;
+        int completing = 0;
+        for (int i = 0; i < this.splits.size(); i++) {
+            GSRSplitDefinition split = this.splits.get(i);
+            Identifier target = split.target();
+            if (split.completesRun()) completing++;
+            switch (split.trigger()) {
+                case ADVANCEMENT -> append(byAdvancement, target, i);
+                case DIMENSION -> append(byDimension, RegistryKey.of(RegistryKeys.WORLD, target), i);
+                case STRUCTURE -> {
+                    int bit = GSRStructureManager.track(RegistryKey.of(RegistryKeys.STRUCTURE, target));
+                    if (bit == 0) {
+                        LOGGER.warn("[GSR] Split '{}' can never complete: more than 31 structures are tracked", split.id());
+                        continue;
+                    }
+                    int bitIndex = Integer.numberOfTrailingZeros(bit);
+                    byStructureBit[bitIndex] = appendIndex(byStructureBit[bitIndex], i);
+                    mask |= bit;
+                }
+                case ITEM -> Registries.ITEM.getOptionalValue(target).ifPresent(item -> append(byItem, item, i));
+                case ENTITY_KILL -> Registries.ENTITY_TYPE.getOptionalValue(target).ifPresent(type -> append(byEntity, type, i));
+            }
+        }
+        this.structureMask = mask;
+        this.runCompletingCount = completing;
+    }
+
+    private static <K> void append(Map<K, int[]> table, K key, int index) {
+        table.put(key, appendIndex(table.get(key), index));
+    }
+
+    private static int[] appendIndex(int[] indexes, int index) {
+        if (indexes == null) return new int[]{index};
+        int[] grown = Arrays.copyOf(indexes, indexes.length + 1);
+        grown[indexes.length] = index;
+        return grown;
+    }
+
+    // --- [ LOOKUPS ] ---
+
+    public int size() { return splits.size(); }
+
+    public GSRSplitDefinition get(int index) { return splits.get(index); }
+
+    public List<GSRSplitDefinition> all() { return splits; }
+
+    public int indexOf(String id) {
+        for (int i = 0; i < splits.size(); i++) {
+            if (splits.get(i).id().equalsIgnoreCase(id)) return i;
+        }
+        return -1;
+    }
+
+    public Map<Identifier, int[]> advancementTargets() { return byAdvancement; }
+
+    public int[] forDimension(RegistryKey<World> dimension) { return byDimension.getOrDefault(dimension, NONE); }
+
+    public int[] forItem(Item item) { return byItem.getOrDefault(item, NONE); }
+
+    public int[] forEntity(EntityType<?> type) { return byEntity.getOrDefault(type, NONE); }
+
+    public int[] forStructureBit(int bitIndex) {
+        int[] indexes = byStructureBit[bitIndex];
+        return indexes == null ? NONE : indexes;
+    }
+
+    /** Union of the structure bits any split listens to. */
+    public int structureMask() { return structureMask; }
+
+    public boolean hasItemSplits() { return !byItem.isEmpty(); }
+
+    public boolean hasRunCompletingSplit() { return runCompletingCount > 0; }
+
+    public List<String> ids() { return splits.stream().map(GSRSplitDefinition::id).toList(); }
+
+    public List<String> names() { return splits.stream().map(GSRSplitDefinition::name).toList(); }
+
+    // --- [ LOADING ] ---
+
+    public static File getSplitFile(MinecraftServer server) {
+        return server.getSavePath(WorldSavePath.ROOT).resolve("data").resolve("groupspeedrun_splits.json").toFile();
+    }
+
+    /**
+     * Reads the world's split file, writing the defaults first if there is none.
+     * Invalid entries are skipped with a warning; an empty result falls back to the defaults.
+     */
+    public static GSRSplitTable load(MinecraftServer server) {
+        File file = getSplitFile(server);
+        if (!file.exists()) {
+            save(file, defaultDefinitions());
+            return compile(defaultDefinitions());
+        }
+
+        try (FileReader reader = new FileReader(file, StandardCharsets.UTF_8)) {
+            JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+            List<GSRSplitDefinition> parsed = parse(root.getAsJsonArray("splits"));
+            if (!parsed.isEmpty()) return compile(parsed);
+            LOGGER.warn("[GSR] {} declares no valid splits, using defaults", file.getName());
+        } catch (Exception e) {
+            LOGGER.error("[GSR] Failed to read split file, using defaults", e);
+        }
+        return compile(defaultDefinitions());
+    }
+
+    public static GSRSplitTable compile(List<GSRSplitDefinition> definitions) {
+        List<GSRSplitDefinition> sorted = new ArrayList<>(definitions);
+        sorted.sort(Comparator.comparingInt(GSRSplitDefinition::order));
+        return new GSRSplitTable(sorted);
+    }
+
+    public static GSRSplitTable defaults() {
+        return compile(defaultDefinitions());
+    }
+
+    private static List<GSRSplitDefinition> parse(JsonArray array) {
+        List<GSRSplitDefinition> result = new ArrayList<>();
+        if (array == null) return result;
+
+        Set<String> seen = new HashSet<>();
+        int position = 0;
+        for (JsonElement element : array) {
+            position++;
+            try {
+                JsonObject obj = element.getAsJsonObject();
+                String id = obj.get("id").getAsString();
+                GSRSplitTrigger trigger = GSRSplitTrigger.fromName(obj.get("trigger").getAsString());
+                Identifier target = Identifier.tryParse(obj.get("target").getAsString());
+
+                if (trigger == null || target == null) {
+                    LOGGER.warn("[GSR] Skipping split '{}': unknown trigger or bad target", id);
+                    continue;
+                }
+                if (!isKnownTarget(trigger, target)) {
+                    LOGGER.warn("[GSR] Skipping split '{}': no {} named {}", id, trigger.serializedName(), target);
+                    continue;
+                }
+                if (!seen.add(id.toLowerCase())) {
+                    LOGGER.warn("[GSR] Skipping duplicate split id '{}'", id);
+                    continue;
+                }
+
+                String name = obj.has("name") ? obj.get("name").getAsString() : id;
+                int order = obj.has("order") ? obj.get("order").getAsInt() : position;
+                boolean required = !obj.has("required") || obj.get("required").getAsBoolean();
+                boolean completesRun = obj.has("completes_run") && obj.get("completes_run").getAsBoolean();
+                result.add(new GSRSplitDefinition(id, name, trigger, target, order, required, completesRun));
+            } catch (Exception e) {
+                LOGGER.warn("[GSR] Skipping malformed split entry #{}", position, e);
+            }
+        }
+        return result;
+    }
+
+    // Structures, dimensions and advancements come from datapacks and are resolved later
+    private static boolean isKnownTarget(GSRSplitTrigger trigger, Identifier target) {
+        return switch (trigger) {
+            case ITEM -> Registries.ITEM.containsId(target);
+            case ENTITY_KILL -> Registries.ENTITY_TYPE.containsId(target);
+            default -> true;
+        };
+    }
+
+    private static void save(File file, List<GSRSplitDefinition> definitions) {
+        if (file.getParentFile() != null) file.getParentFile().mkdirs();
+
+        JsonArray array = new JsonArray();
+        for (GSRSplitDefinition split : definitions) {
+            JsonObject obj = new JsonObject();
+            obj.addProperty("id", split.id());
+            obj.addProperty("name", split.name());
+            obj.addProperty("trigger", split.trigger().serializedName());
+            obj.addProperty("target", split.target().toString());
+            obj.addProperty("order", split.order());
+            obj.addProperty("required", split.required());
+            if (split.completesRun()) obj.addProperty("completes_run", true);
+            array.add(obj);
+        }
+        JsonObject root = new JsonObject();
+        root.add("splits", array);
+
+        try (FileWriter writer = new FileWriter(file, StandardCharsets.UTF_8)) {
+            GSON.toJson(root, writer);
+        } catch (Exception e) {
+            LOGGER.error("[GSR] Failed to write default split file", e);
+        }
+    }
+
+    /**
+     * The classic any% route. Bastion and Fortress are optional so either Nether route can finish.
+     */
+    private static List<GSRSplitDefinition> defaultDefinitions() {
+        return List.of(
+                new GSRSplitDefinition("nether", "Nether", GSRSplitTrigger.DIMENSION, Identifier.ofVanilla("the_nether"), 1, true, false),
+                new GSRSplitDefinition("bastion", "Bastion", GSRSplitTrigger.STRUCTURE, Identifier.ofVanilla("bastion_remnant"), 2, false, false),
+                new GSRSplitDefinition("fortress", "Fortress", GSRSplitTrigger.STRUCTURE, Identifier.ofVanilla("fortress"), 3, false, false),
+                new GSRSplitDefinition("end", "The End", GSRSplitTrigger.DIMENSION, Identifier.ofVanilla("the_end"), 4, true, false),
+                new GSRSplitDefinition("dragon", "Dragon", GSRSplitTrigger.ENTITY_KILL, Identifier.ofVanilla("ender_dragon"), 5, true, true)
+        );
+    }
+}
@@ -0,0 +1,34 @@
+package net.berkle.groupspeedrun.splits;
+
+import java.util.Locale;
+
+/**
+ * What completes a split. Each trigger type gets its own lookup table in {@link GSRSplitTable}.
+ */
+public enum GSRSplitTrigger {
+    /** A player completes the advancement with the target id. */
+    ADVANCEMENT,
+    /** A player arrives in the target dimension. */
+    DIMENSION,
+    /** A player steps inside a piece of the target structure. */
+    STRUCTURE,
+    /** A player gets the target item into their inventory. */
+    ITEM,
+    /** An entity of the target type is killed. */
+    ENTITY_KILL;
+
+    public String serializedName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses the lower-case name used in the split file, or null if unknown.
+     */
+    public static GSRSplitTrigger fromName(String name) {
+        if (name == null) return null;
+        for (GSRSplitTrigger trigger : values()) {
+            if (trigger.serializedName().equals(name.toLowerCase(Locale.ROOT))) return trigger;
+        }
+        return null;
+    }
+}
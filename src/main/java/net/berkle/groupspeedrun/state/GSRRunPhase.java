@@ -0,0 +1,36 @@
+package net.berkle.groupspeedrun.state;
+
+/**
+ * The lifecycle phases of a group run.
+ * LOBBY -> RUNNING <-> PAUSED -> (FAILED | VICTORY) -> LOBBY (via reset).
+ */
+public enum GSRRunPhase {
+    LOBBY(false, false),
+    RUNNING(true, false),
+    PAUSED(false, false),
+    FAILED(false, true),
+    VICTORY(false, true);
+
+    private final boolean tracking;
+    private final boolean finished;
+
+    GSRRunPhase(boolean tracking, boolean finished) {
+        this.tracking = tracking;
+        this.finished = finished;
+    }
+
+    /**
+     * True only while stats, splits and shared mechanics should be recorded.
+     */
+    public boolean isTracking() { return tracking; }
+
+    /**
+     * True once the run has ended in either a victory or a group failure.
+     */
+    public boolean isFinished() { return finished; }
+
+    /**
+     * True if a timer exists for this phase (i.e. the run has been started at some point).
+     */
+    public boolean hasStarted() { return this != LOBBY; }
+}
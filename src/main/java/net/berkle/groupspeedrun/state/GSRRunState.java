@@ -0,0 +1,24 @@
+package net.berkle.groupspeedrun.state;
+
+/**
+ * Immutable snapshot of the run lifecycle.
+ * Published through a single volatile reference in {@link GSRRunStateMachine} so hot paths
+ * (mixins, tick handlers) only need one read to know whether the run is active.
+ *
+ * @param phase      The current lifecycle phase.
+ * @param startTime  Wall-clock start of the run (shifted on resume), or -1 in the lobby.
+ * @param frozenTime Elapsed milliseconds captured when the timer was last frozen.
+ * @param isTracking Precomputed {@code phase.isTracking()} so callers skip the enum lookup.
+ */
+public record GSRRunState(GSRRunPhase phase, long startTime, long frozenTime, boolean isTracking) {
+
+    public static final GSRRunState LOBBY = of(GSRRunPhase.LOBBY, -1, 0);
+
+    public static GSRRunState of(GSRRunPhase phase, long startTime, long frozenTime) {
+        return new GSRRunState(phase, startTime, frozenTime, phase.isTracking());
+    }
+
+    public boolean isFinished() { return phase.isFinished(); }
+
+    public boolean hasStarted() { return phase.hasStarted(); }
+}
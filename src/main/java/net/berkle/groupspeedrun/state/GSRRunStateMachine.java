@@ -0,0 +1,171 @@
+package net.berkle.groupspeedrun.state;
+
+import net.berkle.groupspeedrun.config.GSRConfigWorld;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single owner of every run lifecycle transition.
+ * The persisted fields in {@link GSRConfigWorld} are only written from here; readers use
+ * {@link #get()} which returns an immutable snapshot through one volatile read.
+ */
+public final class GSRRunStateMachine {
+    private static final Logger LOGGER = LoggerFactory.getLogger("GSR-State");
+
+    // Number of transitions kept in memory for /gsr state
+    private static final int LOG_CAPACITY = 32;
+
+    private static final Map<GSRRunPhase, EnumSet<GSRRunPhase>> ALLOWED = new EnumMap<>(GSRRunPhase.class);
+
+    static {
+        ALLOWED.put(GSRRunPhase.LOBBY, EnumSet.of(GSRRunPhase.RUNNING));
+        ALLOWED.put(GSRRunPhase.RUNNING, EnumSet.of(GSRRunPhase.PAUSED, GSRRunPhase.FAILED, GSRRunPhase.VICTORY, GSRRunPhase.LOBBY));
+        ALLOWED.put(GSRRunPhase.PAUSED, EnumSet.of(GSRRunPhase.RUNNING, GSRRunPhase.FAILED, GSRRunPhase.VICTORY, GSRRunPhase.LOBBY));
+        ALLOWED.put(GSRRunPhase.FAILED, EnumSet.of(GSRRunPhase.LOBBY));
+        ALLOWED.put(GSRRunPhase.VICTORY, EnumSet.of(GSRRunPhase.LOBBY));
+    }
+
+    private static volatile GSRRunState current = GSRRunState.LOBBY;
+    private static final Deque<Transition> TRANSITIONS = new ArrayDeque<>();
+
+    /**
+     * An audited lifecycle change.
+     */
+    public record Transition(long epochMillis, GSRRunPhase from, GSRRunPhase to, String reason) {}
+
+    private GSRRunStateMachine() {}
+
+    /**
+     * The current immutable snapshot. Safe to call from any thread.
+     */
+    public static GSRRunState get() {
+        return current;
+    }
+
+    /**
+     * Shortcut for hot mixins: a single volatile read.
+     */
+    public static boolean isTracking() {
+        return current.isTracking();
+    }
+
+    public static GSRRunPhase phase() {
+        return current.phase();
+    }
+
+    /**
+     * Derives the phase from the persisted fields without mutating them.
+     * Used on the client after an NBT sync, where the server remains the source of truth.
+     */
+    public static void sync(GSRConfigWorld config) {
+        if (config == null) return;
+        current = GSRRunState.of(derivePhase(config), config.startTime, config.frozenTime);
+    }
+
+    /**
+     * Restores the state after the world config has been loaded from disk.
+     * A run that was active when the server stopped resumes from its persisted elapsed time.
+     */
+    public static void restore(GSRConfigWorld config) {
+        if (config == null) return;
+        GSRRunPhase phase = derivePhase(config);
+        if (phase == GSRRunPhase.RUNNING) {
+            config.startTime = System.currentTimeMillis() - config.frozenTime;
+        }
+        GSRRunState previous = current;
+        current = GSRRunState.of(phase, config.startTime, config.frozenTime);
+        record(previous.phase(), phase, "restored from disk");
+    }
+
+    /**
+     * Captures the elapsed time of a running timer into {@code frozenTime} so it can be persisted.
+     * Does not change the phase.
+     */
+    public static void checkpoint(GSRConfigWorld config) {
+        if (config != null && current.phase() == GSRRunPhase.RUNNING) {
+            config.frozenTime = System.currentTimeMillis() - config.startTime;
+        }
+    }
+
+    /**
+     * Attempts to move the run to {@code target}, writing the persisted fields in one place.
+     * @return true if the transition was legal and has been applied.
+     */
+    public static synchronized boolean transition(GSRConfigWorld config, GSRRunPhase target, String reason) {
+        if (config == null) return false;
+
+        GSRRunPhase from = current.phase();
+        if (!ALLOWED.get(from).contains(target)) {
+            LOGGER.debug("Rejected transition {} -> {} ({})", from, target, reason);
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        switch (target) {
+            case LOBBY -> {
+                config.startTime = -1;
+                config.frozenTime = 0;
+                config.isTimerFrozen = false;
+                config.isFailed = false;
+                config.isVictorious = false;
+                config.victoryTimer = 0;
+                config.loadRemovedTime = 0;
+            }
+            case RUNNING -> {
+                if (from == GSRRunPhase.LOBBY) {
+                    config.startTime = now;
+                    config.frozenTime = 0;
+                    config.loadRemovedTime = 0;
+                } else {
+                    config.startTime = now - config.frozenTime;
+                }
+                config.isTimerFrozen = false;
+            }
+            case PAUSED -> {
+                config.frozenTime = now - config.startTime;
+                config.isTimerFrozen = true;
+            }
+            case FAILED, VICTORY -> {
+                // A paused run already holds its elapsed time in frozenTime
+                if (from == GSRRunPhase.RUNNING) config.frozenTime = now - config.startTime;
+                config.isTimerFrozen = true;
+                config.isFailed = target == GSRRunPhase.FAILED;
+                config.isVictorious = target == GSRRunPhase.VICTORY;
+                if (target == GSRRunPhase.VICTORY) config.victoryTimer = 200;
+            }
+        }
+
+        current = GSRRunState.of(target, config.startTime, config.frozenTime);
+        record(from, target, reason);
+        return true;
+    }
+
+    /**
+     * Most recent transitions, oldest first.
+     */
+    public static synchronized List<Transition> getTransitionLog() {
+        return new ArrayList<>(TRANSITIONS);
+    }
+
+    private static synchronized void record(GSRRunPhase from, GSRRunPhase to, String reason) {
+        if (TRANSITIONS.size() >= LOG_CAPACITY) TRANSITIONS.pollFirst();
+        TRANSITIONS.addLast(new Transition(System.currentTimeMillis(), from, to, reason));
+        LOGGER.info("[GSR] Run state {} -> {} ({})", from, to, reason);
+    }
+
+    private static GSRRunPhase derivePhase(GSRConfigWorld config) {
+        if (config.startTime <= 0) return GSRRunPhase.LOBBY;
+        if (config.isVictorious) return GSRRunPhase.VICTORY;
+        if (config.isFailed) return GSRRunPhase.FAILED;
+        if (config.isTimerFrozen) return GSRRunPhase.PAUSED;
+        return GSRRunPhase.RUNNING;
+    }
+}
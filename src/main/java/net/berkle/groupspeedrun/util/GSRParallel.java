@@ -0,0 +1,24 @@
+package net.berkle.groupspeedrun.util;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public class GSRParallel {
+    // Counts at least this large run on the common pool; the calling thread is blocked meanwhile
+    public static final int PARALLEL_THRESHOLD = 64;
+
+    private GSRParallel() {}
+
+    /**
+     * Runs {@code action} for every index in {@code [0, count)}: in order on the calling thread for small
+     * counts, split across the common pool from {@link #PARALLEL_THRESHOLD} up. Each call must only write
+     * state owned by its own index.
+     */
+    public static void forEach(int count, IntConsumer action) {
+        if (count >= PARALLEL_THRESHOLD) {
+            IntStream.range(0, count).parallel().forEach(action);
+        } else {
+            for (int i = 0; i < count; i++) action.accept(i);
+        }
+    }
+}